@@ -55,6 +55,13 @@ export default function useWebSocket() {
     }
   };
 
+  // used for frequent inputs, so nothing is logged
+  const sendBinary = (data: Uint8Array) => {
+    if (websocket.value && websocket.value.readyState === WebSocket.OPEN) {
+      websocket.value.send(data);
+    }
+  };
+
   const closeConnection = () => {
     if (websocket.value) {
       websocket.value.close();
@@ -70,6 +77,7 @@ export default function useWebSocket() {
     connect,
     sendTestMessage,
     sendMessage,
+    sendBinary,
     closeConnection,
     onMessage,
   };
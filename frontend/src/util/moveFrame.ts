@@ -0,0 +1,34 @@
+/**
+ * Encodes MOVE inputs as binary frames, the compact alternative to the MOVE
+ * JSON message (see MoveFrame in the backend):
+ * opcode, varint objectId, varint sequence, x and z of the movement vector as
+ * signed bytes in 1/127, flags (1 = jump).
+ * The game is the one of the lobby the client joined.
+ */
+const OPCODE_MOVE = 0x03;
+const FLAG_JUMP = 1;
+const DIRECTION_SCALE = 127;
+
+let sequence = 0;
+
+// numbers above 2^31 do not survive bit operations, so the varint is built arithmetically
+function writeVarint(bytes: number[], value: number) {
+  while (value >= 0x80) {
+    bytes.push((value % 0x80) | 0x80);
+    value = Math.floor(value / 0x80);
+  }
+  bytes.push(value);
+}
+
+function quantize(value: number): number {
+  return Math.round(Math.max(-1, Math.min(1, value)) * DIRECTION_SCALE) & 0xff;
+}
+
+export function encodeMove(objectId: number, vector: { x: number; y: number; z: number }): Uint8Array {
+  const bytes: number[] = [OPCODE_MOVE];
+  writeVarint(bytes, objectId);
+  sequence += 1;
+  writeVarint(bytes, sequence);
+  bytes.push(quantize(vector.x), quantize(vector.z), vector.y > 0 ? FLAG_JUMP : 0);
+  return Uint8Array.from(bytes);
+}
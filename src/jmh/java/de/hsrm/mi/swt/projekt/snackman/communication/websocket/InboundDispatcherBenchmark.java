@@ -0,0 +1,88 @@
+package de.hsrm.mi.swt.projekt.snackman.communication.websocket;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the blocking path (messages handled on the calling container thread)
+ * with the virtual thread mailboxes.
+ * A batch of messages is spread over several games, one of them is slow and
+ * blocks for a while per message. Measured is the time until all messages of
+ * the other games are handled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InboundDispatcherBenchmark {
+
+    private static final int GAMES = 8;
+    private static final int MESSAGES = 64;
+    private static final int WORK_TOKENS = 2_000;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"0", "1"})
+    public int slowGameMillis;
+
+    private InboundDispatcher dispatcher;
+    private CountDownLatch slowGameDone;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dispatcher = new InboundDispatcher(virtualThreads, 4 * MESSAGES);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Waits for the slow game, so that its mailbox does not pile up between invocations
+     */
+    @TearDown(Level.Invocation)
+    public void drainSlowGame() throws InterruptedException {
+        slowGameDone.await();
+    }
+
+    @Benchmark
+    public void fastGamesHandled(Blackhole blackhole) throws Exception {
+        int slowMessages = MESSAGES / GAMES;
+        CountDownLatch fastGamesDone = new CountDownLatch(MESSAGES - slowMessages);
+        CountDownLatch slowDone = new CountDownLatch(slowMessages);
+        slowGameDone = slowDone;
+
+        for (int i = 0; i < MESSAGES; i++) {
+            long gameId = i % GAMES;
+            if (gameId == 0) {
+                dispatcher.dispatch(gameId, () -> {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(slowGameMillis));
+                    slowDone.countDown();
+                });
+            } else {
+                dispatcher.dispatch(gameId, () -> {
+                    Blackhole.consumeCPU(WORK_TOKENS);
+                    fastGamesDone.countDown();
+                });
+            }
+        }
+
+        fastGamesDone.await();
+        blackhole.consume(fastGamesDone);
+    }
+
+}
@@ -0,0 +1,120 @@
+package de.hsrm.mi.swt.projekt.snackman.communication.websocket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.joml.Vector3f;
+import org.springframework.web.socket.TextMessage;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.FrameReader;
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.MoveFrame;
+import de.hsrm.mi.swt.projekt.snackman.communication.events.backendToFrontend.GameStateEvent;
+import de.hsrm.mi.swt.projekt.snackman.communication.events.frontendToBackend.MoveEvent;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.FoodType;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.ChickenRecord;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.FoodRecord;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.GhostRecord;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.SnackManRecord;
+
+/**
+ * Measures the JSON side of the websocket: encoding a GAME_STATE event for all
+ * clients of a game and decoding a MOVE message, the former way (a Gson per
+ * message, parsing the payload twice), with the shared MessageCodec and, for
+ * comparison, as binary MoveFrame.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonCodecBenchmark {
+
+    private static final String MOVE_MESSAGE = "{\"type\":\"MOVE\",\"gameID\":4711,\"objectID\":42,"
+            + "\"movementVector\":{\"x\":0.70710677,\"y\":0.0,\"z\":-0.70710677}}";
+
+    /** movables changed since the last state, each kind gets a quarter */
+    @Param({"8", "64"})
+    public int changes;
+
+    private WebSocketHandler webSocketHandler;
+    private final MessageCodec messageCodec = new MessageCodec();
+    private GameStateEvent gameStateEvent;
+    private final byte[] moveFrame = MoveFrame.encode(42, 1234, new Vector3f(0.70710677f, 0.0f, -0.70710677f));
+
+    @Setup
+    public void setUp() {
+        webSocketHandler = new WebSocketHandler();
+
+        List<GhostRecord> ghosts = new ArrayList<>();
+        List<SnackManRecord> snackMen = new ArrayList<>();
+        List<ChickenRecord> chickens = new ArrayList<>();
+        List<FoodRecord> eatenFoods = new ArrayList<>();
+        for (int i = 0; i < changes / 4; i++) {
+            ghosts.add(new GhostRecord(4711, i, "ghost" + i, 0, i + 0.5f, 1.1f, 20.25f));
+            snackMen.add(new SnackManRecord(4711, 1000 + i, "snacky" + i, 20.25f, 1.1f, i + 0.5f, 300));
+            chickens.add(new ChickenRecord(4711, 2000 + i, i + 0.5f, 0.0f, 12.75f, 200, 0.3f, "NEUTRAL"));
+            eatenFoods.add(new FoodRecord(4711, 3000 + i, i + 0.5f, 0.5f, 3.5f, 100, FoodType.OKAY));
+        }
+        gameStateEvent = new GameStateEvent(ghosts, snackMen, chickens, eatenFoods, new ArrayList<>(), 120);
+        gameStateEvent.setGameID(4711);
+    }
+
+    @TearDown
+    public void tearDown() {
+        webSocketHandler.shutdown();
+    }
+
+    @Benchmark
+    public TextMessage encodeGameState() {
+        return webSocketHandler.encode(gameStateEvent);
+    }
+
+    /**
+     * The former steps of the MOVE case in processTextMessage: a Gson per message,
+     * a tree to find the type and another parse to bind the whole message
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public MoveEvent decodeMovePerMessageGson() {
+        Gson gson = new GsonBuilder().create();
+        JsonObject jsonObject = JsonParser.parseString(MOVE_MESSAGE).getAsJsonObject();
+        String type = jsonObject.get("type").getAsString();
+        if (!type.equals("MOVE")) {
+            throw new IllegalStateException(type);
+        }
+        return gson.fromJson(MOVE_MESSAGE, MoveEvent.class);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public MoveEvent decodeMoveWithCodec() {
+        return (MoveEvent) messageCodec.decode(MOVE_MESSAGE).event();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public MoveEvent decodeMoveFrame() {
+        FrameReader reader = new FrameReader(moveFrame);
+        if (reader.readByte() != MoveFrame.OPCODE_MOVE) {
+            throw new IllegalStateException();
+        }
+        return MoveFrame.decode(reader, 4711);
+    }
+
+}
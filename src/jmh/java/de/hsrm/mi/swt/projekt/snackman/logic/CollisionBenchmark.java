@@ -0,0 +1,102 @@
+package de.hsrm.mi.swt.projekt.snackman.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.hsrm.mi.swt.projekt.snackman.configuration.GameConfig;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Ghost;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.MovableAndSubscribable;
+import de.hsrm.mi.swt.projekt.snackman.model.level.SnackManMap;
+
+/**
+ * Compares the entity collision check of one tick (every entity checks its
+ * position once) using the spatial grid with the former scan over all movables,
+ * and measures the full collision check including the wished tile
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollisionBenchmark {
+
+    private static final int MAP_SIZE = 65;
+
+    @Param({"8", "64", "512"})
+    public int entities;
+
+    private final ArrayList<MovableAndSubscribable> allMovables = new ArrayList<>();
+    private List<Ghost> ghosts;
+    private CollisionManager collisionManager;
+
+    @Setup
+    public void setUp() {
+        GameConfig gameConfig = new GameConfig();
+        SnackManMap map = new SnackManMap(MAP_SIZE, MAP_SIZE);
+        collisionManager = new CollisionManager(map, allMovables, gameConfig.getChickenMaxRadius());
+
+        Random random = new Random(42);
+        ghosts = new ArrayList<>();
+        allMovables.clear();
+        for (int i = 0; i < entities; i++) {
+            Ghost ghost = new Ghost("ghost" + i, i + 1, 1, random.nextFloat() * MAP_SIZE, 0,
+                    random.nextFloat() * MAP_SIZE, gameConfig, null, collisionManager);
+            ghosts.add(ghost);
+            allMovables.add(ghost);
+        }
+        collisionManager.indexMovables();
+    }
+
+    @Benchmark
+    public void spatialGrid(Blackhole blackhole) {
+        for (Ghost ghost : ghosts) {
+            blackhole.consume(collisionManager.checkModelCollision(ghost, ghost.getX(), ghost.getZ()));
+        }
+    }
+
+    /**
+     * The whole check a movable runs before moving, walls and items of the wished
+     * tile included
+     */
+    @Benchmark
+    public void checkCollision(Blackhole blackhole) {
+        for (Ghost ghost : ghosts) {
+            blackhole.consume(collisionManager.checkCollision(ghost.getX(), ghost.getZ(), ghost));
+        }
+    }
+
+    @Benchmark
+    public void fullScan(Blackhole blackhole) {
+        for (Ghost ghost : ghosts) {
+            blackhole.consume(scan(ghost, ghost.getX(), ghost.getZ()));
+        }
+    }
+
+    // the check as it was done before the grid, looking at every movable of the game
+    private List<CollisionType> scan(Ghost currentObject, float wishedX, float wishedZ) {
+        List<CollisionType> collisions = new ArrayList<>();
+        for (MovableAndSubscribable movable : allMovables) {
+            Ghost partner = (Ghost) movable;
+            if (partner != currentObject) {
+                float dx = partner.getX() - wishedX;
+                float dz = partner.getZ() - wishedZ;
+                float distance = (float) Math.sqrt(dx * dx + dz * dz);
+                if (distance <= partner.getRadius() + currentObject.getRadius()) {
+                    collisions.add(CollisionType.GHOST);
+                }
+            }
+        }
+        return collisions;
+    }
+
+}
@@ -0,0 +1,161 @@
+package de.hsrm.mi.swt.projekt.snackman.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.hsrm.mi.swt.projekt.snackman.communication.websocket.WebSocketHandler;
+import de.hsrm.mi.swt.projekt.snackman.configuration.GameConfig;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Chicken;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.EventService;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Ghost;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.MovableAndSubscribable;
+import de.hsrm.mi.swt.projekt.snackman.model.level.OccupationType;
+import de.hsrm.mi.swt.projekt.snackman.model.level.SnackManMap;
+
+/**
+ * Measures the parts of a game step that run for every movable: encoding the
+ * surroundings, running the chicken behaviors (including their collision checks
+ * and tile updates) and collecting the changed records into a GameStateEvent.
+ * The game runs on a generated map without clients and is not scheduled, the
+ * benchmark thread plays the game thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameTickBenchmark {
+
+    private static final int POSITIONS = 256;
+
+    @Param({"41", "101"})
+    public int size;
+
+    @Param({"4", "32"})
+    public int ghosts;
+
+    private WebSocketHandler webSocketHandler;
+    private SingleGameManager gameManager;
+    private Game game;
+    private final List<Chicken> chickens = new ArrayList<>();
+    private final List<Ghost> changedGhosts = new ArrayList<>();
+    private final float[] positionsX = new float[POSITIONS];
+    private final float[] positionsZ = new float[POSITIONS];
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        // events of the movables are normally published by Spring
+        new EventService().setApplicationEventPublisher(event -> {
+        });
+
+        GameConfig gameConfig = new GameConfig();
+        gameConfig.setMapWidth(size);
+        gameConfig.setMapHeight(size);
+        // chickens that get full pause until the next ticks, which are not run here
+        gameConfig.setChickenMaxCalories(Integer.MAX_VALUE);
+
+        webSocketHandler = new WebSocketHandler();
+        gameManager = new SingleGameManager();
+
+        // not every layout has room for all chickens, the first that has is taken
+        chickens.clear();
+        for (long seed = 0; chickens.size() < gameConfig.getChickenCount(); seed++) {
+            Lobby lobby = new Lobby();
+            lobby.setGameConfig(gameConfig);
+            lobby.setMap(new SnackManMap(size, size, seed));
+            game = new Game(lobby, gameManager);
+            chickens.clear();
+            for (MovableAndSubscribable movable : game.getMovables()) {
+                if (movable instanceof Chicken chicken) {
+                    chickens.add(chicken);
+                }
+            }
+        }
+
+        Random random = new Random(42);
+        SnackManMap map = game.getMap();
+        for (int i = 0; i < POSITIONS; i++) {
+            int x;
+            int z;
+            do {
+                x = random.nextInt(map.getW());
+                z = random.nextInt(map.getH());
+            } while (map.getTileAt(x, z).getOccupationType() == OccupationType.WALL);
+            positionsX[i] = x + 0.5f;
+            positionsZ[i] = z + 0.5f;
+        }
+
+        changedGhosts.clear();
+        for (int i = 0; i < ghosts; i++) {
+            changedGhosts.add(new Ghost("ghost" + i, i + 1, game.getId(), positionsX[i % POSITIONS], 1.1f,
+                    positionsZ[i % POSITIONS], gameConfig, game.getGameManager(), null));
+        }
+    }
+
+    /**
+     * Stops the schedulers of the iteration, so their threads do not pile up
+     */
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        gameManager.shutdown();
+        webSocketHandler.shutdown();
+    }
+
+    /**
+     * GameManager that knows only the benchmarked game, without starting its GameLoop
+     */
+    private final class SingleGameManager extends GameManager {
+
+        private SingleGameManager() {
+            super(webSocketHandler);
+        }
+
+        @Override
+        public Game getGameById(Long id) {
+            return game;
+        }
+
+    }
+
+    @Benchmark
+    public void generateSurroundings(Blackhole blackhole) {
+        for (int i = 0; i < POSITIONS; i++) {
+            blackhole.consume(game.generateSurroundings(positionsX[i], positionsZ[i]));
+        }
+    }
+
+    @Benchmark
+    public void chickenExecuteScript() {
+        for (Chicken chicken : chickens) {
+            chicken.executeScript(game.generateSurroundings(chicken.getX(), chicken.getZ()));
+        }
+    }
+
+    /**
+     * Every movable changed since the last step, as with players that keep moving
+     */
+    @Benchmark
+    public void collectGameState() {
+        GameState gameState = game.getGameState();
+        for (Ghost ghost : changedGhosts) {
+            gameState.addChangedGhost(ghost);
+        }
+        for (Chicken chicken : chickens) {
+            gameState.addChangedChicken(chicken);
+        }
+        gameState.flush();
+    }
+
+}
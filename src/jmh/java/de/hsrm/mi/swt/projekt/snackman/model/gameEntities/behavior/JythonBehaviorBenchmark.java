@@ -0,0 +1,107 @@
+package de.hsrm.mi.swt.projekt.snackman.model.gameEntities.behavior;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.python.core.PyObject;
+import org.python.util.PythonInterpreter;
+
+import de.hsrm.mi.swt.projekt.snackman.model.level.Surroundings;
+import de.hsrm.mi.swt.projekt.snackman.model.level.TileContent;
+
+/**
+ * Compares the former way of running a Python behavior (an interpreter per
+ * chicken, six set calls and an exec of a source string per call) with the
+ * shared JythonBehaviorRegistry and with the Java port of the script.
+ * The "create" benchmarks measure the startup cost of a chicken, the "run"
+ * benchmarks the latency of a single behavior call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JythonBehaviorBenchmark {
+
+    private static final int ENVIRONMENT = Surroundings.of(new TileContent[][] {
+            { TileContent.FREE, TileContent.FOOD, TileContent.FREE },
+            { TileContent.WALL, TileContent.FREE, TileContent.FREE },
+            { TileContent.FREE, TileContent.CHICKEN, TileContent.WALL } });
+
+    @Param({"DumbBehavior", "FearfulBehavior", "GreedyBehavior"})
+    public String script;
+
+    private PythonInterpreter interpreter;
+    private ChickenBehavior cachedBehavior;
+    private ChickenBehavior javaBehavior;
+
+    @Setup
+    public void setUp() {
+        interpreter = createInterpreter(script);
+        cachedBehavior = new JythonBehavior(script);
+        javaBehavior = ChickenBehaviors.forScript(script);
+    }
+
+    @TearDown
+    public void tearDown() {
+        interpreter.close();
+    }
+
+    private static PythonInterpreter createInterpreter(String script) {
+        PythonInterpreter interpreter = new PythonInterpreter();
+        interpreter.exec("import sys");
+        interpreter.exec("sys.path.insert(0, '__pyclasspath__/')");
+        interpreter.exec("from " + script + " import *");
+        return interpreter;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public PythonInterpreter createInterpreterPerChicken() {
+        PythonInterpreter perChicken = createInterpreter(script);
+        perChicken.close();
+        return perChicken;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object createColdRegistry() {
+        return new JythonBehaviorRegistry().getRunBehavior(script);
+    }
+
+    @Benchmark
+    public ChickenBehavior createFromSharedRegistry() {
+        return new JythonBehavior(script);
+    }
+
+    @Benchmark
+    public PyObject runExecPerCall() {
+        interpreter.set("environment", Surroundings.toLists(ENVIRONMENT));
+        interpreter.set("direction", "N");
+        interpreter.set("wall_collision", false);
+        interpreter.set("x", 1.5f);
+        interpreter.set("z", 1.5f);
+        interpreter.set("y", 0.0f);
+        interpreter.exec("result = run_behavior(environment, direction, wall_collision, x, z, y)");
+        return interpreter.get("result");
+    }
+
+    @Benchmark
+    public ChickenMove runCachedFunction() {
+        return cachedBehavior.run(ENVIRONMENT, "N", false, 1.5f, 1.5f, 0.0f);
+    }
+
+    @Benchmark
+    public ChickenMove runJavaPort() {
+        return javaBehavior.run(ENVIRONMENT, "N", false, 1.5f, 1.5f, 0.0f);
+    }
+
+}
@@ -0,0 +1,57 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures how many random maps can be generated per second, on one thread and
+ * on all cores (as the MapPool generators do), and how long taking a prepared
+ * map from the MapPool takes compared with generating it when a game starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MapGenerationBenchmark {
+
+    @Param({"41", "101", "201"})
+    public int size;
+
+    private MapPool pool;
+
+    @Setup
+    public void setUp() {
+        pool = new MapPool(64, 1, Runtime.getRuntime().availableProcessors());
+        pool.prepare(size, size);
+    }
+
+    @Benchmark
+    public SnackManMap generate() {
+        return new SnackManMap(size, size, ThreadLocalRandom.current().nextLong());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public SnackManMap generateParallel() {
+        return new SnackManMap(size, size, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Falls back to generating when the pool is drained faster than it is refilled,
+     * so the result shows the sustainable rate of game starts
+     */
+    @Benchmark
+    public SnackManMap takeFromPool() {
+        return pool.take(size, size);
+    }
+
+}
@@ -0,0 +1,153 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.FoodRecord;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.TileRecord;
+
+/**
+ * Compares the flat TileStore of SnackManMap with the former Tile[][] object
+ * graph (a Tile object with two ArrayLists per tile, copied for the original
+ * map). GameConfig uses 40x40 by default, custom maps go up to 200x200.
+ * The interesting number is the allocation per operation, run with
+ * "./gradlew jmh" (the gc profiler is enabled in build.gradle) and compare
+ * gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapMemoryBenchmark {
+
+    @Param({"40", "100", "200"})
+    public int size;
+
+    private String csv;
+    private SnackManMap flatMap;
+    private LegacyMap legacyMap;
+
+    @Setup
+    public void setUp() {
+        csv = new SnackManMap(size, size).toString();
+        flatMap = new SnackManMap(csv, false);
+        legacyMap = LegacyMap.parse(csv);
+    }
+
+    @Benchmark
+    public SnackManMap flatLoad() {
+        return new SnackManMap(csv, false);
+    }
+
+    @Benchmark
+    public LegacyMap legacyLoad() {
+        LegacyMap map = LegacyMap.parse(csv);
+        map.original = map.copy();
+        return map;
+    }
+
+    @Benchmark
+    public SnackManMap flatClone() {
+        return flatMap.clone();
+    }
+
+    @Benchmark
+    public LegacyMap legacyClone() {
+        return legacyMap.copy();
+    }
+
+    @Benchmark
+    public Object flatToRecord() {
+        return flatMap.toRecord();
+    }
+
+    @Benchmark
+    public Object legacyToRecord() {
+        return legacyMap.toRecord();
+    }
+
+    /**
+     * Tile as it was before the TileStore: one object per tile with its own lists
+     */
+    public static final class LegacyTile {
+
+        final int x;
+        final int z;
+        OccupationType occupationType;
+        final List<Object> occupations = new ArrayList<>();
+        final List<Object> foodsOnTile = new ArrayList<>();
+
+        LegacyTile(int x, int z, OccupationType occupationType) {
+            this.x = x;
+            this.z = z;
+            this.occupationType = occupationType;
+        }
+
+        TileRecord toRecord() {
+            return new TileRecord(x, z, occupationType, new FoodRecord[foodsOnTile.size()]);
+        }
+
+    }
+
+    /**
+     * SnackManMap as it was before the TileStore: a Tile[][] and a copy of it as original map
+     */
+    public static final class LegacyMap {
+
+        final int w;
+        final int h;
+        final LegacyTile[][] allTiles;
+        LegacyMap original;
+
+        LegacyMap(int w, int h) {
+            this.w = w;
+            this.h = h;
+            this.allTiles = new LegacyTile[h][w];
+        }
+
+        static LegacyMap parse(String csv) {
+            String[] lines = csv.split("\n");
+            LegacyMap map = new LegacyMap(lines[0].split(",").length, lines.length);
+            for (int z = 0; z < map.h; z++) {
+                String[] tokens = lines[z].split(",");
+                for (int x = 0; x < map.w; x++) {
+                    OccupationType type = tokens[x].charAt(0) == OccupationType.WALL.c ? OccupationType.WALL
+                            : OccupationType.FREE;
+                    map.allTiles[z][x] = new LegacyTile(x, z, type);
+                }
+            }
+            return map;
+        }
+
+        LegacyMap copy() {
+            LegacyMap copy = new LegacyMap(w, h);
+            for (int z = 0; z < h; z++) {
+                for (int x = 0; x < w; x++) {
+                    copy.allTiles[z][x] = new LegacyTile(x, z, allTiles[z][x].occupationType);
+                }
+            }
+            return copy;
+        }
+
+        TileRecord[][] toRecord() {
+            TileRecord[][] tileRecords = new TileRecord[h][w];
+            for (int z = 0; z < h; z++) {
+                for (int x = 0; x < w; x++) {
+                    tileRecords[z][x] = allTiles[z][x].toRecord();
+                }
+            }
+            return tileRecords;
+        }
+
+    }
+
+}
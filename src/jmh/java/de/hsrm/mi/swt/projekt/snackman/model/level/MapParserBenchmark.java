@@ -0,0 +1,86 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the single pass MapCsvParser with the former line based parser
+ * (readLine, String.split and charAt per tile) for maps up to 1000x1000 tiles.
+ * Both end in MapTemplate.of, so the interning of the layout is part of every
+ * result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapParserBenchmark {
+
+    @Param({"40", "200", "1000"})
+    public int size;
+
+    private String csv;
+
+    @Setup
+    public void setUp() {
+        csv = new SnackManMap(size, size).toString();
+    }
+
+    @Benchmark
+    public MapTemplate lineSplit() throws IOException {
+        return parseLineSplit(new BufferedReader(new StringReader(csv)));
+    }
+
+    @Benchmark
+    public MapTemplate singlePassString() throws IOException {
+        return MapCsvParser.parse(csv);
+    }
+
+    @Benchmark
+    public MapTemplate singlePassReader() throws IOException {
+        return MapCsvParser.parse(new StringReader(csv));
+    }
+
+    /**
+     * The parser as it was before MapCsvParser
+     */
+    private static MapTemplate parseLineSplit(BufferedReader reader) throws IOException {
+        String line;
+        int lines = 0;
+        int numTokens = 0;
+        ByteArrayOutputStream allRows = new ByteArrayOutputStream();
+
+        while ((line = reader.readLine()) != null) {
+            String[] tokens = line.split(",");
+            if (numTokens != 0) {
+                if (numTokens != tokens.length)
+                    throw new IOException("changing number of tokens per line");
+            } else {
+                numTokens = tokens.length;
+            }
+            for (int i = 0; i < tokens.length; i++) {
+                OccupationType occupationType;
+                switch (tokens[i].charAt(0)) {
+                    case '█' -> occupationType = OccupationType.WALL;
+                    case '░' -> occupationType = OccupationType.FREE;
+                    case '●' -> occupationType = OccupationType.ITEM;
+                    default -> throw new IOException("Unexpected token while loading file: " + tokens[i]);
+                }
+                allRows.write(occupationType.ordinal());
+            }
+            lines++;
+        }
+        return MapTemplate.of(numTokens, lines, allRows.toByteArray());
+    }
+
+}
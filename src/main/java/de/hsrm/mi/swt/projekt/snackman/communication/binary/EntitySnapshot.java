@@ -0,0 +1,36 @@
+package de.hsrm.mi.swt.projekt.snackman.communication.binary;
+
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.GameObjectType;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.StateOfObject;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.ChickenRecord;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.GhostRecord;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.SnackManRecord;
+
+/**
+ * Quantised state of one ghost, SnackMan or chicken within a GameStateSnapshot.
+ * Positions and radius are stored as fixed point values, score holds the gained
+ * calories or, for ghosts, the number of collisions.
+ */
+public record EntitySnapshot(long objectId, GameObjectType kind, String username, int x, int y, int z, int score,
+        int radius, int state) {
+
+    public static EntitySnapshot of(GhostRecord ghost) {
+        return new EntitySnapshot(ghost.objectId(), GameObjectType.GHOST, ghost.username(),
+                GameStateEncoder.quantizePosition(ghost.x()), GameStateEncoder.quantizePosition(ghost.y()),
+                GameStateEncoder.quantizePosition(ghost.z()), ghost.collisions(), 0, 0);
+    }
+
+    public static EntitySnapshot of(SnackManRecord snackMan) {
+        return new EntitySnapshot(snackMan.objectId(), GameObjectType.SNACKMAN, snackMan.username(),
+                GameStateEncoder.quantizePosition(snackMan.x()), GameStateEncoder.quantizePosition(snackMan.y()),
+                GameStateEncoder.quantizePosition(snackMan.z()), snackMan.gainedCalories(), 0, 0);
+    }
+
+    public static EntitySnapshot of(ChickenRecord chicken) {
+        return new EntitySnapshot(chicken.objectId(), GameObjectType.CHICKEN, "",
+                GameStateEncoder.quantizePosition(chicken.x()), GameStateEncoder.quantizePosition(chicken.y()),
+                GameStateEncoder.quantizePosition(chicken.z()), chicken.gainedCalories(),
+                GameStateEncoder.quantizeRadius(chicken.radius()), StateOfObject.valueOf(chicken.state()).ordinal());
+    }
+
+}
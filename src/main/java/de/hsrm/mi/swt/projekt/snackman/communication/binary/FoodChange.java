@@ -0,0 +1,25 @@
+package de.hsrm.mi.swt.projekt.snackman.communication.binary;
+
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.FoodType;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.FoodRecord;
+
+/**
+ * A food that was eaten or an egg that was laid, with quantised position
+ */
+public record FoodChange(boolean eaten, long objectId, int x, int y, int z, int calories, FoodType foodType) {
+
+    public static FoodChange eaten(FoodRecord food) {
+        return of(true, food);
+    }
+
+    public static FoodChange laid(FoodRecord food) {
+        return of(false, food);
+    }
+
+    private static FoodChange of(boolean eaten, FoodRecord food) {
+        return new FoodChange(eaten, food.objectId(), GameStateEncoder.quantizePosition(food.x()),
+                GameStateEncoder.quantizePosition(food.y()), GameStateEncoder.quantizePosition(food.z()),
+                food.calories(), food.foodType());
+    }
+
+}
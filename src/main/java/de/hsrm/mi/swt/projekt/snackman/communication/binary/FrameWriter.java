@@ -0,0 +1,80 @@
+package de.hsrm.mi.swt.projekt.snackman.communication.binary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer for building binary frames.
+ * Integers are written as LEB128 varints, signed values zigzag encoded first,
+ * so small numbers and small differences take a single byte.
+ */
+public class FrameWriter {
+
+    private byte[] buffer;
+    private int size;
+
+    public FrameWriter() {
+        this(64);
+    }
+
+    public FrameWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    public FrameWriter writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+        return this;
+    }
+
+    /**
+     * @param value unsigned value, negative values take ten bytes
+     */
+    public FrameWriter writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+        return this;
+    }
+
+    public FrameWriter writeSignedVarLong(long value) {
+        return writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public FrameWriter writeString(String value) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+        return this;
+    }
+
+    /**
+     * Appends everything written to another writer
+     */
+    public FrameWriter writeFrame(FrameWriter other) {
+        ensureCapacity(other.size);
+        System.arraycopy(other.buffer, 0, buffer, size, other.size);
+        size += other.size;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void ensureCapacity(int additional) {
+        if (size + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+        }
+    }
+
+}
@@ -0,0 +1,165 @@
+package de.hsrm.mi.swt.projekt.snackman.communication.binary;
+
+import java.util.List;
+
+/**
+ * Encodes GameStateSnapshots into binary GAME_STATE frames.
+ *
+ * A frame only contains what changed between the snapshot and the baseline, the
+ * last snapshot the client acknowledged. Without baseline a full frame is sent.
+ * All integers are varints, fields marked as signed are zigzag encoded:
+ *
+ * <pre>
+ * byte    OPCODE_GAME_STATE
+ * varint  sequence
+ * varint  baseline sequence, 0 for a full frame
+ * varint  remaining seconds
+ * varint  number of changed entities, per entity:
+ *         varint objectId
+ *         byte   field mask
+ *         NEW:    byte kind (GameObjectType ordinal), string username
+ *         X/Y/Z:  signed difference of the quantised position to the baseline
+ *         SCORE:  signed difference of calories (ghosts: collisions)
+ *         RADIUS: signed difference of the quantised radius
+ *         STATE:  byte StateOfObject ordinal
+ * varint  number of removed entities, per entity varint objectId
+ * varint  index of the first food change, varint number of food changes, per change:
+ *         byte   1 eaten / 0 laid, varint objectId
+ *         laid:  signed x, y, z, varint calories, byte FoodType ordinal
+ * </pre>
+ *
+ * Clients acknowledge a frame by sending OPCODE_ACK followed by the varint sequence.
+ * Food changes are numbered per game, a client applies every index only once.
+ */
+public final class GameStateEncoder {
+
+    public static final int OPCODE_GAME_STATE = 0x01;
+    public static final int OPCODE_ACK = 0x02;
+
+    /** Positions are sent in 1/256 of a tile */
+    public static final float POSITION_SCALE = 256f;
+    public static final float RADIUS_SCALE = 100f;
+
+    static final int FIELD_NEW = 1;
+    static final int FIELD_X = 1 << 1;
+    static final int FIELD_Y = 1 << 2;
+    static final int FIELD_Z = 1 << 3;
+    static final int FIELD_SCORE = 1 << 4;
+    static final int FIELD_RADIUS = 1 << 5;
+    static final int FIELD_STATE = 1 << 6;
+
+    private GameStateEncoder() {
+    }
+
+    public static int quantizePosition(float value) {
+        return Math.round(value * POSITION_SCALE);
+    }
+
+    public static float dequantizePosition(int value) {
+        return value / POSITION_SCALE;
+    }
+
+    public static int quantizeRadius(float value) {
+        return Math.round(value * RADIUS_SCALE);
+    }
+
+    public static float dequantizeRadius(int value) {
+        return value / RADIUS_SCALE;
+    }
+
+    /**
+     * @param snapshot snapshot to send
+     * @param baseline last snapshot the client acknowledged, null for a full frame
+     * @param history  history of the game, source of the food changes
+     * @return the encoded frame
+     */
+    public static byte[] encode(GameStateSnapshot snapshot, GameStateSnapshot baseline, SnapshotHistory history) {
+        FrameWriter writer = new FrameWriter(baseline == null ? 32 * snapshot.entities().size() + 16 : 64);
+        writer.writeByte(OPCODE_GAME_STATE)
+                .writeVarLong(snapshot.sequence())
+                .writeVarLong(baseline == null ? 0 : baseline.sequence())
+                .writeVarLong(Math.max(0, snapshot.remainingSeconds()));
+
+        writeEntities(writer, snapshot.entities(), baseline == null ? List.of() : baseline.entities());
+
+        int firstFoodChange = baseline == null ? 0 : baseline.foodChangeCount();
+        List<FoodChange> foodChanges = history.getFoodChanges(firstFoodChange, snapshot.foodChangeCount());
+        writer.writeVarLong(firstFoodChange).writeVarLong(foodChanges.size());
+        for (FoodChange change : foodChanges) {
+            writer.writeByte(change.eaten() ? 1 : 0).writeVarLong(change.objectId());
+            if (!change.eaten()) {
+                writer.writeSignedVarLong(change.x())
+                        .writeSignedVarLong(change.y())
+                        .writeSignedVarLong(change.z())
+                        .writeVarLong(change.calories())
+                        .writeByte(change.foodType().ordinal());
+            }
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * Writes the changed and the removed entities, both lists are sorted by object
+     * id so they can be walked side by side
+     */
+    private static void writeEntities(FrameWriter writer, List<EntitySnapshot> current, List<EntitySnapshot> base) {
+        FrameWriter changes = new FrameWriter();
+        FrameWriter removals = new FrameWriter();
+        int changeCount = 0;
+        int removalCount = 0;
+
+        int b = 0;
+        for (EntitySnapshot entity : current) {
+            while (b < base.size() && base.get(b).objectId() < entity.objectId()) {
+                removals.writeVarLong(base.get(b++).objectId());
+                removalCount++;
+            }
+            EntitySnapshot previous = null;
+            if (b < base.size() && base.get(b).objectId() == entity.objectId()) {
+                previous = base.get(b++);
+            }
+            if (writeEntity(changes, entity, previous)) {
+                changeCount++;
+            }
+        }
+        while (b < base.size()) {
+            removals.writeVarLong(base.get(b++).objectId());
+            removalCount++;
+        }
+
+        writer.writeVarLong(changeCount);
+        writer.writeFrame(changes);
+        writer.writeVarLong(removalCount);
+        writer.writeFrame(removals);
+    }
+
+    private static boolean writeEntity(FrameWriter writer, EntitySnapshot entity, EntitySnapshot previous) {
+        int mask = 0;
+        if (previous == null) {
+            mask = FIELD_NEW;
+            previous = new EntitySnapshot(entity.objectId(), entity.kind(), entity.username(), 0, 0, 0, 0, 0, 0);
+        }
+        if (entity.x() != previous.x()) mask |= FIELD_X;
+        if (entity.y() != previous.y()) mask |= FIELD_Y;
+        if (entity.z() != previous.z()) mask |= FIELD_Z;
+        if (entity.score() != previous.score()) mask |= FIELD_SCORE;
+        if (entity.radius() != previous.radius()) mask |= FIELD_RADIUS;
+        if (entity.state() != previous.state()) mask |= FIELD_STATE;
+        if (mask == 0) {
+            return false;
+        }
+
+        writer.writeVarLong(entity.objectId()).writeByte(mask);
+        if ((mask & FIELD_NEW) != 0) {
+            writer.writeByte(entity.kind().ordinal()).writeString(entity.username());
+        }
+        if ((mask & FIELD_X) != 0) writer.writeSignedVarLong(entity.x() - previous.x());
+        if ((mask & FIELD_Y) != 0) writer.writeSignedVarLong(entity.y() - previous.y());
+        if ((mask & FIELD_Z) != 0) writer.writeSignedVarLong(entity.z() - previous.z());
+        if ((mask & FIELD_SCORE) != 0) writer.writeSignedVarLong(entity.score() - previous.score());
+        if ((mask & FIELD_RADIUS) != 0) writer.writeSignedVarLong(entity.radius() - previous.radius());
+        if ((mask & FIELD_STATE) != 0) writer.writeByte(entity.state());
+        return true;
+    }
+
+}
@@ -0,0 +1,17 @@
+package de.hsrm.mi.swt.projekt.snackman.communication.binary;
+
+import java.util.List;
+
+/**
+ * Complete state of all moving objects of a game after one GameLoop run.
+ * Binary GAME_STATE frames are encoded as difference between two snapshots.
+ *
+ * @param sequence         tick the snapshot was taken at, always greater than 0
+ * @param remainingSeconds remaining time of the game
+ * @param entities         all ghosts, SnackMen and chickens, sorted by object id
+ * @param foodChangeCount  number of food changes of the game up to this snapshot
+ */
+public record GameStateSnapshot(long sequence, long remainingSeconds, List<EntitySnapshot> entities,
+        int foodChangeCount) {
+
+}
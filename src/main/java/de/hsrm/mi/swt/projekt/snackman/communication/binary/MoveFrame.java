@@ -0,0 +1,87 @@
+package de.hsrm.mi.swt.projekt.snackman.communication.binary;
+
+import org.joml.Vector3f;
+
+import de.hsrm.mi.swt.projekt.snackman.communication.events.frontendToBackend.MoveEvent;
+
+/**
+ * Binary MOVE input of a client, a compact alternative to the MOVE JSON message
+ * (about 10 instead of about 120 bytes). Any client may send it, independent of
+ * the format it receives GAME_STATE updates in.
+ *
+ * <pre>
+ * byte    OPCODE_MOVE
+ * varint  objectId
+ * varint  sequence, counted up by the client per input
+ * byte    x of the movement vector, signed, in 1/DIRECTION_SCALE
+ * byte    z of the movement vector, signed, in 1/DIRECTION_SCALE
+ * byte    flags, FLAG_JUMP
+ * </pre>
+ *
+ * The game is the one of the lobby the client is in. The y of the movement
+ * vector is not sent: with FLAG_JUMP it is restored so that the vector has the
+ * length 1 again (as the frontend normalises it), otherwise it is 0.
+ */
+public final class MoveFrame {
+
+    public static final int OPCODE_MOVE = 0x03;
+    public static final int FLAG_JUMP = 1;
+    public static final float DIRECTION_SCALE = 127f;
+
+    private MoveFrame() {
+    }
+
+    /**
+     * @param objectId       id of the moving player
+     * @param sequence       number of the input
+     * @param movementVector direction with components between -1 and 1, y > 0 to jump
+     * @return said frame
+     */
+    public static byte[] encode(long objectId, long sequence, Vector3f movementVector) {
+        return new FrameWriter(16)
+                .writeByte(OPCODE_MOVE)
+                .writeVarLong(objectId)
+                .writeVarLong(sequence)
+                .writeByte(quantizeDirection(movementVector.x))
+                .writeByte(quantizeDirection(movementVector.z))
+                .writeByte(movementVector.y > 0 ? FLAG_JUMP : 0)
+                .toByteArray();
+    }
+
+    /**
+     * Reads the rest of a MOVE frame, after its opcode
+     *
+     * @param reader reader of said frame
+     * @param gameId game of the client that sent the frame
+     * @return the same MoveEvent as for the JSON message
+     * @throws java.nio.BufferUnderflowException if the frame is too short
+     */
+    public static MoveEvent decode(FrameReader reader, long gameId) {
+        long objectId = reader.readVarLong();
+        long sequence = reader.readVarLong();
+        float x = dequantizeDirection(reader.readByte());
+        float z = dequantizeDirection(reader.readByte());
+        boolean jump = (reader.readByte() & FLAG_JUMP) != 0;
+
+        float y = 0;
+        if (jump) {
+            // at least one step, a diagonal of rounded components may add up to more than 1
+            y = (float) Math.max(Math.sqrt(Math.max(0, 1 - x * x - z * z)), 1 / DIRECTION_SCALE);
+        }
+
+        MoveEvent moveEvent = new MoveEvent(new Vector3f(x, y, z));
+        moveEvent.setGameID(gameId);
+        moveEvent.setObjectID(objectId);
+        moveEvent.setSequence(sequence);
+        return moveEvent;
+    }
+
+    static int quantizeDirection(float value) {
+        return Math.round(Math.max(-1f, Math.min(1f, value)) * DIRECTION_SCALE) & 0xFF;
+    }
+
+    static float dequantizeDirection(int value) {
+        return (byte) value / DIRECTION_SCALE;
+    }
+
+}
@@ -0,0 +1,53 @@
+package de.hsrm.mi.swt.projekt.snackman.communication.binary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the most recent snapshots of a game, so that every binary client can
+ * be sent the difference to the last snapshot it acknowledged, and the list
+ * of all food changes of the game.
+ * If a client acknowledged a snapshot that is no longer kept, it gets a full
+ * frame instead.
+ */
+public class SnapshotHistory {
+
+    public static final int CAPACITY = 64;
+
+    private final GameStateSnapshot[] snapshots = new GameStateSnapshot[CAPACITY];
+    private final List<FoodChange> foodChanges = new ArrayList<>();
+
+    public synchronized void add(GameStateSnapshot snapshot) {
+        snapshots[(int) (snapshot.sequence() % CAPACITY)] = snapshot;
+    }
+
+    /**
+     * @param sequence sequence of the wanted snapshot
+     * @return said snapshot or null if it is unknown or already overwritten
+     */
+    public synchronized GameStateSnapshot get(long sequence) {
+        if (sequence <= 0) {
+            return null;
+        }
+        GameStateSnapshot snapshot = snapshots[(int) (sequence % CAPACITY)];
+        return snapshot != null && snapshot.sequence() == sequence ? snapshot : null;
+    }
+
+    public synchronized void addFoodChange(FoodChange foodChange) {
+        foodChanges.add(foodChange);
+    }
+
+    public synchronized int getFoodChangeCount() {
+        return foodChanges.size();
+    }
+
+    /**
+     * @param from index of the first change (inclusive)
+     * @param to   index of the last change (exclusive)
+     * @return copy of said range
+     */
+    public synchronized List<FoodChange> getFoodChanges(int from, int to) {
+        return new ArrayList<>(foodChanges.subList(from, to));
+    }
+
+}
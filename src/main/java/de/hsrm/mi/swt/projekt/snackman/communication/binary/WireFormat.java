@@ -0,0 +1,29 @@
+package de.hsrm.mi.swt.projekt.snackman.communication.binary;
+
+/**
+ * Format in which a client receives GAME_STATE updates.
+ * It is negotiated once when the websocket is opened: clients that request the
+ * binary sub protocol get delta compressed binary frames, all others keep the
+ * "GAME_STATE;{json}" text messages.
+ *
+ * Binary frames do not carry the processed inputs of a GameStateEvent, so
+ * clients can only reconcile their predicted movement with JSON updates.
+ * The frontend does not request the binary sub protocol yet.
+ */
+public enum WireFormat {
+
+    JSON,
+    BINARY;
+
+    /** Websocket sub protocol a client requests to receive binary frames */
+    public static final String BINARY_SUBPROTOCOL = "snackman.binary.v1";
+
+    /**
+     * @param acceptedProtocol sub protocol accepted during the handshake, may be null
+     * @return the format belonging to said protocol, JSON if none was requested
+     */
+    public static WireFormat fromSubProtocol(String acceptedProtocol) {
+        return BINARY_SUBPROTOCOL.equals(acceptedProtocol) ? BINARY : JSON;
+    }
+
+}
@@ -1,6 +1,13 @@
 package de.hsrm.mi.swt.projekt.snackman.communication.events.backendToFrontend;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToLongFunction;
 
 import de.hsrm.mi.swt.projekt.snackman.communication.events.Event;
 import de.hsrm.mi.swt.projekt.snackman.communication.events.EventType;
@@ -18,6 +25,10 @@ public class GameStateEvent extends Event {
     private List<FoodRecord> eatenFoods;
     private List<FoodRecord> laidEggs;
     private long remainingSeconds;
+    /** sequence of the latest applied MOVE input per player, null if there was none */
+    private Map<Long, Long> processedInputs;
+    /** objects that left the interest radius of the client and are to be hidden, null if none */
+    private List<Long> leftRange;
 
     // gameStateEvent sends any Object or Food where soemthin has changed.
     public GameStateEvent(List<GhostRecord> updatesGhosts, List<SnackManRecord> updatesSnackMen, List<ChickenRecord> updatesChickens,
@@ -31,6 +42,75 @@ public class GameStateEvent extends Event {
         this.remainingSeconds = remainingSeconds;
     }
 
+    /**
+     * Combines this event with a newer one, as if all changes had been collected
+     * in one event. Newer records of the same object replace older ones.
+     * Eggs eaten in the newer event are no longer laid, and as the client never
+     * got the eggs laid in either event, they are not eaten for it either (the
+     * frontend removes eaten foods before it adds laid eggs).
+     * 
+     * @param newer said newer event
+     * @return the combined event
+     */
+    public GameStateEvent mergedWith(GameStateEvent newer) {
+        Set<Long> newlyEaten = new HashSet<>();
+        for (FoodRecord food : newer.eatenFoods) {
+            newlyEaten.add(food.objectId());
+        }
+        List<FoodRecord> mergedEggs = merge(laidEggs, newer.laidEggs, FoodRecord::objectId);
+        Set<Long> unseenEggs = new HashSet<>();
+        mergedEggs.removeIf(egg -> newlyEaten.contains(egg.objectId()) && unseenEggs.add(egg.objectId()));
+        List<FoodRecord> mergedEaten = merge(eatenFoods, newer.eatenFoods, FoodRecord::objectId);
+        mergedEaten.removeIf(food -> unseenEggs.contains(food.objectId()));
+
+        GameStateEvent merged = new GameStateEvent(
+                merge(updatesGhosts, newer.updatesGhosts, GhostRecord::objectId),
+                merge(updatesSnackMen, newer.updatesSnackMen, SnackManRecord::objectId),
+                merge(updatesChickens, newer.updatesChickens, ChickenRecord::objectId),
+                mergedEaten,
+                mergedEggs,
+                newer.remainingSeconds);
+        merged.setGameID(newer.getGameID());
+        if (processedInputs != null || newer.processedInputs != null) {
+            Map<Long, Long> inputs = new LinkedHashMap<>();
+            if (processedInputs != null) {
+                inputs.putAll(processedInputs);
+            }
+            if (newer.processedInputs != null) {
+                inputs.putAll(newer.processedInputs);
+            }
+            merged.setProcessedInputs(inputs);
+        }
+        if (leftRange != null || newer.leftRange != null) {
+            // objects that came back into range come with a record in the newer event
+            Set<Long> left = new LinkedHashSet<>();
+            if (leftRange != null) {
+                left.addAll(leftRange);
+                newer.updatesGhosts.forEach(ghost -> left.remove(ghost.objectId()));
+                newer.updatesSnackMen.forEach(snackMan -> left.remove(snackMan.objectId()));
+                newer.updatesChickens.forEach(chicken -> left.remove(chicken.objectId()));
+            }
+            if (newer.leftRange != null) {
+                left.addAll(newer.leftRange);
+            }
+            if (!left.isEmpty()) {
+                merged.setLeftRange(new ArrayList<>(left));
+            }
+        }
+        return merged;
+    }
+
+    private static <T> List<T> merge(List<T> older, List<T> newer, ToLongFunction<T> id) {
+        Map<Long, T> byId = new LinkedHashMap<>();
+        for (T record : older) {
+            byId.put(id.applyAsLong(record), record);
+        }
+        for (T record : newer) {
+            byId.put(id.applyAsLong(record), record);
+        }
+        return new ArrayList<>(byId.values());
+    }
+
     public List<FoodRecord> getEatenFoods() {
         return eatenFoods;
     }
@@ -80,4 +160,20 @@ public class GameStateEvent extends Event {
         this.remainingSeconds = remainingSeconds;
     }
 
+    public Map<Long, Long> getProcessedInputs() {
+        return processedInputs;
+    }
+
+    public void setProcessedInputs(Map<Long, Long> processedInputs) {
+        this.processedInputs = processedInputs;
+    }
+
+    public List<Long> getLeftRange() {
+        return leftRange;
+    }
+
+    public void setLeftRange(List<Long> leftRange) {
+        this.leftRange = leftRange;
+    }
+
 }
@@ -10,6 +10,8 @@ import de.hsrm.mi.swt.projekt.snackman.communication.events.EventType;
 public class MoveEvent extends Event {
     
     private Vector3f movementVector;
+    /** number of the input counted by the client, 0 if it sends none */
+    private long sequence;
 
     // Added setType to constructor
     public MoveEvent(Vector3f movementVector) {
@@ -25,4 +27,12 @@ public class MoveEvent extends Event {
         this.movementVector = movementVector;
     }
 
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
 }
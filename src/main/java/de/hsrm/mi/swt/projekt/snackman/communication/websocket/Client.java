@@ -1,9 +1,12 @@
 package de.hsrm.mi.swt.projekt.snackman.communication.websocket;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.socket.WebSocketSession;
 
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.WireFormat;
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.*;
 
 public class Client {
@@ -15,6 +18,19 @@ public class Client {
     private String username;
     private GameObjectType role;
     private WebSocketSession session;
+    // id of the lobby (and later game) the client joined, 0 if none
+    private volatile long lobbyId;
+    // format of GAME_STATE updates, negotiated when the connection is opened
+    private WireFormat wireFormat = WireFormat.JSON;
+    // last GAME_STATE frame the client acknowledged, baseline for the next delta
+    private volatile long acknowledgedSequence;
+    // messages waiting to be sent, null if the client is sent to directly
+    private OutboundQueue outboundQueue;
+    // rate limits of incoming messages, null if the client is not limited
+    private InboundRateLimiter.Buckets inboundBuckets;
+    // mailbox the last message was dispatched to and number of messages not handled yet
+    private volatile Object mailboxKey;
+    private final AtomicInteger pendingMessages = new AtomicInteger();
 
     public Client(WebSocketSession session) {
         this.username = "";
@@ -48,6 +64,72 @@ public class Client {
         this.role = role;
     }
 
+    public long getLobbyId() {
+        return lobbyId;
+    }
+
+    public void setLobbyId(long lobbyId) {
+        this.lobbyId = lobbyId;
+    }
+
+    public WireFormat getWireFormat() {
+        return wireFormat;
+    }
+
+    public void setWireFormat(WireFormat wireFormat) {
+        this.wireFormat = wireFormat;
+    }
+
+    public long getAcknowledgedSequence() {
+        return acknowledgedSequence;
+    }
+
+    /**
+     * Stores the acknowledged sequence, older acknowledgements are ignored
+     *
+     * @param sequence sequence of a received GAME_STATE frame
+     */
+    public void acknowledge(long sequence) {
+        if (sequence > acknowledgedSequence) {
+            acknowledgedSequence = sequence;
+        }
+    }
+
+    /**
+     * Forgets the acknowledged frame, the next GAME_STATE frame is sent in full
+     */
+    public void resetAcknowledgedSequence() {
+        acknowledgedSequence = 0;
+    }
+
+    public OutboundQueue getOutboundQueue() {
+        return outboundQueue;
+    }
+
+    public void setOutboundQueue(OutboundQueue outboundQueue) {
+        this.outboundQueue = outboundQueue;
+    }
+
+    public InboundRateLimiter.Buckets getInboundBuckets() {
+        return inboundBuckets;
+    }
+
+    public void setInboundBuckets(InboundRateLimiter.Buckets inboundBuckets) {
+        this.inboundBuckets = inboundBuckets;
+    }
+
+    public Object getMailboxKey() {
+        return mailboxKey;
+    }
+
+    public void setMailboxKey(Object mailboxKey) {
+        this.mailboxKey = mailboxKey;
+    }
+
+    public AtomicInteger getPendingMessages() {
+        return pendingMessages;
+    }
+
     public WebSocketSession getSession() {
         return session;
     }
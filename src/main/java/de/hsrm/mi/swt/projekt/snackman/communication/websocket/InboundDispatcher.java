@@ -0,0 +1,172 @@
+package de.hsrm.mi.swt.projekt.snackman.communication.websocket;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides on which thread incoming websocket messages are handled.
+ *
+ * In blocking mode (default) a message is handled directly on the container thread
+ * that received it. With virtual threads enabled, every key (a lobby/game or a single
+ * session) gets its own mailbox. The container thread only enqueues the message and
+ * the mailbox is drained in order on a virtual thread, so a slow game never blocks
+ * the container threads or the mailboxes of other games.
+ *
+ */
+public class InboundDispatcher {
+
+    /**
+     * A message handling step that may throw like the websocket callbacks do
+     */
+    @FunctionalInterface
+    public interface MessageTask {
+        void run() throws Exception;
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(InboundDispatcher.class);
+
+    private final boolean virtualThreads;
+    private final int mailboxCapacity;
+    private final ExecutorService executor;
+    private final Map<Object, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final AtomicLong droppedMessages = new AtomicLong();
+
+    /**
+     * @param virtualThreads  true to handle messages in mailboxes on virtual threads
+     * @param mailboxCapacity maximum number of waiting messages per mailbox, further
+     *                        messages are dropped
+     */
+    public InboundDispatcher(boolean virtualThreads, int mailboxCapacity) {
+        this.virtualThreads = virtualThreads;
+        this.mailboxCapacity = mailboxCapacity;
+        this.executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ws-mailbox-", 0).factory())
+                : null;
+    }
+
+    /**
+     * Handles the task directly or enqueues it into the mailbox of the given key.
+     * Tasks with the same key are always handled one after another in the order
+     * they were dispatched.
+     *
+     * @param key  lobby/game id or session id the message belongs to
+     * @param task handling of the message
+     * @return false if the mailbox was full and the message was dropped
+     * @throws Exception the exception of the task, only in blocking mode
+     */
+    public boolean dispatch(Object key, MessageTask task) throws Exception {
+        if (!virtualThreads) {
+            task.run();
+            return true;
+        }
+
+        Mailbox mailbox = mailboxes.computeIfAbsent(key, Mailbox::new);
+        if (!mailbox.offer(task)) {
+            droppedMessages.incrementAndGet();
+            logger.warn("Mailbox " + key + " is full, dropping message");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Forgets the mailbox of the given key once it has no more messages to handle.
+     * If the mailbox is still busy (e.g. when called by one of its own tasks), it
+     * removes itself after its last message.
+     *
+     * @param key said key
+     */
+    public void release(Object key) {
+        if (virtualThreads) {
+            mailboxes.computeIfPresent(key, (k, mailbox) -> {
+                mailbox.released = true;
+                return mailbox.isIdle() ? null : mailbox;
+            });
+        }
+    }
+
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public int getMailboxCount() {
+        return mailboxes.size();
+    }
+
+    public long getDroppedMessages() {
+        return droppedMessages.get();
+    }
+
+    /**
+     * Stops accepting messages, already running mailboxes are drained
+     */
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Queue of messages of one key that is drained by at most one virtual thread at a time
+     */
+    private class Mailbox implements Runnable {
+
+        private final Object key;
+        private final Queue<MessageTask> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private volatile boolean released;
+
+        Mailbox(Object key) {
+            this.key = key;
+        }
+
+        boolean offer(MessageTask task) {
+            if (size.incrementAndGet() > mailboxCapacity) {
+                size.decrementAndGet();
+                return false;
+            }
+            queue.add(task);
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+            return true;
+        }
+
+        boolean isIdle() {
+            return size.get() == 0 && !scheduled.get();
+        }
+
+        @Override
+        public void run() {
+            do {
+                MessageTask task;
+                while ((task = queue.poll()) != null) {
+                    size.decrementAndGet();
+                    try {
+                        task.run();
+                    } catch (Exception e) {
+                        logger.error("Error while handling message in mailbox " + key, e);
+                    }
+                }
+                scheduled.set(false);
+                // a message may have arrived after the queue was found empty
+            } while (!queue.isEmpty() && scheduled.compareAndSet(false, true));
+
+            if (released) {
+                mailboxes.computeIfPresent(key, (k, mailbox) -> mailbox == this && isIdle() ? null : mailbox);
+            }
+        }
+    }
+
+}
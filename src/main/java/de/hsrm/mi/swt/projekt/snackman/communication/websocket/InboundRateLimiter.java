@@ -0,0 +1,163 @@
+package de.hsrm.mi.swt.projekt.snackman.communication.websocket;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Limits the incoming messages of every client per message type with token
+ * buckets, so a misbehaving client cannot keep a game or the lobby busy.
+ * Messages beyond the limit are dropped before they are decoded and counted in
+ * the "snackman.inbound.dropped" metric, tagged with their type.
+ *
+ * Limits are given as comma separated "TYPE:messagesPerSecond:burst", the type
+ * "*" (OTHER) applies to all types without a limit of their own, e.g.
+ * "MOVE:60:30,CHAT:2:5,*:20:40". An empty specification disables limiting.
+ */
+public class InboundRateLimiter {
+
+    public static final String DEFAULT_LIMITS = "MOVE:60:30,CHAT:2:5,GET_PLAYERS:5:10,LOBBY_SHOW_EVENT:5:10,*:20:40";
+    public static final String OTHER = "*";
+
+    private final Map<String, Limit> limits;
+    private final Map<String, AtomicLong> dropped = new HashMap<>();
+
+    /**
+     * Allowed rate of one message type
+     *
+     * @param perSecond messages per second in the long run
+     * @param burst     messages that may arrive at once
+     */
+    public record Limit(double perSecond, int burst) {
+    }
+
+    /**
+     * @param specification said limits
+     * @throws IllegalArgumentException if the specification is malformed
+     */
+    public InboundRateLimiter(String specification) {
+        this.limits = Collections.unmodifiableMap(parse(specification));
+        for (String type : limits.keySet()) {
+            AtomicLong counter = new AtomicLong();
+            dropped.put(type, counter);
+            FunctionCounter.builder("snackman.inbound.dropped", counter, AtomicLong::get)
+                    .description("Incoming messages dropped because a client exceeded its rate limit")
+                    .tag("type", type.equals(OTHER) ? "other" : type)
+                    .register(Metrics.globalRegistry);
+        }
+    }
+
+    private static Map<String, Limit> parse(String specification) {
+        Map<String, Limit> limits = new LinkedHashMap<>();
+        if (specification == null || specification.isBlank()) {
+            return limits;
+        }
+        for (String entry : specification.split(",")) {
+            String[] parts = entry.trim().split(":");
+            try {
+                if (parts.length != 3) {
+                    throw new NumberFormatException();
+                }
+                Limit limit = new Limit(Double.parseDouble(parts[1].trim()), Integer.parseInt(parts[2].trim()));
+                if (limit.perSecond() <= 0 || limit.burst() < 1) {
+                    throw new NumberFormatException();
+                }
+                limits.put(parts[0].trim(), limit);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid rate limit \"" + entry + "\", expected TYPE:perSecond:burst");
+            }
+        }
+        return limits;
+    }
+
+    public boolean isEnabled() {
+        return !limits.isEmpty();
+    }
+
+    public Map<String, Limit> getLimits() {
+        return limits;
+    }
+
+    /**
+     * @return number of dropped messages of the type (OTHER for all types without
+     *         a limit of their own)
+     */
+    public long getDropped(String type) {
+        AtomicLong counter = dropped.get(limits.containsKey(type) ? type : OTHER);
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * @return full buckets for a new client
+     */
+    public Buckets newBuckets() {
+        return new Buckets();
+    }
+
+    /**
+     * Token buckets of one client, one per limited type
+     */
+    public final class Buckets {
+
+        private final Map<String, TokenBucket> buckets = new HashMap<>();
+
+        private Buckets() {
+            long now = System.nanoTime();
+            limits.forEach((type, limit) -> buckets.put(type, new TokenBucket(limit, now)));
+        }
+
+        /**
+         * @param type type of the message, null if unknown
+         * @return true if the message may be handled, false if it is to be dropped
+         */
+        public boolean tryAcquire(String type) {
+            return tryAcquire(type, System.nanoTime());
+        }
+
+        public boolean tryAcquire(String type, long nowNanos) {
+            String key = type != null && buckets.containsKey(type) ? type : OTHER;
+            TokenBucket bucket = buckets.get(key);
+            if (bucket == null || bucket.tryAcquire(nowNanos)) {
+                return true;
+            }
+            dropped.get(key).incrementAndGet();
+            return false;
+        }
+
+    }
+
+    private static final class TokenBucket {
+
+        private final double tokensPerNano;
+        private final int capacity;
+        private double tokens;
+        private long lastRefill;
+
+        private TokenBucket(Limit limit, long now) {
+            this.tokensPerNano = limit.perSecond() / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = limit.burst();
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+
+        private synchronized boolean tryAcquire(long now) {
+            if (now > lastRefill) {
+                tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+                lastRefill = now;
+            }
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+
+    }
+
+}
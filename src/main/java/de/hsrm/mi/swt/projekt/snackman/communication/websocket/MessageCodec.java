@@ -0,0 +1,147 @@
+package de.hsrm.mi.swt.projekt.snackman.communication.websocket;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+
+import de.hsrm.mi.swt.projekt.snackman.communication.events.Event;
+import de.hsrm.mi.swt.projekt.snackman.communication.events.GameConfigEvent;
+import de.hsrm.mi.swt.projekt.snackman.communication.events.backendToFrontend.GameEndEvent;
+import de.hsrm.mi.swt.projekt.snackman.communication.events.frontendToBackend.ChatEvent;
+import de.hsrm.mi.swt.projekt.snackman.communication.events.frontendToBackend.ChooseRoleEvent;
+import de.hsrm.mi.swt.projekt.snackman.communication.events.frontendToBackend.LobbyCreateEvent;
+import de.hsrm.mi.swt.projekt.snackman.communication.events.frontendToBackend.MoveEvent;
+import de.hsrm.mi.swt.projekt.snackman.communication.events.frontendToBackend.RegisterUsernameEvent;
+import de.hsrm.mi.swt.projekt.snackman.communication.events.frontendToBackend.StartGameEvent;
+
+/**
+ * Converts the JSON messages of the websocket.
+ * An incoming message is parsed once into a tree, its "type" selects the Event
+ * class the tree is bound to. The adapters for these classes are looked up when
+ * the codec is created, so decoding needs no reflection.
+ * Messages of types without an Event class (e.g. JOIN_LOBBY) only come with the
+ * tree. The codec is thread safe and shared by all sessions.
+ */
+public final class MessageCodec {
+
+    private static final String TYPE = "type";
+
+    private final Gson gson = new Gson();
+    // only used for GameConfigs and LobbyRecords, whose field names the frontend expects from Jackson
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, TypeAdapter<? extends Event>> eventAdapters = new HashMap<>();
+
+    /**
+     * Message of the frontend
+     *
+     * @param type  type of the message
+     * @param json  the whole message
+     * @param event the message bound to its Event class, null for types without one
+     */
+    public record InboundMessage(String type, JsonObject json, Event event) {
+    }
+
+    public MessageCodec() {
+        register("CHOOSEROLE", ChooseRoleEvent.class);
+        register("REGISTERUSERNAME", RegisterUsernameEvent.class);
+        register("MOVE", MoveEvent.class);
+        register("SET_GAME_CONFIG", GameConfigEvent.class);
+        register("GET_GAME_CONFIG", GameConfigEvent.class);
+        register("RESET_GAME_CONFIG", GameConfigEvent.class);
+        register("LOBBY_CREATE_EVENT", LobbyCreateEvent.class);
+        register("START_GAME", StartGameEvent.class);
+        register("END_GAME", GameEndEvent.class);
+        register("CHAT", ChatEvent.class);
+    }
+
+    private void register(String type, Class<? extends Event> eventClass) {
+        eventAdapters.put(type, gson.getAdapter(eventClass));
+    }
+
+    /**
+     * @return true if messages of the type are bound to an Event class
+     */
+    public boolean hasEventClass(String type) {
+        return eventAdapters.containsKey(type);
+    }
+
+    /**
+     * @param payload JSON object with a "type"
+     * @return the decoded message
+     * @throws JsonSyntaxException if the payload is no JSON object with a type
+     */
+    public InboundMessage decode(String payload) {
+        JsonElement element = JsonParser.parseString(payload);
+        if (!element.isJsonObject()) {
+            throw new JsonSyntaxException("message is no JSON object");
+        }
+        JsonObject json = element.getAsJsonObject();
+        JsonElement type = json.get(TYPE);
+        if (type == null || !type.isJsonPrimitive()) {
+            throw new JsonSyntaxException("message without type");
+        }
+
+        String typeName = type.getAsString();
+        TypeAdapter<? extends Event> adapter = eventAdapters.get(typeName);
+        Event event = adapter == null ? null : adapter.fromJsonTree(json);
+        return new InboundMessage(typeName, json, event);
+    }
+
+    /**
+     * Finds the type of a message without parsing it, e.g. to drop it before it
+     * is decoded. Only looks for the first "type" key, which is enough for the
+     * messages of the frontend, the result is no proof that the message is valid.
+     *
+     * @return the type, null if none was found
+     */
+    public static String peekType(String payload) {
+        int key = payload.indexOf("\"" + TYPE + "\"");
+        if (key < 0) {
+            return null;
+        }
+        int i = skipWhitespace(payload, key + TYPE.length() + 2);
+        if (i >= payload.length() || payload.charAt(i) != ':') {
+            return null;
+        }
+        i = skipWhitespace(payload, i + 1);
+        if (i >= payload.length() || payload.charAt(i) != '"') {
+            return null;
+        }
+        int end = payload.indexOf('"', i + 1);
+        return end < 0 ? null : payload.substring(i + 1, end);
+    }
+
+    private static int skipWhitespace(String payload, int i) {
+        while (i < payload.length() && Character.isWhitespace(payload.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Converts an object with the shared Gson instance
+     */
+    public String toJson(Object object) {
+        return gson.toJson(object);
+    }
+
+    /**
+     * Converts an object with the shared Jackson ObjectMapper
+     */
+    public String toJacksonJson(Object object) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(object);
+    }
+
+    public Gson getGson() {
+        return gson;
+    }
+
+}
@@ -0,0 +1,112 @@
+package de.hsrm.mi.swt.projekt.snackman.communication.websocket;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Counts how often outgoing messages are serialized and sent and how much memory
+ * the serialization allocates. Broadcasts serialize an event once for all
+ * recipients, so serializations stay well below sent messages.
+ * The counters are published as "snackman.outbound.*" metrics.
+ */
+public class OutboundMetrics {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadMXBean();
+
+    private final AtomicLong serializations = new AtomicLong();
+    private final AtomicLong serializedSize = new AtomicLong();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final AtomicLong sentMessages = new AtomicLong();
+    private final AtomicLong replacedGameStates = new AtomicLong();
+    private final AtomicLong slowClientDisconnects = new AtomicLong();
+
+    public OutboundMetrics() {
+        FunctionCounter.builder("snackman.outbound.serializations", serializations, AtomicLong::get)
+                .description("Outgoing messages serialized")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("snackman.outbound.serialized.size", serializedSize, AtomicLong::get)
+                .description("Size of serialized messages (characters for text, bytes for binary frames)")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("snackman.outbound.serialization.allocated", allocatedBytes, AtomicLong::get)
+                .description("Memory allocated while serializing outgoing messages")
+                .baseUnit("bytes")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("snackman.outbound.sent", sentMessages, AtomicLong::get)
+                .description("Messages handed to websocket sessions")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("snackman.outbound.replaced", replacedGameStates, AtomicLong::get)
+                .description("Waiting GAME_STATE updates replaced by newer ones for slow clients")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("snackman.outbound.disconnects", slowClientDisconnects, AtomicLong::get)
+                .description("Sessions closed because they could not keep up")
+                .register(Metrics.globalRegistry);
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
+        }
+        return null;
+    }
+
+    /**
+     * @return bytes allocated by the current thread so far, to be passed to
+     *         recordSerialization afterwards
+     */
+    public long startSerialization() {
+        return THREADS == null ? 0 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * @param size            size of the serialized message
+     * @param allocationStart value returned by startSerialization
+     */
+    public void recordSerialization(int size, long allocationStart) {
+        serializations.incrementAndGet();
+        serializedSize.addAndGet(size);
+        if (THREADS != null) {
+            allocatedBytes.addAndGet(THREADS.getCurrentThreadAllocatedBytes() - allocationStart);
+        }
+    }
+
+    public void recordSent() {
+        sentMessages.incrementAndGet();
+    }
+
+    public void recordReplacedGameState() {
+        replacedGameStates.incrementAndGet();
+    }
+
+    public void recordSlowClientDisconnect() {
+        slowClientDisconnects.incrementAndGet();
+    }
+
+    public long getSerializations() {
+        return serializations.get();
+    }
+
+    public long getSerializedSize() {
+        return serializedSize.get();
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    public long getSentMessages() {
+        return sentMessages.get();
+    }
+
+    public long getReplacedGameStates() {
+        return replacedGameStates.get();
+    }
+
+    public long getSlowClientDisconnects() {
+        return slowClientDisconnects.get();
+    }
+
+}
@@ -0,0 +1,236 @@
+package de.hsrm.mi.swt.projekt.snackman.communication.websocket;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import de.hsrm.mi.swt.projekt.snackman.communication.events.Event;
+import de.hsrm.mi.swt.projekt.snackman.communication.events.backendToFrontend.GameStateEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Bounded queue of outgoing messages of a single session.
+ * Enqueuing never blocks, the queue is drained asynchronously on a virtual thread,
+ * so a client on a bad connection only delays its own messages and never the game
+ * or the other players.
+ * If the client cannot keep up, waiting GAME_STATE updates are replaced according
+ * to the SlowClientPolicy. If that is not enough, or a single send takes longer
+ * than the send time limit, the session is closed.
+ * The number of waiting messages is published as "snackman.outbound.queue.depth".
+ */
+public class OutboundQueue {
+
+    private final Logger logger = LoggerFactory.getLogger(OutboundQueue.class);
+
+    /**
+     * A waiting message, state is set for JSON GAME_STATE updates so they can be merged
+     */
+    private record Entry(WebSocketMessage<?> message, boolean isGameState, GameStateEvent state) {
+    }
+
+    private final WebSocketSession session;
+    private final int capacity;
+    private final SlowClientPolicy policy;
+    private final long sendTimeLimitNanos;
+    private final Executor executor;
+    private final Function<Event, ? extends WebSocketMessage<?>> encoder;
+    private final OutboundMetrics metrics;
+    private final Gauge depthGauge;
+
+    // guarded by this
+    private final Deque<Entry> queue = new ArrayDeque<>();
+    private boolean draining = false;
+    private boolean closed = false;
+
+    // start of the send in progress, 0 if the drain is not sending
+    private volatile long sendStartNanos;
+
+    /**
+     * @param session           session the messages are sent to
+     * @param capacity          maximum number of waiting messages
+     * @param policy            handling of GAME_STATE updates of slow clients
+     * @param sendTimeLimitMillis maximum duration of a single send before the session is closed
+     * @param executor          executor the queue is drained on
+     * @param encoder           converts merged GameStateEvents into messages
+     * @param metrics           counters for sent, replaced and disconnected messages
+     */
+    public OutboundQueue(WebSocketSession session, int capacity, SlowClientPolicy policy, long sendTimeLimitMillis,
+            Executor executor, Function<Event, ? extends WebSocketMessage<?>> encoder, OutboundMetrics metrics) {
+        this.session = session;
+        this.capacity = capacity;
+        this.policy = policy;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMillis);
+        this.executor = executor;
+        this.encoder = encoder;
+        this.metrics = metrics;
+        this.depthGauge = Gauge.builder("snackman.outbound.queue.depth", this, OutboundQueue::size)
+                .tag("session", String.valueOf(session.getId()))
+                .description("Messages waiting to be sent to a session")
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Enqueues a message that is always delivered
+     */
+    public void enqueue(WebSocketMessage<?> message) {
+        offer(new Entry(message, false, null));
+    }
+
+    /**
+     * Enqueues a GAME_STATE update that may be replaced by a newer one
+     *
+     * @param message the encoded update
+     * @param state   the JSON event the message was encoded from, null for binary frames
+     */
+    public void enqueueGameState(WebSocketMessage<?> message, GameStateEvent state) {
+        offer(new Entry(message, true, state));
+    }
+
+    private void offer(Entry entry) {
+        String closeReason;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closeReason = add(entry);
+            if (closeReason != null) {
+                markSlowClientClosed(closeReason);
+            } else if (draining) {
+                return;
+            } else {
+                draining = true;
+            }
+        }
+        if (closeReason != null) {
+            // closing waits for the send in progress, which may be the one that is
+            // stuck, so it must block neither the caller nor the lock
+            executor.execute(() -> closeSession(closeReason));
+        } else {
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Adds the entry to the queue, called while holding the lock
+     *
+     * @return the reason to disconnect the client instead, null if the entry was added
+     */
+    private String add(Entry entry) {
+        long sendStart = sendStartNanos;
+        if (sendStart != 0 && System.nanoTime() - sendStart > sendTimeLimitNanos) {
+            return "send time limit exceeded";
+        }
+
+        boolean full = queue.size() >= capacity;
+        if (entry.isGameState() && (policy == SlowClientPolicy.COALESCE
+                || (policy == SlowClientPolicy.DROP_STALE && full))) {
+            entry = replaceOldestGameState(entry);
+            full = queue.size() >= capacity;
+        }
+        if (full) {
+            return "outbound queue full";
+        }
+        queue.add(entry);
+        return null;
+    }
+
+    /**
+     * Removes the oldest waiting GAME_STATE, if any. A JSON event is merged into
+     * the new one, so none of its changes get lost.
+     *
+     * @return the entry to be queued instead of the given one
+     */
+    private Entry replaceOldestGameState(Entry newer) {
+        for (Iterator<Entry> it = queue.iterator(); it.hasNext();) {
+            Entry waiting = it.next();
+            if (waiting.isGameState()) {
+                it.remove();
+                metrics.recordReplacedGameState();
+                if (waiting.state() != null && newer.state() != null) {
+                    GameStateEvent merged = waiting.state().mergedWith(newer.state());
+                    return new Entry(encoder.apply(merged), true, merged);
+                }
+                return newer;
+            }
+        }
+        return newer;
+    }
+
+    private void drain() {
+        while (true) {
+            Entry entry;
+            synchronized (this) {
+                entry = queue.poll();
+                if (entry == null || closed) {
+                    draining = false;
+                    return;
+                }
+            }
+
+            sendStartNanos = System.nanoTime();
+            try {
+                session.sendMessage(entry.message());
+                metrics.recordSent();
+            } catch (IOException | IllegalStateException e) {
+                logger.warn("Error sending message to " + session.getId() + ": " + e.getMessage());
+                synchronized (this) {
+                    closed = true;
+                    queue.clear();
+                    draining = false;
+                }
+                return;
+            } finally {
+                sendStartNanos = 0;
+            }
+        }
+    }
+
+    // called while holding the lock
+    private void markSlowClientClosed(String reason) {
+        logger.warn("Disconnecting slow client " + session.getId() + ": " + reason);
+        closed = true;
+        queue.clear();
+        metrics.recordSlowClientDisconnect();
+    }
+
+    // called on the executor, never while holding the lock
+    private void closeSession(String reason) {
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE.withReason(reason));
+        } catch (IOException e) {
+            logger.warn("Error closing session " + session.getId(), e);
+        }
+    }
+
+    /**
+     * Discards waiting messages and unregisters the depth metric, called once the
+     * session is closed
+     */
+    public void dispose() {
+        synchronized (this) {
+            closed = true;
+            queue.clear();
+        }
+        Metrics.globalRegistry.remove(depthGauge);
+    }
+
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+}
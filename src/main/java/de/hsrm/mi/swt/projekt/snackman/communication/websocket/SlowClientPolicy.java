@@ -0,0 +1,21 @@
+package de.hsrm.mi.swt.projekt.snackman.communication.websocket;
+
+/**
+ * Decides what an OutboundQueue does with GAME_STATE updates of a client that
+ * receives them slower than they are produced.
+ * Binary GAME_STATE frames can simply be dropped for newer ones, since each of them
+ * is a delta to the acknowledged baseline. Waiting JSON GameStateEvents only hold
+ * the changes since the previous one, so they are merged into the newer event.
+ * Independent of the policy a client is disconnected if a single send takes longer
+ * than the send time limit.
+ */
+public enum SlowClientPolicy {
+
+    /** A new GAME_STATE always replaces the waiting one, at most one is queued */
+    COALESCE,
+    /** The oldest waiting GAME_STATE is replaced only once the queue is full */
+    DROP_STALE,
+    /** Nothing is replaced, the client is disconnected once the queue is full */
+    DISCONNECT
+
+}
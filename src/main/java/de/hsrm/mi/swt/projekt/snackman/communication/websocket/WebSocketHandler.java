@@ -1,80 +1,254 @@
 package de.hsrm.mi.swt.projekt.snackman.communication.websocket;
 
 import java.io.IOException;
+import java.nio.BufferUnderflowException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.FrameReader;
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.GameStateEncoder;
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.GameStateSnapshot;
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.MoveFrame;
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.SnapshotHistory;
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.WireFormat;
 import de.hsrm.mi.swt.projekt.snackman.communication.events.Event;
 import de.hsrm.mi.swt.projekt.snackman.communication.events.GameConfigEvent;
 import de.hsrm.mi.swt.projekt.snackman.communication.events.backendToFrontend.ClientIdEvent;
 import de.hsrm.mi.swt.projekt.snackman.communication.events.backendToFrontend.GameEndEvent;
+import de.hsrm.mi.swt.projekt.snackman.communication.events.backendToFrontend.GameStateEvent;
 import de.hsrm.mi.swt.projekt.snackman.communication.events.frontendToBackend.ChatEvent;
 import de.hsrm.mi.swt.projekt.snackman.communication.events.frontendToBackend.ChooseRoleEvent;
 import de.hsrm.mi.swt.projekt.snackman.communication.events.frontendToBackend.LobbyCreateEvent;
 import de.hsrm.mi.swt.projekt.snackman.communication.events.frontendToBackend.MoveEvent;
 import de.hsrm.mi.swt.projekt.snackman.communication.events.frontendToBackend.RegisterUsernameEvent;
 import de.hsrm.mi.swt.projekt.snackman.communication.events.frontendToBackend.StartGameEvent;
+import de.hsrm.mi.swt.projekt.snackman.communication.websocket.MessageCodec.InboundMessage;
 import de.hsrm.mi.swt.projekt.snackman.configuration.GameConfig;
 import de.hsrm.mi.swt.projekt.snackman.logic.Game;
 import de.hsrm.mi.swt.projekt.snackman.logic.GameManager;
 import de.hsrm.mi.swt.projekt.snackman.logic.Lobby;
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.GameObjectType;
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.LobbyRecord;
-import de.hsrm.mi.swt.projekt.snackman.model.level.SnackManMap;
+import de.hsrm.mi.swt.projekt.snackman.model.level.MapRepository;
+import de.hsrm.mi.swt.projekt.snackman.model.level.MapTemplate;
 
-public class WebSocketHandler extends TextWebSocketHandler {
+public class WebSocketHandler extends AbstractWebSocketHandler implements SubProtocolCapable {
 
     Logger logger = LoggerFactory.getLogger(WebSocketHandler.class);
     GameManager gameManager = new GameManager(this);
 
-    Map<WebSocketSession, Client> clients = new HashMap<>();
+    Map<WebSocketSession, Client> clients = new ConcurrentHashMap<>();
+
+    // the buffer is reused by each sending thread
+    private static final ThreadLocal<StringBuilder> ENCODE_BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+    // larger buffers (e.g. after a GameStartEvent with a big map) are not kept
+    private static final int MAX_BUFFER_CAPACITY = 256 * 1024;
+
+    private final InboundDispatcher inboundDispatcher;
+    private final OutboundMetrics outboundMetrics = new OutboundMetrics();
+    private final ExecutorService outboundExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final int outboundCapacity;
+    private final SlowClientPolicy slowClientPolicy;
+    private final long sendTimeLimitMillis;
+    private final MapRepository mapRepository;
+    private final MessageCodec messageCodec = new MessageCodec();
+    private final InboundRateLimiter rateLimiter;
+
+    public WebSocketHandler() {
+        this(false, 1024, 256, SlowClientPolicy.COALESCE, 5000, MapRepository.DEFAULT_CAPACITY,
+                InboundRateLimiter.DEFAULT_LIMITS);
+    }
+
+    /**
+     * @param virtualThreads      true to handle incoming messages in per-lobby mailboxes on
+     *                            virtual threads instead of the container threads
+     * @param mailboxCapacity     maximum number of waiting messages per mailbox
+     * @param outboundCapacity    maximum number of messages waiting to be sent per session
+     * @param slowClientPolicy    handling of GAME_STATE updates for clients that cannot keep up
+     * @param sendTimeLimitMillis maximum duration of a single send before the session is closed
+     * @param mapCacheCapacity    maximum number of parsed maps kept for further lobbies
+     * @param rateLimits          limits of incoming messages per client and type (see
+     *                            InboundRateLimiter), empty for none
+     */
+    public WebSocketHandler(boolean virtualThreads, int mailboxCapacity, int outboundCapacity,
+            SlowClientPolicy slowClientPolicy, long sendTimeLimitMillis, int mapCacheCapacity, String rateLimits) {
+        this.inboundDispatcher = new InboundDispatcher(virtualThreads, mailboxCapacity);
+        this.outboundCapacity = outboundCapacity;
+        this.slowClientPolicy = slowClientPolicy;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.mapRepository = new MapRepository(mapCacheCapacity);
+        this.rateLimiter = new InboundRateLimiter(rateLimits);
+        logger.info("Handling websocket messages " + (virtualThreads ? "on virtual threads" : "on container threads"));
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
         logger.info("New WebSocket Connection: " + session.getId());
-        clients.put(session, new Client(session));
+        Client client = new Client(session);
+        client.setWireFormat(WireFormat.fromSubProtocol(session.getAcceptedProtocol()));
+        client.setOutboundQueue(new OutboundQueue(session, outboundCapacity, slowClientPolicy, sendTimeLimitMillis,
+                outboundExecutor, this::encode, outboundMetrics));
+        if (rateLimiter.isEnabled()) {
+            client.setInboundBuckets(rateLimiter.newBuckets());
+        }
+        clients.put(session, client);
     }
 
     /**
-     * Receive Json from Frontend and turn into Java Objects (Events)...
+     * Clients that request this sub protocol receive GAME_STATE updates as binary
+     * frames, all others as JSON
+     */
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(WireFormat.BINARY_SUBPROTOCOL);
+    }
+
+    /**
+     * Handles binary messages: acknowledgements of received GAME_STATE frames and
+     * MOVE inputs (see MoveFrame), which are passed on like their JSON counterpart.
+     * 
+     * @param session The session that sent the message.
+     * @param message The message that was sent.
+     */
+    @Override
+    protected void handleBinaryMessage(@NotNull WebSocketSession session, BinaryMessage message) throws Exception {
+        Client client = clients.get(session);
+        if (client == null) {
+            return;
+        }
+
+        try {
+            FrameReader reader = new FrameReader(message.getPayload());
+            int opcode = reader.readByte();
+            if (opcode == MoveFrame.OPCODE_MOVE) {
+                if (!isAllowed(client, "MOVE")) {
+                    return;
+                }
+                MoveEvent moveEvent = MoveFrame.decode(reader, client.getLobbyId());
+                dispatch(session, () -> gameManager.handleEvent(moveEvent));
+            } else if (opcode == GameStateEncoder.OPCODE_ACK) {
+                client.acknowledge(reader.readVarLong());
+            } else {
+                logger.warn("unknown binary message from FE: " + opcode);
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            logger.warn("Invalid binary message: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Passes the message on to the InboundDispatcher, which handles it directly or
+     * in a mailbox (see dispatch). Messages beyond the rate limit of the client are dropped
+     * before they are decoded, the limit is picked by the type found in the raw
+     * message.
      * 
      * @param session The session that sent the message.
      * @param message The message that was sent.
      */
     @Override
     public void handleTextMessage(@NotNull WebSocketSession session, TextMessage message) throws Exception {
+        Client client = clients.get(session);
+        String peekedType = MessageCodec.peekType(message.getPayload());
+        if (client != null && !isAllowed(client, peekedType)) {
+            return;
+        }
+        dispatch(session, () -> processTextMessage(session, message, peekedType));
+    }
+
+    private boolean isAllowed(Client client, String type) {
+        InboundRateLimiter.Buckets buckets = client.getInboundBuckets();
+        if (buckets == null || buckets.tryAcquire(type)) {
+            return true;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Dropped " + type + " message of " + client.getSession().getId() + ", rate limit exceeded");
+        }
+        return false;
+    }
+
+    /**
+     * Hands a message of the session to the InboundDispatcher. With virtual threads,
+     * messages of a client go to the mailbox of its lobby, or of its session while it
+     * is in none. After joining or leaving a lobby the client keeps its previous
+     * mailbox until its messages queued there have been handled, so they are never
+     * overtaken by newer ones.
+     */
+    private void dispatch(WebSocketSession session, InboundDispatcher.MessageTask task) throws Exception {
+        Client client = clients.get(session);
+        if (client == null || !inboundDispatcher.usesVirtualThreads()) {
+            inboundDispatcher.dispatch(session.getId(), task);
+            return;
+        }
+
+        AtomicInteger pending = client.getPendingMessages();
+        Object key = client.getMailboxKey();
+        if (key == null || pending.get() == 0) {
+            key = client.getLobbyId() != 0 ? (Object) client.getLobbyId() : session.getId();
+            client.setMailboxKey(key);
+        }
+        pending.incrementAndGet();
+        boolean queued = inboundDispatcher.dispatch(key, () -> {
+            try {
+                task.run();
+            } finally {
+                pending.decrementAndGet();
+            }
+        });
+        if (!queued) {
+            pending.decrementAndGet();
+        }
+    }
 
-        GsonBuilder builder = new GsonBuilder();
-        Gson gson = builder.create();
+    /**
+     * Receive Json from Frontend and turn into Java Objects (Events)...
+     * 
+     * @param session    The session that sent the message.
+     * @param message    The message that was sent.
+     * @param peekedType The type the rate limit was picked by.
+     */
+    private void processTextMessage(WebSocketSession session, TextMessage message, String peekedType) throws Exception {
 
-        logger.info("Message received: " + message.getPayload());
-        String jsonString = message.getPayload();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Message received: " + message.getPayload());
+        }
 
         try {
-            JsonObject jsonObject = JsonParser.parseString(jsonString).getAsJsonObject();
-            String type = jsonObject.get("type").getAsString();
+            InboundMessage inbound = messageCodec.decode(message.getPayload());
+            JsonObject jsonObject = inbound.json();
+            String type = inbound.type();
+
+            // e.g. a second "type" key, which would have put the message on the wrong rate limit
+            Client sender = clients.get(session);
+            if (sender != null && sender.getInboundBuckets() != null && !type.equals(peekedType)) {
+                logger.warn("Dropped message of " + session.getId() + ", type " + type + " was rate limited as "
+                        + peekedType);
+                return;
+            }
 
             switch (type) {
                 // User chooses role
                 case "CHOOSEROLE" -> {
-                    ChooseRoleEvent chooseRoleEvent = gson.fromJson(jsonString, ChooseRoleEvent.class);
+                    ChooseRoleEvent chooseRoleEvent = (ChooseRoleEvent) inbound.event();
                     Client client = clients.get(session);
 
                     client.setUsername(chooseRoleEvent.getUsername());
@@ -89,39 +263,38 @@ public class WebSocketHandler extends TextWebSocketHandler {
                  // User registers without Role, sets Unsername and sends back Client ID for
                  // later use...
                 case "REGISTERUSERNAME" -> {
-                    RegisterUsernameEvent registerUsernameEvent = gson.fromJson(jsonString,
-                            RegisterUsernameEvent.class);
+                    RegisterUsernameEvent registerUsernameEvent = (RegisterUsernameEvent) inbound.event();
 
                     clients.get(session).setUsername(registerUsernameEvent.getUsername());
                     ClientIdEvent event = new ClientIdEvent(clients.get(session).getClientId());
-                    String json = gson.toJson(event);
+                    String json = messageCodec.toJson(event);
                     // logger.info("Final JSON for event" + event.getType().toString() + "; " + json);
-                    session.sendMessage(new TextMessage(event.getType().toString() + ";" + json));
+                    send(session, new TextMessage(event.getType().toString() + ";" + json));
                 }
                 case "MAPUPLOAD" -> {
-                    SnackManMap map = new SnackManMap(jsonObject.get("content").getAsString(), false);
+                    MapTemplate template;
+                    try {
+                        template = mapRepository.fromCsv(jsonObject.get("content").getAsString());
+                    } catch (IOException e) {
+                        logger.warn("Invalid map upload: " + e.getMessage());
+                        return;
+                    }
 
                     Lobby lobby = gameManager.getLobbyFromClient(clients.get(session));
                     if (lobby != null) {
-                        lobby.setMap(map);
+                        lobby.setMap(template.newMap());
                     }
 
                 }
                 case "MOVE" -> {
-                    MoveEvent moveEvent = gson.fromJson(jsonString, MoveEvent.class);
-                    logger.info("GameId: " + moveEvent.getGameID() + " | Vector x: " + moveEvent.getMovementVector().x
-                            + " | Vector y: " + moveEvent.getMovementVector().y + " | Vector z: "
-                            + moveEvent.getMovementVector().z);
-                    gameManager.handleEvent(moveEvent);
+                    gameManager.handleEvent(inbound.event());
                 }
                 case "SET_GAME_CONFIG" -> {
-                    ObjectMapper mapper = new ObjectMapper();
-
                     // Set GameConfig from event as GameConfig object in gameManager
-                    GameConfigEvent gameConfigEvent = gson.fromJson(jsonString, GameConfigEvent.class);
+                    GameConfigEvent gameConfigEvent = (GameConfigEvent) inbound.event();
                     gameManager.setGameConfig(gameConfigEvent.getGameConfig(), gameConfigEvent.getGameID());
                     try {
-                        String json = mapper.writeValueAsString(gameConfigEvent.getGameConfig());
+                        String json = messageCodec.toJacksonJson(gameConfigEvent.getGameConfig());
                         notifyClients(session, gameConfigEvent.getGameID(), "GAME_CONFIG;" + json);
                     } catch (JsonProcessingException e) {
                         e.printStackTrace();
@@ -129,53 +302,55 @@ public class WebSocketHandler extends TextWebSocketHandler {
                 }
                 case "GET_GAME_CONFIG" -> {
                     // Get existing GameConfigs from GameManager
-                    GameConfigEvent gameConfigEvent = gson.fromJson(jsonString, GameConfigEvent.class);
+                    GameConfigEvent gameConfigEvent = (GameConfigEvent) inbound.event();
                     GameConfig existingConfig = gameManager.getGameConfig(gameConfigEvent.getGameID());
-                    ObjectMapper mapper = new ObjectMapper();
                     String returnString = "";
 
                     // if there is no GameConfig for the Lobby or the Reset-Button has been pressed,
                     // the form should recieve default values
                     if (existingConfig == null || gameConfigEvent.getGameID() == 0) existingConfig = new GameConfig();
                     try {
-                        String json = mapper.writeValueAsString(existingConfig);
+                        String json = messageCodec.toJacksonJson(existingConfig);
                         returnString = "GAME_CONFIG;" + json;
                     } catch (JsonProcessingException e) {
                         e.printStackTrace();
                     }
 
-                    session.sendMessage(new TextMessage(returnString));
+                    send(session, new TextMessage(returnString));
                     notifyClients(session, gameConfigEvent.getGameID(), returnString);
                 }
                 case "RESET_GAME_CONFIG" -> {
-                    ObjectMapper mapper = new ObjectMapper();
-                    GameConfigEvent gameConfigEvent = gson.fromJson(jsonString, GameConfigEvent.class);
+                    GameConfigEvent gameConfigEvent = (GameConfigEvent) inbound.event();
                     GameConfig newGameConfig = new GameConfig();
                     gameManager.setGameConfig(newGameConfig, gameConfigEvent.getGameID());
 
-                    String payload = "GAME_CONFIG;" + mapper.writeValueAsString(newGameConfig);
-                    session.sendMessage(new TextMessage(payload));
+                    String payload = "GAME_CONFIG;" + messageCodec.toJacksonJson(newGameConfig);
+                    send(session, new TextMessage(payload));
                     notifyClients(session, gameConfigEvent.getGameID(), payload);
                 }
                 case "JOIN_LOBBY" -> {
-                    gameManager.addClientToLobby(clients.get(session), jsonObject.get("lobbyCode").getAsLong());
+                    long lobbyCode = jsonObject.get("lobbyCode").getAsLong();
+                    gameManager.addClientToLobby(clients.get(session), lobbyCode);
+                    clients.get(session).setLobbyId(lobbyCode);
                     broadcastMessage("NEW_LOBBY_JOIN");
                 }
                 case "LEAVE_LOBBY" -> {
                     gameManager.removeClientFromLobby(clients.get(session), jsonObject.get("lobbyCode").getAsLong());
+                    clients.get(session).setLobbyId(0);
                     broadcastMessage("NEW_LOBBY_LEAVE");
                     break;
                 }
                 case "GET_PLAYERS" -> {
                     JsonObject jo = new JsonObject();
                     long lobbyCode = Long.parseLong(String.valueOf(jsonObject.get("lobbyCode")));
-                    jo.add("players", gson.toJsonTree(gameManager.getPlayersInLobby(lobbyCode)));
+                    jo.add("players", messageCodec.getGson().toJsonTree(gameManager.getPlayersInLobby(lobbyCode)));
 
                     // JSON-Objekt als String ausgeben
-                    String js = gson.toJson(jo);
+                    String js = messageCodec.toJson(jo);
 
+                    TextMessage players = new TextMessage("PLAYERS;" + js);
                     for (WebSocketSession s: gameManager.getLobbyMap().get(lobbyCode).getAllSessions()) {
-                        s.sendMessage(new TextMessage("PLAYERS;" + js));
+                        send(s, players);
                     }
 
                 }
@@ -184,7 +359,7 @@ public class WebSocketHandler extends TextWebSocketHandler {
                     clients.get(session).setRole(gameObjectType);
                 }
                 case "LOBBY_CREATE_EVENT" -> {
-                    LobbyCreateEvent lobbyCreateEvent = gson.fromJson(jsonString, LobbyCreateEvent.class);
+                    LobbyCreateEvent lobbyCreateEvent = (LobbyCreateEvent) inbound.event();
                     Lobby newLobby = null;
 
                     if (lobbyCreateEvent.getId() == 0) {
@@ -199,23 +374,22 @@ public class WebSocketHandler extends TextWebSocketHandler {
                     // session.sendMessage(new TextMessage("LOBBY_ID;" + newLobby.getId()));
                 }
                 case "LOBBY_SHOW_EVENT" -> {
-                    ObjectMapper mapper = new ObjectMapper();
                     List<LobbyRecord> lobbyRecords = gameManager.getAllLobbies().stream().map(Lobby::toRecord).toList();
-                    String json = mapper.writeValueAsString(lobbyRecords);
+                    String json = messageCodec.toJacksonJson(lobbyRecords);
                     String returnString = "ALL_LOBBIES;" + json;
                     logger.info("Show all Lobbies: " + returnString);
-                    session.sendMessage(new TextMessage(returnString));
+                    send(session, new TextMessage(returnString));
                 }
 
                 case "MAP_DATA_REQUEST" -> {
                     long gameID = Long.parseLong(String.valueOf(jsonObject.get("gameID")));
-                    String mapData = gameManager.getGameById(gameID).getMap().original().toString();
+                    String mapData = gameManager.getGameById(gameID).getMap().getTemplate().toString();
 
-                    session.sendMessage(new TextMessage("MAP_DATA;" + mapData));
+                    send(session, new TextMessage("MAP_DATA;" + mapData));
                 }
 
                 case "START_GAME" -> {
-                    StartGameEvent startGameEvent = gson.fromJson(jsonString, StartGameEvent.class);
+                    StartGameEvent startGameEvent = (StartGameEvent) inbound.event();
                     notifyClients(session, startGameEvent.getGameID(), "FOREIGN_GAMESTART");
 
                     gameManager.createGame(startGameEvent.getGameID());
@@ -225,25 +399,27 @@ public class WebSocketHandler extends TextWebSocketHandler {
                 }
 
                 case "END_GAME" -> {
-                    GameEndEvent gameEndEvent = gson.fromJson(jsonObject, GameEndEvent.class);
+                    GameEndEvent gameEndEvent = (GameEndEvent) inbound.event();
                     Game currentGame = gameManager.getGameById(gameEndEvent.getGameID());
                     GameEndEvent result = (currentGame != null) ? currentGame.generateGameEndEvent() : gameManager.getLastGameEndEvent();
-                    SnackManMap map = (currentGame != null) ? currentGame.getMap().original() : gameManager.getLastMapOriginal();
+                    MapTemplate map = (currentGame != null) ? currentGame.getMap().getTemplate() : gameManager.getLastMapTemplate();
                     gameManager.removeGame(gameEndEvent.getGameID());
                     gameManager.removeLobby(gameEndEvent.getGameID());
+                    clients.get(session).setLobbyId(0);
+                    inboundDispatcher.release(gameEndEvent.getGameID());
 
                     sendMapData(map, session);
                     logger.info("GameEndEvent generated: " + result);
 
-                    TextMessage messageToSend = new TextMessage(result.getType().toString() + ";" + gson.toJson(result));
+                    TextMessage messageToSend = new TextMessage(result.getType().toString() + ";" + messageCodec.toJson(result));
                     logger.info("Sending GameEndEvent to all clients: " + messageToSend);
-                    session.sendMessage(new TextMessage(result.getType().toString() + ";" + gson.toJson(result)));
+                    send(session, messageToSend);
                 }
                 case "CHAT" -> {
-                    ChatEvent chatEvent = gson.fromJson(jsonObject, ChatEvent.class);
+                    ChatEvent chatEvent = (ChatEvent) inbound.event();
                     logger.info("ChatEvent received: " + chatEvent);
 
-                    notifyClients(session, chatEvent.getLobbyID(), "CHAT;" + gson.toJson(chatEvent));
+                    notifyClients(session, chatEvent.getLobbyID(), "CHAT;" + messageCodec.toJson(chatEvent));
                 }
 
                 default -> logger.warn("unknown message from FE: " + type);
@@ -263,19 +439,16 @@ public class WebSocketHandler extends TextWebSocketHandler {
     private void notifyClients(WebSocketSession source, long gameId, String payload) {
         Lobby lobby = gameManager.getLobbyById(gameId);
 
+        TextMessage message = new TextMessage(payload);
         for (Client c: lobby.getClientsAsList()) {
             if (c.getSession() != source) {
-                try {
-                    c.getSession().sendMessage(new TextMessage(payload));
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
+                send(c, message);
             }
         }
     }
 
-    private void sendMapData(SnackManMap map, WebSocketSession session) throws IOException {
-        session.sendMessage(new TextMessage("MAP_DATA;" + map.toString()));
+    private void sendMapData(MapTemplate map, WebSocketSession session) throws IOException {
+        send(session, new TextMessage("MAP_DATA;" + map.toString()));
     }
 
     /**
@@ -286,26 +459,118 @@ public class WebSocketHandler extends TextWebSocketHandler {
      * @param event said event
      */
     public void notifyFrontend(Client client, Event event) {
+        send(client, encode(event));
+    }
 
-        // JSON-Conversion
-        GsonBuilder builder = new GsonBuilder();
-        Gson gson = builder.create();
-        String json;
+    /**
+     * Sends the same event to several clients, it is converted to JSON only once
+     * and the resulting message is shared by all sessions
+     * 
+     * @param recipients clients to notify
+     * @param event      said event
+     */
+    public void broadcastToFrontend(List<Client> recipients, Event event) {
+        if (recipients.isEmpty()) {
+            return;
+        }
+        TextMessage message = encode(event);
+        GameStateEvent state = event instanceof GameStateEvent gameStateEvent ? gameStateEvent : null;
+        for (Client client : recipients) {
+            send(client, message, state);
+        }
+    }
 
-        // TODO This is a temporary solution, clarify to which sessions events are sent back
-        try {
-            json = gson.toJson(event);
-            // logger.info("Final JSON for event " + event.getType().toString() + ": " + json);
-            // Synchronize this block to avoid sending messages during invalid states (e.g.
-            // enables moving while jumping)
-            synchronized (client.getSession()) {
-                client.getSession().sendMessage(new TextMessage(event.getType().toString() + ";" + json));
-            }
+    /**
+     * Sends binary GAME_STATE frames with the difference between the snapshot and
+     * the last snapshot each client acknowledged, or the full snapshot if that one
+     * is no longer known.
+     * Clients that acknowledged the same snapshot share one encoded frame.
+     * 
+     * @param recipients clients using the binary format
+     * @param snapshot   said snapshot
+     * @param history    history of the game the snapshot belongs to
+     */
+    public void broadcastToFrontend(List<Client> recipients, GameStateSnapshot snapshot, SnapshotHistory history) {
+        Map<Long, byte[]> framesByBaseline = new HashMap<>();
+
+        for (Client client : recipients) {
+            GameStateSnapshot baseline = history.get(client.getAcknowledgedSequence());
+            byte[] frame = framesByBaseline.computeIfAbsent(baseline == null ? 0 : baseline.sequence(), sequence -> {
+                long allocationStart = outboundMetrics.startSerialization();
+                byte[] encoded = GameStateEncoder.encode(snapshot, baseline, history);
+                outboundMetrics.recordSerialization(encoded.length, allocationStart);
+                return encoded;
+            });
+            // every message needs its own buffer position, the bytes are shared
+            send(client, new BinaryMessage(frame), null, true);
+        }
+    }
 
-            } catch (IOException e) {
-                e.printStackTrace();
+    /**
+     * Converts an event into a "TYPE;{json}" message, using a buffer of the
+     * current thread that is reused for every event
+     */
+    TextMessage encode(Event event) {
+        long allocationStart = outboundMetrics.startSerialization();
+        StringBuilder buffer = ENCODE_BUFFER.get();
+        buffer.setLength(0);
+        buffer.append(event.getType().toString()).append(';');
+        messageCodec.getGson().toJson(event, buffer);
+        TextMessage message = new TextMessage(buffer);
+        outboundMetrics.recordSerialization(buffer.length(), allocationStart);
+        if (buffer.capacity() > MAX_BUFFER_CAPACITY) {
+            ENCODE_BUFFER.remove();
+        }
+        return message;
+    }
+
+    private void send(Client client, WebSocketMessage<?> message) {
+        send(client, message, null, false);
+    }
+
+    private void send(Client client, WebSocketMessage<?> message, GameStateEvent state) {
+        send(client, message, state, state != null);
+    }
+
+    /**
+     * Hands the message to the outbound queue of the client, GAME_STATE updates
+     * may be replaced there if the client is too slow.
+     * Clients without queue are sent to directly.
+     */
+    private void send(Client client, WebSocketMessage<?> message, GameStateEvent state, boolean isGameState) {
+        OutboundQueue queue = client.getOutboundQueue();
+        if (queue != null) {
+            if (isGameState) {
+                queue.enqueueGameState(message, state);
+            } else {
+                queue.enqueue(message);
             }
-        
+            return;
+        }
+
+        try {
+            sendDirectly(client.getSession(), message);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void send(WebSocketSession session, WebSocketMessage<?> message) throws IOException {
+        Client client = clients.get(session);
+        if (client != null && client.getOutboundQueue() != null) {
+            client.getOutboundQueue().enqueue(message);
+        } else {
+            sendDirectly(session, message);
+        }
+    }
+
+    private void sendDirectly(WebSocketSession session, WebSocketMessage<?> message) throws IOException {
+        // Synchronize this block to avoid sending messages during invalid states (e.g.
+        // enables moving while jumping)
+        synchronized (session) {
+            session.sendMessage(message);
+        }
+        outboundMetrics.recordSent();
     }
 
     /**
@@ -314,22 +579,45 @@ public class WebSocketHandler extends TextWebSocketHandler {
     @Override
     public void afterConnectionClosed(WebSocketSession session, @NotNull CloseStatus status) {
         logger.info("WebSocket Connection closed: " + session.getId());
-        clients.remove(session);
+        Client client = clients.remove(session);
+        if (client != null && client.getOutboundQueue() != null) {
+            client.getOutboundQueue().dispose();
+        }
+        inboundDispatcher.release(session.getId());
+    }
+
+    /**
+     * Stops the games and the threads handling messages, called when the
+     * application context is closed
+     */
+    public void shutdown() {
+        gameManager.shutdown();
+        inboundDispatcher.shutdown();
+        outboundExecutor.shutdown();
     }
 
     public Map<WebSocketSession, Client> getClients() {
         return clients;
     }
 
+    public InboundDispatcher getInboundDispatcher() {
+        return inboundDispatcher;
+    }
+
+    public OutboundMetrics getOutboundMetrics() {
+        return outboundMetrics;
+    }
+
     /**
      * Send a message to all connected clients
      * 
      * @param message The message to send
      */
     public void broadcastMessage(String message) {
+        TextMessage textMessage = new TextMessage(message);
         for (WebSocketSession session : clients.keySet()) {
             try {
-                session.sendMessage(new TextMessage(message));
+                send(session, textMessage);
             } catch (IOException e) {
                 logger.error("Error sending message " + session.getId(), e);
             }
@@ -57,6 +57,10 @@ public class GameConfig {
     private int ghostCollisionCalories;
     @Positive 
     private int chickenMaxCalories; 
+    // distance in tiles within which JSON clients receive changes, 0 for everything,
+    // binary clients always receive every movable (see InterestManager)
+    @PositiveOrZero
+    private float interestRadius;
 
     public GameConfig() {
         this.scoreToWin = 100000;
@@ -83,6 +87,7 @@ public class GameConfig {
         this.jumpCalories = 100;
         this.ghostCollisionCalories = 10;
         this.chickenMaxCalories = 10000; 
+        this.interestRadius = 0;
     }
 
     public float getSnackManHeight() {
@@ -113,6 +118,14 @@ public class GameConfig {
         this.chickenMaxCalories = chickenMaxCalories;
     }
 
+    public float getInterestRadius() {
+        return interestRadius;
+    }
+
+    public void setInterestRadius(float interestRadius) {
+        this.interestRadius = interestRadius;
+    }
+
     public void setWallHeight(int wallHeight) {
         this.wallHeight = wallHeight;
     }
@@ -1,11 +1,15 @@
 package de.hsrm.mi.swt.projekt.snackman.configuration;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
 import org.springframework.web.socket.server.support.HttpSessionHandshakeInterceptor;
 
+import de.hsrm.mi.swt.projekt.snackman.communication.websocket.InboundRateLimiter;
+import de.hsrm.mi.swt.projekt.snackman.communication.websocket.SlowClientPolicy;
 import de.hsrm.mi.swt.projekt.snackman.communication.websocket.WebSocketHandler;
 
 /**
@@ -16,9 +20,39 @@ import de.hsrm.mi.swt.projekt.snackman.communication.websocket.WebSocketHandler;
 @EnableWebSocket
 public class WebSocketConfig implements WebSocketConfigurer {
 
+    @Value("${snackman.websocket.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Value("${snackman.websocket.mailbox-capacity:1024}")
+    private int mailboxCapacity;
+
+    @Value("${snackman.websocket.outbound.capacity:256}")
+    private int outboundCapacity;
+
+    @Value("${snackman.websocket.outbound.slow-client-policy:COALESCE}")
+    private SlowClientPolicy slowClientPolicy;
+
+    @Value("${snackman.websocket.outbound.send-time-limit-ms:5000}")
+    private long sendTimeLimitMillis;
+
+    @Value("${snackman.maps.cache-capacity:64}")
+    private int mapCacheCapacity;
+
+    @Value("${snackman.websocket.rate-limits:" + InboundRateLimiter.DEFAULT_LIMITS + "}")
+    private String rateLimits;
+
+    /**
+     * The handler is a bean, so that its games and threads are stopped with the context
+     */
+    @Bean(destroyMethod = "shutdown")
+    public WebSocketHandler webSocketHandler() {
+        return new WebSocketHandler(virtualThreads, mailboxCapacity, outboundCapacity,
+                slowClientPolicy, sendTimeLimitMillis, mapCacheCapacity, rateLimits);
+    }
+
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
-        registry.addHandler(new WebSocketHandler(), "/ws-endpoint")
+        registry.addHandler(webSocketHandler(), "/ws-endpoint")
                 .setAllowedOrigins("*")
                 .addInterceptors(new HttpSessionHandshakeInterceptor());
     }
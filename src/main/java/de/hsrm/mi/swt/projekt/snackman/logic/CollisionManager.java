@@ -2,12 +2,12 @@ package de.hsrm.mi.swt.projekt.snackman.logic;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.joml.Vector3f;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.hsrm.mi.swt.projekt.snackman.configuration.GameConfig;
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Chicken;
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Food;
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.FoodType;
@@ -19,18 +19,68 @@ import de.hsrm.mi.swt.projekt.snackman.model.level.OccupationType;
 import de.hsrm.mi.swt.projekt.snackman.model.level.SnackManMap;
 import de.hsrm.mi.swt.projekt.snackman.model.level.Tile;
 
+/**
+ * The CollisionManager checks movements of a game against walls, food and the
+ * other movables.
+ * It is only used by the thread running the current step of its game (see
+ * Game.tick), which makes it the single writer of tiles and foods. A food is
+ * therefore removed from its tile and eaten exactly once without any locking.
+ * 
+ */
 public class CollisionManager {
 
     private final float TRANSLATION = 0.5f;
 
     private SnackManMap snackManMap;
     private ArrayList<MovableAndSubscribable> allMovables;
+    // movables by tile, so model collisions only look at the neighbourhood
+    private final SpatialGrid movableGrid;
+    private float maxMovableRadius;
 
     Logger logger = LoggerFactory.getLogger(GameManager.class);
 
     public CollisionManager(Game game, SnackManMap snackManMap, ArrayList<MovableAndSubscribable> allMovables) {
+        this(snackManMap, allMovables, maxRadius(game.getGameConfig()));
+    }
+
+    /**
+     * @param snackManMap      map of the game
+     * @param allMovables      all movables of the game
+     * @param maxMovableRadius largest radius any movable can have
+     */
+    public CollisionManager(SnackManMap snackManMap, ArrayList<MovableAndSubscribable> allMovables, float maxMovableRadius) {
         this.snackManMap = snackManMap;
         this.allMovables = allMovables;
+        this.movableGrid = new SpatialGrid(snackManMap.getW(), snackManMap.getH());
+        this.maxMovableRadius = maxMovableRadius;
+    }
+
+    private static float maxRadius(GameConfig gameConfig) {
+        return Math.max(gameConfig.getSnackManRadius(),
+                Math.max(gameConfig.getGhostRadius(), gameConfig.getChickenMaxRadius()));
+    }
+
+    /**
+     * Adds all current movables to the spatial grid, called once the game has
+     * created them
+     */
+    public void indexMovables() {
+        for (MovableAndSubscribable movable : allMovables) {
+            GameObject object = (GameObject) movable;
+            movableGrid.insert(object);
+            maxMovableRadius = Math.max(maxMovableRadius, object.getRadius());
+        }
+    }
+
+    /**
+     * Moves an object to its new tile in the spatial grid
+     * 
+     * @param object said object
+     * @param newX   new x coordinate
+     * @param newZ   new z coordinate
+     */
+    public void updateMovablePosition(GameObject object, float newX, float newZ) {
+        movableGrid.move(object, newX, newZ);
     }
 
     /**
@@ -43,7 +93,7 @@ public class CollisionManager {
      * @return List of The types of entity/object collided with, or empty list if no
      *         collision is detected.
      */
-    public synchronized List<CollisionType> checkCollision(float wishedX, float wishedZ, 
+    public List<CollisionType> checkCollision(float wishedX, float wishedZ, 
         GameObject currentObject) {
         
         ArrayList<CollisionType> collisions = new ArrayList<>();
@@ -62,9 +112,9 @@ public class CollisionManager {
                 break;
 
             case ITEM:
-                List<Food> nearbyFoods = new CopyOnWriteArrayList<>(snackManMap.getFoodsOfTile(wishedTile));
-                List <Food> foodsToRemove = new ArrayList<>(); 
                 if (currentObject instanceof SnackMan || currentObject instanceof Chicken) {
+                    // copied, as eating removes the foods from the tile
+                    List<Food> nearbyFoods = wishedTile.hasFood() ? new ArrayList<>(wishedTile.getFoodsOnTile()) : List.of();
                     for (Food food: nearbyFoods) {
                         try {
                             float foodPosX = food.getX();
@@ -75,14 +125,12 @@ public class CollisionManager {
                                 if (heightDistance <= currentObject.getHeight()/2 + food.getHeight()/2) {
                                     
                                     if (currentObject instanceof SnackMan) {
-                                        foodsToRemove.add(food); 
                                         wishedTile.removeFromOccupation(food); 
 
                                         ((SnackMan) currentObject).eat(food);
                                     }
                                     else if (currentObject instanceof Chicken) {
                                         if (food.getFoodType() != FoodType.EGG)  {
-                                            foodsToRemove.add(food);
                                             wishedTile.removeFromOccupation(food); 
                                             ((Chicken) currentObject).eat(food);
                                             break; 
@@ -102,9 +150,7 @@ public class CollisionManager {
                                     "no more food on tile: " + wishedTile.getX() + ", " + wishedTile.getZ());
                         }
                     }   
-                    nearbyFoods.removeAll(foodsToRemove); 
-                    if (nearbyFoods.size() == 0) wishedTile.setOccupationType(OccupationType.FREE);
-                    else wishedTile.setOccupationType(OccupationType.ITEM);
+                    wishedTile.setOccupationType(wishedTile.hasFood() ? OccupationType.ITEM : OccupationType.FREE);
                     collisions.add(CollisionType.ITEM);
 
                 }
@@ -115,26 +161,37 @@ public class CollisionManager {
 
     }
 
+    /**
+     * Checks for collisions with other movables. Only movables on tiles within
+     * reach of the wished position are looked at.
+     * 
+     * @param currentObject object that wants to move
+     * @param wishedX       wished x coordinate
+     * @param wishedZ       wished z coordinate
+     * @return types of the movables collided with
+     */
     public ArrayList<CollisionType> checkModelCollision(GameObject currentObject, float wishedX, float wishedZ) {
 
         ArrayList<CollisionType> collisions = new ArrayList<>();
+        List<GameObject> nearbyMovables = new ArrayList<>();
+        movableGrid.collectNear(wishedX, wishedZ, currentObject.getRadius() + maxMovableRadius, nearbyMovables);
 
-        for (MovableAndSubscribable collisionPartner : this.allMovables) {
+        for (GameObject collisionPartner : nearbyMovables) {
 
             if (collisionPartner != currentObject) {
-                float distance = calculateDistance(wishedX, ((GameObject) collisionPartner).getX(),
+                float distance = calculateDistance(wishedX, collisionPartner.getX(),
                         wishedZ,
-                        ((GameObject) collisionPartner).getZ());
+                        collisionPartner.getZ());
 
                 switch (currentObject) {
                     case SnackMan s1 -> {
 
                         float heightDistance = calculateHeightDifference(currentObject.getY(),
-                                ((GameObject) collisionPartner).getY());
+                                collisionPartner.getY());
 
-                        if ((distance <= ((GameObject) collisionPartner).getRadius() + currentObject.getRadius())
+                        if ((distance <= collisionPartner.getRadius() + currentObject.getRadius())
                                 && (heightDistance <= s1.getHeight() / 2
-                                        + ((GameObject) collisionPartner).getHeight() / 2)) {
+                                        + collisionPartner.getHeight() / 2)) {
 
                             switch (collisionPartner) {
 
@@ -157,7 +214,7 @@ public class CollisionManager {
                         }
                     }
                     case Ghost g1 -> {
-                        if (distance <= ((GameObject) collisionPartner).getRadius() + currentObject.getRadius()) {
+                        if (distance <= collisionPartner.getRadius() + currentObject.getRadius()) {
                             switch (collisionPartner) {
                                 case SnackMan s -> {
                                     // logger.info("Collision between Ghost #" + g1.getObjectId() + "and Snackman #" + s.getObjectId());
@@ -177,7 +234,7 @@ public class CollisionManager {
                         }
                     }
                     case Chicken c1 -> {
-                        if (distance <= ((GameObject) collisionPartner).getRadius() + currentObject.getRadius()) {
+                        if (distance <= collisionPartner.getRadius() + currentObject.getRadius()) {
                             switch (collisionPartner) {
                                 case SnackMan s -> {
                                     // logger.info("Collision between Chicken #" + c1.getObjectId() + "and Snackman #"
@@ -231,6 +288,10 @@ public class CollisionManager {
 
     }
 
+    public SpatialGrid getMovableGrid() {
+        return movableGrid;
+    }
+
     public boolean positionIsWithinMapBounds(float x, float z) {
         return snackManMap.positionIsWithinMapBounds(x, z);
     }
@@ -1,19 +1,23 @@
 package de.hsrm.mi.swt.projekt.snackman.logic;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Random;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.EntitySnapshot;
 import de.hsrm.mi.swt.projekt.snackman.communication.events.Event;
 import de.hsrm.mi.swt.projekt.snackman.communication.events.backendToFrontend.GameEndEvent;
 import de.hsrm.mi.swt.projekt.snackman.communication.events.backendToFrontend.GameStartEvent;
+import de.hsrm.mi.swt.projekt.snackman.communication.events.frontendToBackend.MoveEvent;
 import de.hsrm.mi.swt.projekt.snackman.communication.websocket.Client;
 import de.hsrm.mi.swt.projekt.snackman.configuration.GameConfig;
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Chicken;
@@ -24,6 +28,7 @@ import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.GameObjectType;
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Ghost;
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.IDGenerator;
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.MovableAndSubscribable;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.PlayerObject;
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.SnackMan;
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Subscribable;
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.PlayerRecord;
@@ -33,9 +38,10 @@ import de.hsrm.mi.swt.projekt.snackman.model.level.Tile;
 
 /**
  * The Game class contains all the information and logic necessary within an individual game.
- * The game starts as soon as the Game class is instantiated.
+ * The game starts as soon as its GameLoop is scheduled by the GameManager.
  * Every game has a map and its own game objects. 
  * It can receive and pass on events to subscribers to its event bus.
+ * The simulation is advanced in fixed steps by its GameLoop.
  * 
  */
 
@@ -46,19 +52,23 @@ public class Game {
     public long id;
     private final GameConfig gameConfig;
     private final ArrayList<MovableAndSubscribable> allMovables = new ArrayList<>();
-    private final Timer timer = new Timer();
+    // filled once when the game is initialized, read by the websocket threads afterwards
+    private final Map<Long, PlayerObject> players = new HashMap<>();
     private SnackManMap map;
     private GameEventBus eventBus;
     private final GameManager gameManager;
     private final CollisionManager collisionManager;
     private final GameState gameState;
+    private final GameLoop gameLoop;
     private int numSnackmen = 0;
-    private long startTime;
+    private long currentTick = 0;
+    private long endTick;
     private boolean hasSnackManWon = false; // else ghost won
     private List<Client> clients;
-    private TimerTask task;
     private Lobby lobby;
-    private boolean isOver = false;
+    private volatile boolean isOver = false;
+    // filled by the websocket threads, emptied by the thread running the next step
+    private final Queue<Event> receivedEvents = new ConcurrentLinkedQueue<>();
 
     // Constructor for Game with Lobby
     public Game(Lobby lobby, GameManager gameManager) {
@@ -71,9 +81,11 @@ public class Game {
         this.collisionManager = new CollisionManager(this, map, allMovables);
         clients = lobby.getClientsAsList();
         initialize(clients); 
-        startTimer();
+        collisionManager.indexMovables();
         gameState = new GameState(this);
         registerCalorieListeners();
+        gameLoop = new GameLoop(this);
+        startTimer();
         logger.info("created Game with id: " + id);
     }
 
@@ -176,6 +188,12 @@ public class Game {
             gameConfig, gameManager, collisionManager));
         }
 
+        for (MovableAndSubscribable m : allMovables) {
+            if (m instanceof PlayerObject player) {
+                players.put(player.getObjectId(), player);
+            }
+        }
+
         // Initialize food and chicken
         createFood();
         createChicken();
@@ -186,19 +204,19 @@ public class Game {
 
         // Notify Game Start if clients are provided
         if (clients != null) {
-            for(Client client : clients) {
-                this.gameManager.notifyChange(client, createGameStartEvent());
-            }
+            this.gameManager.broadcastChange(clients, createGameStartEvent());
         }
     }
 
     private GameStartEvent createGameStartEvent() {
         GameStartEvent res = new GameStartEvent();
         for (MovableAndSubscribable m: allMovables) {
-            switch (m.getClass().getSimpleName()) {
-                case "SnackMan" -> res.addSnackMan((SnackMan) m);
-                case "Ghost" -> res.addGhost((Ghost) m);
-                case "Chicken" -> res.addChicken((Chicken) m);
+            switch (m) {
+                case SnackMan snackMan -> res.addSnackMan(snackMan);
+                case Ghost ghost -> res.addGhost(ghost);
+                case Chicken chicken -> res.addChicken(chicken);
+                default -> {
+                }
             }
         }
         res.setMap(map.toRecord());
@@ -209,10 +227,10 @@ public class Game {
 
     private void createFood() {
         Random r = new Random();
-        Tile[][] allTiles = map.getAllTiles();
         for (int row = 0; row < map.getH(); row++) {
             for (int col = 0; col < map.getW(); col++) {
-                if (allTiles[row][col].getOccupationType() == OccupationType.ITEM) {
+                Tile tile = map.getTileAt(col, row);
+                if (tile.getOccupationType() == OccupationType.ITEM) {
                     FoodType foodType = FoodType.OKAY;
                     if (r.nextBoolean()) {
                         if (r.nextBoolean()) {
@@ -221,7 +239,7 @@ public class Game {
                             foodType = FoodType.UNHEALTHY;
                         }
                     }
-                    allTiles[row][col].addToOccupation(new Food(id, (float) col +0.5f, (float) row + 0.5f, foodType, gameConfig));
+                    tile.addToOccupation(new Food(id, (float) col +0.5f, (float) row + 0.5f, foodType, gameConfig));
                 }
             }
         }
@@ -236,7 +254,7 @@ public class Game {
         if (chickenCount >= 1) {
 
             Tile tileOne = map.getTileAt((map.getW() / 2) + 3, (map.getH() / 2) + 3);
-            if (tileOne.getOccupationType() == OccupationType.FREE && tileOne.getOccupations().isEmpty()) {
+            if (tileOne.getOccupationType() == OccupationType.FREE && !tileOne.hasOccupations()) {
                 Chicken chickenOne = new Chicken(IDGenerator.getInstance().getUniqueID(), id, (float) tileOne.getX()+0.5f,
                 0.0f, (float) tileOne.getZ()+0.5f, "DumbBehavior", gameManager, gameConfig, collisionManager);
                 tileOne.addToOccupation(chickenOne);
@@ -246,7 +264,7 @@ public class Game {
         if (chickenCount >= 2) {
 
             Tile tileTwo = map.getTileAt((map.getW() / 2) - 4, (map.getH() / 2) - 4);
-            if (tileTwo.getOccupationType() == OccupationType.FREE && tileTwo.getOccupations().isEmpty()) {
+            if (tileTwo.getOccupationType() == OccupationType.FREE && !tileTwo.hasOccupations()) {
                 Chicken chickenTwo = new Chicken(IDGenerator.getInstance().getUniqueID(), id, (float) tileTwo.getX()+0.5f,
                 0.0f, (float) tileTwo.getZ()+0.5f, "FearfulBehavior", gameManager, gameConfig, collisionManager);
                 tileTwo.addToOccupation(chickenTwo);
@@ -256,7 +274,7 @@ public class Game {
         if (chickenCount >= 3) {
 
             Tile tileThree = map.getTileAt((map.getW() / 2) + 3, (map.getH() / 2) - 4);
-            if (tileThree.getOccupationType() == OccupationType.FREE && tileThree.getOccupations().isEmpty()) {
+            if (tileThree.getOccupationType() == OccupationType.FREE && !tileThree.hasOccupations()) {
                 Chicken chickenThree = new Chicken(IDGenerator.getInstance().getUniqueID(), id, (float) tileThree.getX()+0.5f,
                 0.0f, (float) tileThree.getZ()+0.5f, "GreedyBehavior", gameManager, gameConfig, collisionManager);
                 tileThree.addToOccupation(chickenThree);
@@ -266,7 +284,7 @@ public class Game {
         if (chickenCount >= 4) {
 
             Tile tileFour = map.getTileAt((map.getW() / 2) - 4, (map.getH() / 2) + 3);   
-            if (tileFour.getOccupationType() == OccupationType.FREE && tileFour.getOccupations().isEmpty()) {
+            if (tileFour.getOccupationType() == OccupationType.FREE && !tileFour.hasOccupations()) {
                 Chicken chickenFour = new Chicken(IDGenerator.getInstance().getUniqueID(), id, (float) tileFour.getX()+0.5f,
                 0.0f, (float) tileFour.getZ()+0.5f, "FearfulBehavior", gameManager, gameConfig, collisionManager);
                 tileFour.addToOccupation(chickenFour);
@@ -289,41 +307,66 @@ public class Game {
     }
 
     /**
-     * Starts the timer as soon as the game starts
-     * If the timer is finished, the game stops
+     * Sets the tick at which the game stops
+     * The ticks are counted as soon as the game loop is scheduled
      * 
      */
     private void startTimer() {
-        task = new TimerTask() {
+        // Multiply by 1000 to get the needed milliseconds
+        endTick = GameLoop.millisToTicks(gameConfig.getGameTime() * 1000L);
+    }
 
-            @Override
-            public void run() {
-                stopGame();
-            }
-        };
+    /**
+     * Advances the game by one simulation step.
+     * First the events received since the last step are applied, then all movables
+     * are ticked in a fixed order, afterwards the end of the game is checked.
+     * The GameLoop runs at most one step of a game at a time, so the thread running
+     * the step is the only one changing the game. Collisions, eating and tile
+     * occupations therefore need no locks.
+     */
+    public void tick() {
+        if (isOver) {
+            return;
+        }
 
-        // Multiply by 1000 to get the needed milliseconds for timer.schedule
-        long delay = gameConfig.getGameTime() * 1000L;
+        currentTick++;
+        applyReceivedEvents();
+        applyBufferedInputs();
+        if (isOver) {
+            return;
+        }
+        for (MovableAndSubscribable m : allMovables) {
+            m.tick();
+            if (isOver) {
+                return;
+            }
+        }
 
-        timer.schedule(task, delay);
+        if (currentTick >= endTick) {
+            stopGame();
+        }
+    }
 
-        startTime = System.currentTimeMillis();
+    public long getCurrentTick() {
+        return currentTick;
     }
 
     public long getElapsedMillis() {
-        return System.currentTimeMillis() - startTime;
+        return currentTick * GameLoop.TICK_MILLIS;
     }
 
     public long getRemainingSeconds() {
         return gameConfig.getGameTime() - getElapsedMillis() / 1000;
     }
 
+    public boolean isOver() {
+        return isOver;
+    }
+
     private void stopGame() {
         logger.info("game ended");
         this.isOver = true;
-        task.cancel();
-        gameState.interrupt();
-        timer.cancel();
+        gameLoop.stop();
         killChickens();
         sendGameEndEvent();
         eventBus.clearSubscribers();
@@ -344,10 +387,7 @@ public class Game {
      */
     private void sendGameEndEvent() {
         GameEndEvent gameEndEvent = new GameEndEvent();
-
-        for(Client client : clients) {
-            this.gameManager.notifyChange(client, gameEndEvent);
-        }
+        this.gameManager.broadcastChange(clients, gameEndEvent);
     }
 
     /**
@@ -438,13 +478,15 @@ public class Game {
         logger.info(gameEndEvent.toString());
 
         gameManager.setLastGameEndEvent(gameEndEvent);
-        gameManager.setLastMapOriginal(map.original());
+        gameManager.setLastMapTemplate(map.getTemplate());
         return gameEndEvent;
     }
 
     /**
-     * Passes the event to the event bus which notifies all subscribers about the
-     * event
+     * Queues the event for the next step of the game. Never blocks, so the
+     * websocket threads do not wait for a running step.
+     * MOVE inputs go to the InputBuffer of their player instead, so a player moves
+     * at most once per step however many inputs arrive.
      * 
      * @param event the event to be published
      */
@@ -453,16 +495,97 @@ public class Game {
             return;
         }
 
-        logger.info("event received by game\n");
-        logger.info("Subscribers: " + eventBus.getSubscribers().toString());
+        if (event instanceof MoveEvent moveEvent) {
+            PlayerObject player = players.get(moveEvent.getObjectID());
+            if (player != null) {
+                player.getInputBuffer().add(moveEvent);
+                return;
+            }
+        }
 
-        eventBus.sendEventToSubscribers(event);
+        logger.debug("event received by game");
+        receivedEvents.add(event);
+    }
+
+    /**
+     * Passes all queued events to the event bus which notifies all subscribers
+     * about the event
+     */
+    private void applyReceivedEvents() {
+        Event event;
+        while (!isOver && (event = receivedEvents.poll()) != null) {
+            eventBus.sendEventToSubscribers(event);
+        }
+    }
+
+    /**
+     * Applies the combined MOVE input of every player that sent one since the last
+     * step. Only the moving player handles a MOVE, so the event bus is skipped.
+     * The processed sequences are echoed with the next GameStateEvent.
+     */
+    private void applyBufferedInputs() {
+        for (PlayerObject player : players.values()) {
+            if (isOver) {
+                return;
+            }
+            MoveEvent input = player.getInputBuffer().drain();
+            if (input != null) {
+                ((Subscribable) player).handle(input);
+                if (input.getSequence() != 0) {
+                    gameState.addProcessedInput(player.getObjectId(), input.getSequence());
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes the current state of all ghosts, SnackMen and chickens for binary
+     * GAME_STATE frames. Called by the GameLoop after a step, on the thread that
+     * owns the game.
+     * 
+     * @return said states sorted by object id
+     */
+    public List<EntitySnapshot> snapshotEntities() {
+        List<EntitySnapshot> entities = new ArrayList<>(allMovables.size());
+        for (MovableAndSubscribable m : allMovables) {
+            switch (m) {
+                case Ghost ghost -> entities.add(EntitySnapshot.of(ghost.toRecord()));
+                case SnackMan snackMan -> entities.add(EntitySnapshot.of(snackMan.toRecord()));
+                case Chicken chicken -> entities.add(EntitySnapshot.of(chicken.toRecord()));
+                default -> logger.warn("cannot snapshot movable: " + m);
+            }
+        }
+        entities.sort(Comparator.comparingLong(EntitySnapshot::objectId));
+        return entities;
     }
 
     public GameState getGameState() {
         return gameState;
     }
 
+    /**
+     * @return the SnackMen, ghosts and chickens of the game, only changed by the
+     *         thread running the game
+     */
+    public List<MovableAndSubscribable> getMovables() {
+        return Collections.unmodifiableList(allMovables);
+    }
+
+    /**
+     * @return the players by object id, which is the id of their client
+     */
+    public Map<Long, PlayerObject> getPlayers() {
+        return Collections.unmodifiableMap(players);
+    }
+
+    public SpatialGrid getMovableGrid() {
+        return collisionManager.getMovableGrid();
+    }
+
+    public GameLoop getGameLoop() {
+        return gameLoop;
+    }
+
     public GameManager getGameManager() {
         return gameManager;
     }
@@ -471,68 +594,20 @@ public class Game {
         return id;
     }
 
-    //adjust the cases,in case of changing the Occupation in the Tile of the map to records!
-    public List<List<String>> generateSurroundings(float x, float z) {
-        Tile positionTile = this.map.getTileAt((int) x, (int) z);
-        Tile[][] surroundings = this.map.getSurroundingTiles(positionTile);
-        List<List<String>> pythonCompatibleSurroundings = new ArrayList<>();
-
-        for (int row = 1; row >= -1; row--) {
-            List<String> rowList = new ArrayList<>();
-            for (int col = -1; col <= 1; col++) {
-                Tile tile = surroundings[row + 1][col + 1];
-                if (tile == null) {
-                    rowList.add("OUT");
-                } else {
-                    switch (tile.getOccupationType()) {
-                        case WALL -> rowList.add("WALL");
-                        case ITEM, FREE -> {
-                            if (!tile.getOccupations().isEmpty()) {
-                                String highestPriority = "UNKNOWN OCCUPATION"; // default priority
-
-                                for (GameObject go : tile.getOccupations()) {
-                                    String className = go.getClass().getSimpleName();
-
-                                    // priority from top to bottom (Ghost > SnackMan > Chicken > Food)
-                                    switch (className) {
-                                        case "Ghost" -> highestPriority = "GHOST";
-                                        case "SnackMan" -> {
-                                            if (!highestPriority.equals("GHOST")) {
-                                                highestPriority = "SNACKMAN";
-                                            }
-                                        }
-                                        case "Chicken" -> {
-                                            if (!highestPriority.equals("GHOST") && !highestPriority.equals("SNACKMAN")) {
-                                                highestPriority = "CHICKEN";
-                                            }
-                                        }
-                                        case "Food" -> {
-                                            if (!highestPriority.equals("GHOST") && !highestPriority.equals("SNACKMAN") && !highestPriority.equals("CHICKEN")) {
-                                                highestPriority = "FOOD";
-                                            }
-                                        }
-                                        default -> {
-                                            if (highestPriority.equals("UNKNOWN OCCUPATION")) {
-                                                highestPriority = "UNKNOWN OCCUPATION";
-                                            }
-                                        }
-                                    }
-                                }
-                                rowList.add(highestPriority);
-                            } else {
-                                rowList.add("FREE");
-                            }
-                        }
-                    }
-                }
-            }
-            pythonCompatibleSurroundings.add(rowList);
-        }
-        return pythonCompatibleSurroundings;
+    /**
+     * Encodes the 3x3 tiles around the given position for the chicken behaviors
+     *
+     * @param x x-coordinate of the position
+     * @param z z-coordinate of the position
+     * @return the encoded surroundings, see Surroundings
+     */
+    public int generateSurroundings(float x, float z) {
+        return map.encodeSurroundings(x, z);
     }
 
     public void updateTileOccupation(GameObject gameObject, float oldX, float oldZ, float newX, float newZ) {
         if ((int) oldX != (int) newX || (int) oldZ != (int) newZ ) { 
+            collisionManager.updateMovablePosition(gameObject, newX, newZ);
             Tile oldTile = map.getTileAt((int) oldX, (int) oldZ); 
             Tile newTile = map.getTileAt((int) newX, (int) newZ); 
             newTile.addToOccupation(gameObject);
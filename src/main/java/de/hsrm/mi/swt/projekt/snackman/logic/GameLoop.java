@@ -0,0 +1,150 @@
+package de.hsrm.mi.swt.projekt.snackman.logic;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The GameLoop advances a single game in fixed simulation steps.
+ * Every step moves all entities, runs jump/fall physics, counts down stun and
+ * invincibility timers, lets the chickens think and checks the end of the game.
+ * After the steps of one run the collected changes are sent to the clients.
+ *
+ * The loop does not own any threads, it is run by the GameScheduler of the
+ * GameManager whenever a step is due.
+ *
+ */
+public class GameLoop implements Runnable {
+
+    /** Length of one simulation step */
+    public static final long TICK_MILLIS = 10;
+    public static final int TICKS_PER_SECOND = (int) (1000 / TICK_MILLIS);
+
+    // If a game falls behind, at most this many steps are caught up in one run
+    private static final int MAX_CATCH_UP_TICKS = 5;
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+
+    private final Logger logger = LoggerFactory.getLogger(GameLoop.class);
+
+    private final Game game;
+    private final AtomicBoolean inFlight = new AtomicBoolean(false);
+    private volatile boolean stopped = false;
+    private volatile long nextTickNanos;
+    // written by the driver thread and by the workers, read by anyone
+    private final AtomicLong overruns = new AtomicLong();
+    private final AtomicLong skippedTicks = new AtomicLong();
+
+    public GameLoop(Game game) {
+        this.game = game;
+        this.nextTickNanos = System.nanoTime();
+    }
+
+    /**
+     * Converts a duration in milliseconds into the number of simulation steps,
+     * rounding up so that short durations last at least one step
+     *
+     * @param millis said duration
+     * @return number of ticks
+     */
+    public static long millisToTicks(long millis) {
+        return (millis + TICK_MILLIS - 1) / TICK_MILLIS;
+    }
+
+    /**
+     * Stops the loop, the current run is allowed to finish.
+     * The scheduler drops stopped loops with its next pulse.
+     */
+    public void stop() {
+        this.stopped = true;
+    }
+
+    public boolean isStopped() {
+        return stopped || game.isOver();
+    }
+
+    /**
+     * @param now current System.nanoTime()
+     * @return true if at least one step is due
+     */
+    boolean isDue(long now) {
+        return nextTickNanos <= now;
+    }
+
+    /**
+     * Claims the loop for one run, so that a game is never advanced by two
+     * workers at once
+     *
+     * @return false if the previous run has not finished yet
+     */
+    boolean tryClaim() {
+        return inFlight.compareAndSet(false, true);
+    }
+
+    /**
+     * Gives up the claim of a run that did not take place, e.g. because the
+     * scheduler could not hand the loop to a worker
+     */
+    void release() {
+        inFlight.set(false);
+    }
+
+    /**
+     * Called by the scheduler if a step is due while the previous run is still
+     * in progress, the game then has to catch up with its next run
+     */
+    void recordOverrun() {
+        long overrun = overruns.incrementAndGet();
+        if (overrun % TICKS_PER_SECOND == 1) {
+            logger.warn("Game " + game.getId() + " overran its tick " + overrun + " times");
+        }
+    }
+
+    /**
+     * Runs all steps that are due and flushes the game state afterwards.
+     * Errors are caught and logged here, so that a single failing game does not
+     * take down the worker.
+     */
+    @Override
+    public void run() {
+        try {
+            long now = System.nanoTime();
+            int steps = 0;
+            while (nextTickNanos <= now && steps < MAX_CATCH_UP_TICKS && !isStopped()) {
+                game.tick();
+                nextTickNanos += TICK_NANOS;
+                steps++;
+            }
+            // Skip steps that could not be caught up instead of running in bursts,
+            // a game that just ended is not behind
+            if (nextTickNanos <= now && !isStopped()) {
+                long skipped = (now - nextTickNanos) / TICK_NANOS + 1;
+                skippedTicks.addAndGet(skipped);
+                logger.warn("Game " + game.getId() + " is behind, skipping " + skipped + " ticks");
+                nextTickNanos = now + TICK_NANOS;
+            }
+            if (steps > 0) {
+                game.getGameState().flush();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error in game loop of game " + game.getId(), e);
+        } finally {
+            release();
+        }
+    }
+
+    public long getGameId() {
+        return game.getId();
+    }
+
+    public long getOverruns() {
+        return overruns.get();
+    }
+
+    public long getSkippedTicks() {
+        return skippedTicks.get();
+    }
+
+}
@@ -1,15 +1,18 @@
 package de.hsrm.mi.swt.projekt.snackman.logic;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import de.hsrm.mi.swt.projekt.snackman.communication.events.backendToFrontend.GameEndEvent;
-import de.hsrm.mi.swt.projekt.snackman.model.level.SnackManMap;
+import de.hsrm.mi.swt.projekt.snackman.model.level.MapPool;
+import de.hsrm.mi.swt.projekt.snackman.model.level.MapTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.GameStateSnapshot;
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.SnapshotHistory;
 import de.hsrm.mi.swt.projekt.snackman.communication.events.Event;
 import de.hsrm.mi.swt.projekt.snackman.communication.websocket.Client;
 import de.hsrm.mi.swt.projekt.snackman.communication.websocket.WebSocketHandler;
@@ -18,18 +21,21 @@ import de.hsrm.mi.swt.projekt.snackman.configuration.GameConfig;
 /**
  * The GameManager manages all the current games.
  * It passes on incoming events to the game with the respective id.
+ * All games are advanced by one shared GameScheduler.
  * 
  */
 public class GameManager {
 
     Logger logger = LoggerFactory.getLogger(GameManager.class);
     
-    private final Map<Long, Game> allGames = new HashMap<>();
-    private final Map<Long, Lobby> allLobbies = new HashMap<>();
+    // accessed by the game workers as well as the websocket threads
+    private final Map<Long, Game> allGames = new ConcurrentHashMap<>();
+    private final Map<Long, Lobby> allLobbies = new ConcurrentHashMap<>();
+    private final GameScheduler gameScheduler = new GameScheduler();
     private final WebSocketHandler webSocketHandler;
     private final GameConfig gameConfig = new GameConfig();
     private GameEndEvent lastGameEndEvent;
-    private SnackManMap lastMapOriginal;
+    private MapTemplate lastMapTemplate;
 
     public GameManager(WebSocketHandler webSocketHandler) {
         this.webSocketHandler = webSocketHandler;
@@ -45,7 +51,7 @@ public class GameManager {
      * @param event event to be handled
      */
     public void handleEvent(Event event) {
-        logger.info("handleEvent\n");
+        logger.debug("handleEvent");
 
         if (allGames.containsKey(event.getGameID())) {
             allGames.get(event.getGameID()).receiveEvent(event);
@@ -63,6 +69,28 @@ public class GameManager {
         webSocketHandler.notifyFrontend(client, event);
     }
 
+    /**
+     * Notifies several clients of the same change, the event is serialized once
+     * 
+     * @param clients clients to notify
+     * @param event   event to be converted to json and sent to FE
+     */
+    public void broadcastChange(List<Client> clients, Event event) {
+        webSocketHandler.broadcastToFrontend(clients, event);
+    }
+
+    /**
+     * Sends the snapshot as binary GAME_STATE frames to clients that negotiated
+     * the binary format
+     * 
+     * @param clients  said clients
+     * @param snapshot snapshot to be sent as delta to each client's baseline
+     * @param history  history of the game the snapshot belongs to
+     */
+    public void broadcastChange(List<Client> clients, GameStateSnapshot snapshot, SnapshotHistory history) {
+        webSocketHandler.broadcastToFrontend(clients, snapshot, history);
+    }
+
     public String[][] getPlayersInLobby(long lobbyCode) {
         Lobby lobby = this.allLobbies.get(lobbyCode);
         return lobby.getClientsAsList().stream()
@@ -83,6 +111,7 @@ public class GameManager {
         logger.info("Lobby started game: " + lobby.toString());
         Game game = lobby.startGame(this);
         allGames.put(game.getId(), game);
+        gameScheduler.schedule(game.getGameLoop());
     }
 
     public void removeGame(long id) {
@@ -91,6 +120,8 @@ public class GameManager {
 
     public void setGameConfig(GameConfig gameConfig, long lobbyID) {
         allLobbies.get(lobbyID).setGameConfig(gameConfig);
+        // the lobby most likely starts a game of this size soon
+        MapPool.getInstance().prepare(gameConfig.getMapWidth(), gameConfig.getMapHeight());
     }
 
     public GameConfig getGameConfig(long lobbyID) {
@@ -103,6 +134,7 @@ public class GameManager {
     public Lobby createLobby(){
         Lobby lobby = new Lobby();
         allLobbies.put(lobby.getId(), lobby);
+        MapPool.getInstance().prepare(lobby.getGameConfig().getMapWidth(), lobby.getGameConfig().getMapHeight());
         //createGame(gameConfig, lobby.getId());
         return lobby;
     }
@@ -134,6 +166,17 @@ public class GameManager {
         return allLobbies.get(id);
     }
 
+    /**
+     * Stops the scheduler, no game is advanced afterwards
+     */
+    public void shutdown() {
+        gameScheduler.shutdown();
+    }
+
+    public GameScheduler getGameScheduler() {
+        return gameScheduler;
+    }
+
     public GameEndEvent getLastGameEndEvent() {
         return lastGameEndEvent;
     }
@@ -142,11 +185,11 @@ public class GameManager {
         this.lastGameEndEvent = lastGameEndEvent;
     }
 
-    public SnackManMap getLastMapOriginal() {
-        return lastMapOriginal;
+    public MapTemplate getLastMapTemplate() {
+        return lastMapTemplate;
     }
 
-    public void setLastMapOriginal(SnackManMap lastMapOriginal) {
-        this.lastMapOriginal = lastMapOriginal;
+    public void setLastMapTemplate(MapTemplate lastMapTemplate) {
+        this.lastMapTemplate = lastMapTemplate;
     }
 }
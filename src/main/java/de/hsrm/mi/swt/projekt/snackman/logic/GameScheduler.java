@@ -0,0 +1,176 @@
+package de.hsrm.mi.swt.projekt.snackman.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The GameScheduler drives the GameLoops of all games of a GameManager.
+ * A single driver thread pulses every tick and hands every game whose next step
+ * is due to a work-stealing pool sized to the number of cores. The loops run
+ * their ticks, the end-of-game check and the game state flush there.
+ *
+ * Every game has at most one run in flight. If a run is still in progress when
+ * the next step is due, the game is not queued again but counted as overrun and
+ * catches up with its next run, so a slow game cannot flood the pool.
+ * The order in which games are dispatched is rotated every pulse, so no game is
+ * always served first.
+ *
+ */
+public class GameScheduler {
+
+    private final Logger logger = LoggerFactory.getLogger(GameScheduler.class);
+
+    private final ScheduledExecutorService driver;
+    private final ForkJoinPool workers;
+
+    // new loops are handed over to the driver thread, only the driver touches activeLoops
+    private final Queue<GameLoop> pendingLoops = new ConcurrentLinkedQueue<>();
+    private final List<GameLoop> activeLoops = new ArrayList<>();
+    private volatile int activeGames;
+    private long pulses;
+
+    private final AtomicLong dispatchedRuns = new AtomicLong();
+    private final AtomicLong overruns = new AtomicLong();
+    private volatile long maxPulseLagNanos;
+    private long expectedPulseNanos;
+
+    public GameScheduler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism number of worker threads that advance games
+     */
+    public GameScheduler(int parallelism) {
+        this(parallelism, true);
+    }
+
+    /**
+     * @param parallelism number of worker threads that advance games
+     * @param driven      false to leave the pulses to the caller, used by tests
+     */
+    GameScheduler(int parallelism, boolean driven) {
+        this.workers = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+                (thread, e) -> logger.error("Uncaught error in game worker " + thread.getName(), e), true);
+        this.driver = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.expectedPulseNanos = System.nanoTime();
+        if (driven) {
+            this.driver.scheduleAtFixedRate(this::pulse, GameLoop.TICK_MILLIS, GameLoop.TICK_MILLIS,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Starts driving the given loop with the next pulse
+     *
+     * @param loop loop of a newly created game
+     */
+    public void schedule(GameLoop loop) {
+        pendingLoops.add(loop);
+    }
+
+    /**
+     * Dispatches all due games to the worker pool.
+     * Stopped loops are removed, games whose last run is still in flight are skipped.
+     * Called by the driver thread every tick.
+     */
+    void pulse() {
+        try {
+            long now = System.nanoTime();
+            expectedPulseNanos += TimeUnit.MILLISECONDS.toNanos(GameLoop.TICK_MILLIS);
+            long lag = now - expectedPulseNanos;
+            if (lag > maxPulseLagNanos) {
+                maxPulseLagNanos = lag;
+            }
+
+            GameLoop pending;
+            while ((pending = pendingLoops.poll()) != null) {
+                activeLoops.add(pending);
+            }
+
+            int size = activeLoops.size();
+            if (size == 0) {
+                activeGames = 0;
+                return;
+            }
+
+            int start = (int) (pulses++ % size);
+            boolean removeStopped = false;
+            for (int i = 0; i < size; i++) {
+                GameLoop loop = activeLoops.get((start + i) % size);
+
+                if (loop.isStopped()) {
+                    removeStopped = true;
+                } else if (loop.isDue(now)) {
+                    if (loop.tryClaim()) {
+                        try {
+                            workers.execute(loop);
+                            dispatchedRuns.incrementAndGet();
+                        } catch (RejectedExecutionException e) {
+                            // the run never starts, so it must not keep the game claimed
+                            loop.release();
+                            logger.warn("Game " + loop.getGameId() + " could not be dispatched", e);
+                        }
+                    } else {
+                        overruns.incrementAndGet();
+                        loop.recordOverrun();
+                    }
+                }
+            }
+
+            if (removeStopped) {
+                activeLoops.removeIf(GameLoop::isStopped);
+            }
+            activeGames = activeLoops.size();
+        } catch (RuntimeException e) {
+            logger.error("Error while dispatching games", e);
+        }
+    }
+
+    /**
+     * Stops the driver and the workers, running ticks are allowed to finish
+     */
+    public void shutdown() {
+        driver.shutdown();
+        workers.shutdown();
+    }
+
+    public int getActiveGames() {
+        return activeGames;
+    }
+
+    public long getDispatchedRuns() {
+        return dispatchedRuns.get();
+    }
+
+    public long getOverruns() {
+        return overruns.get();
+    }
+
+    /**
+     * @return the largest delay of a driver pulse behind its schedule, in milliseconds
+     */
+    public double getMaxPulseLagMillis() {
+        return maxPulseLagNanos / 1_000_000.0;
+    }
+
+    public int getQueuedRuns() {
+        return workers.getQueuedSubmissionCount();
+    }
+
+}
@@ -1,9 +1,17 @@
 package de.hsrm.mi.swt.projekt.snackman.logic;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.EntitySnapshot;
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.FoodChange;
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.GameStateSnapshot;
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.SnapshotHistory;
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.WireFormat;
 import de.hsrm.mi.swt.projekt.snackman.communication.events.backendToFrontend.GameStateEvent;
 import de.hsrm.mi.swt.projekt.snackman.communication.websocket.Client;
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Chicken;
@@ -26,60 +34,14 @@ public class GameState {
     private Set<ChickenRecord> changedChicken;
     private Set<FoodRecord> eatenFoods;
     private Set<FoodRecord> laidEggs;
+    private final Map<Long, Long> processedInputs = new HashMap<>();
     private long lastSentTime;
     private boolean firstSend = true;
-    private final GameStateThread thread = new GameStateThread();
+    private final SnapshotHistory snapshotHistory = new SnapshotHistory();
+    // null if every client gets every change
+    private final InterestManager interestManager;
     private final Logger logger = LoggerFactory.getLogger(GameState.class);
 
-    /**
-     * synchronized (changes to game state variables need to be declared to all
-     * threads) thread that sends out gamestateevent
-     * and then clears all lists every 1/30 seconds while uninterrupted.
-     */
-    public class GameStateThread extends Thread {
-
-        @Override
-        public void run() {
-            synchronized (this) {
-                while (!this.isInterrupted()) {
-                    try {
-                        Thread.sleep(10);
-                        if (!changedGhosts.isEmpty() || !changedSnackMen.isEmpty() || !changedChicken.isEmpty()
-                                || !eatenFoods.isEmpty() || !laidEggs.isEmpty() || lastSentTime != game.getRemainingSeconds() || firstSend) {
-
-                            // clone lists to prevent concurrent modification
-                            GameStateEvent gameStateEvent = new GameStateEvent(
-                                    new ArrayList<>(changedGhosts),
-                                    new ArrayList<>(changedSnackMen),
-                                    new ArrayList<>(changedChicken),
-                                    new ArrayList<>(eatenFoods),
-                                    new ArrayList<>(laidEggs),
-                                    game.getRemainingSeconds()
-                            );
-                            for(Client client : game.getClients()) {
-                                game.getGameManager().notifyChange(client, gameStateEvent);
-                            }
-                            if(firstSend) {
-                                firstSend = false;
-                            }
-
-                            changedGhosts.clear();
-                            changedSnackMen.clear();
-                            changedChicken.clear();
-                            eatenFoods.clear();
-                            laidEggs.clear();
-                            lastSentTime = game.getRemainingSeconds();
-                        }
-                    } catch (Exception e) {
-                        this.interrupt();
-                    }
-                }
-            }
-
-        }
-
-    }
-
     /**
      * Documents all updates that have been made to Game Objects such as Ghosts,
      * Snackman, Chicken, as well as the food that was consumed.
@@ -91,7 +53,91 @@ public class GameState {
         this.changedChicken = new HashSet<>();
         this.eatenFoods = new HashSet<>();
         this.laidEggs = new HashSet<>();
-        this.thread.start();
+        float interestRadius = game.getGameConfig().getInterestRadius();
+        this.interestManager = interestRadius > 0
+                ? new InterestManager(interestRadius, game.getMovableGrid(), game.getPlayers())
+                : null;
+        // sequences start again with every game, so old acknowledgements are worthless
+        for (Client client : game.getClients()) {
+            client.resetAcknowledgedSequence();
+        }
+    }
+
+    /**
+     * Sends out a GameStateEvent with all changes since the last flush to every
+     * client, serialized once for all of them, and clears the collected changes afterwards.
+     * Clients using the binary format get a snapshot of all moving objects instead,
+     * encoded as delta to the last snapshot they acknowledged.
+     * With an interest radius in the GameConfig, JSON clients only get the changes
+     * around their avatar instead (see InterestManager), serialized per client.
+     * Binary clients are not filtered and get every movable regardless of it.
+     * Called by the GameLoop once per run, nothing is sent if nothing changed.
+     */
+    public void flush() {
+        GameStateEvent gameStateEvent;
+        GameStateSnapshot snapshot = null;
+        List<Client> jsonClients = new ArrayList<>();
+        List<Client> binaryClients = new ArrayList<>();
+        for (Client client : game.getClients()) {
+            if (client.getWireFormat() == WireFormat.BINARY) {
+                binaryClients.add(client);
+            } else {
+                jsonClients.add(client);
+            }
+        }
+        // called on the thread that owns the game, so the movables do not change meanwhile
+        List<EntitySnapshot> entities = binaryClients.isEmpty() ? null : game.snapshotEntities();
+
+        synchronized (this) {
+            long remainingSeconds = game.getRemainingSeconds();
+            if (changedGhosts.isEmpty() && changedSnackMen.isEmpty() && changedChicken.isEmpty()
+                    && eatenFoods.isEmpty() && laidEggs.isEmpty() && processedInputs.isEmpty()
+                    && lastSentTime == remainingSeconds && !firstSend) {
+                return;
+            }
+
+            // copy sets so that sending happens outside of the lock
+            gameStateEvent = new GameStateEvent(
+                    new ArrayList<>(changedGhosts),
+                    new ArrayList<>(changedSnackMen),
+                    new ArrayList<>(changedChicken),
+                    new ArrayList<>(eatenFoods),
+                    new ArrayList<>(laidEggs),
+                    remainingSeconds
+            );
+            if (!processedInputs.isEmpty()) {
+                gameStateEvent.setProcessedInputs(new HashMap<>(processedInputs));
+            }
+            firstSend = false;
+
+            changedGhosts.clear();
+            changedSnackMen.clear();
+            changedChicken.clear();
+            eatenFoods.clear();
+            laidEggs.clear();
+            processedInputs.clear();
+            lastSentTime = remainingSeconds;
+
+            if (entities != null) {
+                snapshot = new GameStateSnapshot(game.getCurrentTick(), remainingSeconds, entities,
+                        snapshotHistory.getFoodChangeCount());
+                snapshotHistory.add(snapshot);
+            }
+        }
+
+        if (interestManager == null) {
+            game.getGameManager().broadcastChange(jsonClients, gameStateEvent);
+        } else {
+            for (Client client : jsonClients) {
+                GameStateEvent relevant = interestManager.filter(client.getClientId(), gameStateEvent);
+                if (relevant != null) {
+                    game.getGameManager().broadcastChange(List.of(client), relevant);
+                }
+            }
+        }
+        if (snapshot != null) {
+            game.getGameManager().broadcastChange(binaryClients, snapshot, snapshotHistory);
+        }
     }
 
     public synchronized void addChangedGhost(Ghost ghost) {
@@ -107,12 +153,28 @@ public class GameState {
     }
 
     public synchronized void addEatenFood(Food food) {
-        eatenFoods.add(food.toRecord());
+        FoodRecord record = food.toRecord();
+        eatenFoods.add(record);
+        snapshotHistory.addFoodChange(FoodChange.eaten(record));
     }
 
     public synchronized void addLaidEgg(Food food) {
-        laidEggs.removeIf(record -> record.objectId() == food.getObjectId());
-        laidEggs.add(food.toRecord());
+        FoodRecord record = food.toRecord();
+        laidEggs.removeIf(laid -> laid.objectId() == food.getObjectId());
+        laidEggs.add(record);
+        snapshotHistory.addFoodChange(FoodChange.laid(record));
+    }
+
+    /**
+     * Remembers the sequence of the latest MOVE input of a player that has been
+     * applied, so its client can reconcile its prediction
+     */
+    public synchronized void addProcessedInput(long objectId, long sequence) {
+        processedInputs.put(objectId, sequence);
+    }
+
+    public SnapshotHistory getSnapshotHistory() {
+        return snapshotHistory;
     }
 
     public Set<GhostRecord> getChangedGhosts() {
@@ -155,8 +217,4 @@ public class GameState {
         this.laidEggs = laidEggs;
     }
 
-    public void interrupt() {
-        this.thread.interrupt();
-    }
-
 }
@@ -0,0 +1,240 @@
+package de.hsrm.mi.swt.projekt.snackman.logic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.hsrm.mi.swt.projekt.snackman.communication.events.backendToFrontend.GameStateEvent;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Chicken;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.GameObject;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Ghost;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.SnackMan;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.ChickenRecord;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.FoodRecord;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.GhostRecord;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.SnackManRecord;
+
+/**
+ * Reduces a GameStateEvent to the changes a client is interested in: those of
+ * objects within the interest radius around its avatar. The own avatar, the
+ * remaining time and the own processed input are always included.
+ * The moving objects in range are looked up in the SpatialGrid of the game, so
+ * the work per client depends on the size of the area, not of the map.
+ *
+ * Objects that come into range are included with their current state even if
+ * they did not change, objects that left the range are listed once in leftRange,
+ * so the client hides them instead of showing them at an outdated position.
+ * As the GameStartEvent shows every object, those out of range at the start are
+ * listed in the first leftRange of a client.
+ * Eaten food and laid eggs out of range are kept back until the avatar comes
+ * near them. Clients without an avatar get every change.
+ * Only JSON clients are filtered, the interest radius has no effect on binary
+ * clients: their snapshots are delta encoded against a history shared by all of
+ * them, so they always contain every movable.
+ * Only used by the thread running the game.
+ */
+public class InterestManager {
+
+    private final float radius;
+    private final SpatialGrid movableGrid;
+    private final Map<Long, ? extends GameObject> avatars;
+    private final Map<Long, ClientInterest> interests = new HashMap<>();
+    private final List<GameObject> near = new ArrayList<>();
+
+    /**
+     * What a client has been sent so far
+     */
+    private static final class ClientInterest {
+
+        private Set<Long> visible = new HashSet<>();
+        // kept back food changes by cell, a cell is as large as the radius
+        private final Map<Long, List<FoodRecord>> deferredEatenFoods = new HashMap<>();
+        private final Map<Long, List<FoodRecord>> deferredLaidEggs = new HashMap<>();
+        private long remainingSeconds = -1;
+
+    }
+
+    /**
+     * @param radius      distance around the avatar in tiles, greater than 0
+     * @param movableGrid grid of the moving objects of the game
+     * @param avatars     avatar of every client by its id
+     */
+    public InterestManager(float radius, SpatialGrid movableGrid, Map<Long, ? extends GameObject> avatars) {
+        this.radius = radius;
+        this.movableGrid = movableGrid;
+        this.avatars = avatars;
+    }
+
+    /**
+     * @param clientId id of the client, which is also the id of its avatar
+     * @param event    all changes since the last flush
+     * @return the changes relevant for the client, null if there are none
+     */
+    public GameStateEvent filter(long clientId, GameStateEvent event) {
+        GameObject avatar = avatars.get(clientId);
+        if (avatar == null) {
+            return event;
+        }
+        ClientInterest interest = interests.get(clientId);
+        if (interest == null) {
+            interest = new ClientInterest();
+            near.clear();
+            movableGrid.collectAll(near);
+            for (GameObject object : near) {
+                interest.visible.add(object.getObjectId());
+            }
+            // the own avatar is sent with the first update nevertheless
+            interest.visible.remove(clientId);
+            interests.put(clientId, interest);
+        }
+        float x = avatar.getX();
+        float z = avatar.getZ();
+
+        Map<Long, GameObject> inRange = new HashMap<>();
+        near.clear();
+        movableGrid.collectNear(x, z, radius, near);
+        for (GameObject object : near) {
+            if (object == avatar || isInRange(x, z, object.getX(), object.getZ())) {
+                inRange.put(object.getObjectId(), object);
+            }
+        }
+        inRange.put(clientId, avatar);
+
+        // changes of objects in range
+        Set<Long> included = new HashSet<>();
+        List<GhostRecord> ghosts = new ArrayList<>();
+        for (GhostRecord ghost : event.getUpdatesGhosts()) {
+            if (isRelevant(ghost.objectId(), inRange, included)) {
+                ghosts.add(ghost);
+            }
+        }
+        List<SnackManRecord> snackMen = new ArrayList<>();
+        for (SnackManRecord snackMan : event.getUpdatesSnackMen()) {
+            if (isRelevant(snackMan.objectId(), inRange, included)) {
+                snackMen.add(snackMan);
+            }
+        }
+        List<ChickenRecord> chickens = new ArrayList<>();
+        for (ChickenRecord chicken : event.getUpdatesChickens()) {
+            if (isRelevant(chicken.objectId(), inRange, included)) {
+                chickens.add(chicken);
+            }
+        }
+
+        // objects that came into range without changing, the client only knows an old state of them
+        for (GameObject object : inRange.values()) {
+            if (!interest.visible.contains(object.getObjectId()) && !included.contains(object.getObjectId())) {
+                switch (object) {
+                    case Ghost ghost -> ghosts.add(ghost.toRecord());
+                    case SnackMan snackMan -> snackMen.add(snackMan.toRecord());
+                    case Chicken chicken -> chickens.add(chicken.toRecord());
+                    default -> {
+                    }
+                }
+            }
+        }
+        List<Long> leftRange = new ArrayList<>();
+        for (long objectId : interest.visible) {
+            if (!inRange.containsKey(objectId)) {
+                leftRange.add(objectId);
+            }
+        }
+        interest.visible = new HashSet<>(inRange.keySet());
+
+        for (FoodRecord egg : event.getLaidEggs()) {
+            List<FoodRecord> cell = interest.deferredLaidEggs.computeIfAbsent(cellOf(egg), key -> new ArrayList<>());
+            cell.removeIf(deferred -> deferred.objectId() == egg.objectId());
+            cell.add(egg);
+        }
+        for (FoodRecord food : event.getEatenFoods()) {
+            // an egg the client never saw does not need to disappear either
+            List<FoodRecord> eggs = interest.deferredLaidEggs.get(cellOf(food));
+            if (eggs == null || !eggs.removeIf(deferred -> deferred.objectId() == food.objectId())) {
+                interest.deferredEatenFoods.computeIfAbsent(cellOf(food), key -> new ArrayList<>()).add(food);
+            }
+        }
+        List<FoodRecord> eatenFoods = takeInRange(interest.deferredEatenFoods, x, z);
+        List<FoodRecord> laidEggs = takeInRange(interest.deferredLaidEggs, x, z);
+
+        Long processedInput = event.getProcessedInputs() == null ? null : event.getProcessedInputs().get(clientId);
+        if (ghosts.isEmpty() && snackMen.isEmpty() && chickens.isEmpty() && eatenFoods.isEmpty()
+                && laidEggs.isEmpty() && leftRange.isEmpty() && processedInput == null
+                && interest.remainingSeconds == event.getRemainingSeconds()) {
+            return null;
+        }
+        interest.remainingSeconds = event.getRemainingSeconds();
+
+        GameStateEvent filtered = new GameStateEvent(ghosts, snackMen, chickens, eatenFoods, laidEggs,
+                event.getRemainingSeconds());
+        filtered.setGameID(event.getGameID());
+        if (processedInput != null) {
+            filtered.setProcessedInputs(Map.of(clientId, processedInput));
+        }
+        if (!leftRange.isEmpty()) {
+            filtered.setLeftRange(leftRange);
+        }
+        return filtered;
+    }
+
+    private boolean isRelevant(long objectId, Map<Long, GameObject> inRange, Set<Long> included) {
+        if (inRange.containsKey(objectId)) {
+            included.add(objectId);
+            return true;
+        }
+        return false;
+    }
+
+    // only the cells next to the one of the position can be in range
+    private List<FoodRecord> takeInRange(Map<Long, List<FoodRecord>> deferred, float x, float z) {
+        List<FoodRecord> taken = new ArrayList<>();
+        if (deferred.isEmpty()) {
+            return taken;
+        }
+        int cellX = cellCoordinate(x);
+        int cellZ = cellCoordinate(z);
+        for (int dz = -1; dz <= 1; dz++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                long key = cellKey(cellX + dx, cellZ + dz);
+                List<FoodRecord> cell = deferred.get(key);
+                if (cell == null) {
+                    continue;
+                }
+                Iterator<FoodRecord> iterator = cell.iterator();
+                while (iterator.hasNext()) {
+                    FoodRecord food = iterator.next();
+                    if (isInRange(x, z, food.x(), food.z())) {
+                        taken.add(food);
+                        iterator.remove();
+                    }
+                }
+                if (cell.isEmpty()) {
+                    deferred.remove(key);
+                }
+            }
+        }
+        return taken;
+    }
+
+    private long cellOf(FoodRecord food) {
+        return cellKey(cellCoordinate(food.x()), cellCoordinate(food.z()));
+    }
+
+    private int cellCoordinate(float value) {
+        return (int) Math.floor(value / radius);
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private boolean isInRange(float x, float z, float otherX, float otherZ) {
+        float dx = otherX - x;
+        float dz = otherZ - z;
+        return dx * dx + dz * dz <= radius * radius;
+    }
+
+}
@@ -1,9 +1,9 @@
 package de.hsrm.mi.swt.projekt.snackman.logic;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import de.hsrm.mi.swt.projekt.snackman.communication.events.backendToFrontend.GameEndEvent;
 import de.hsrm.mi.swt.projekt.snackman.communication.websocket.Client;
@@ -11,6 +11,7 @@ import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.LobbyRecord;
 
 import de.hsrm.mi.swt.projekt.snackman.configuration.GameConfig;
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.IDGenerator;
+import de.hsrm.mi.swt.projekt.snackman.model.level.MapPool;
 import de.hsrm.mi.swt.projekt.snackman.model.level.SnackManMap;
 import org.springframework.web.socket.WebSocketSession;
 
@@ -18,7 +19,7 @@ public class Lobby {
     private final long id = IDGenerator.getInstance().getUniqueID();
     private GameConfig gameConfig = new GameConfig();
     private SnackManMap map;
-    private final Map<Long, Client> clientMap = new HashMap<>();
+    private final Map<Long, Client> clientMap = new ConcurrentHashMap<>();
     private final List<String> chatMessages = new ArrayList<>();
 
     public List<Client> getClientsAsList() {
@@ -68,7 +69,8 @@ public class Lobby {
     }
 
     public Game startGame(GameManager gameManager) {
-        if (map == null) map = new SnackManMap(this.gameConfig.getMapWidth(), this.gameConfig.getMapHeight());
+        // generated maps are prepared in the background, see MapPool
+        if (map == null) map = MapPool.getInstance().take(this.gameConfig.getMapWidth(), this.gameConfig.getMapHeight());
 
         return new Game(this, gameManager);
     }
@@ -0,0 +1,130 @@
+package de.hsrm.mi.swt.projekt.snackman.logic;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.GameObject;
+
+/**
+ * Uniform grid with one cell per map tile that keeps track of which moving
+ * objects are on which tile. Collision checks only look at the cells within
+ * reach instead of at every object of the game.
+ * Objects are moved between cells by Game.updateTileOccupation, i.e. whenever
+ * they enter a new tile. Positions outside of the map are clamped to the border cells.
+ *
+ */
+public class SpatialGrid {
+
+    private final int width;
+    private final int depth;
+    private final List<GameObject>[] cells;
+    private final Map<GameObject, Integer> cellOfObject = new IdentityHashMap<>();
+
+    /**
+     * @param width number of tiles in x direction
+     * @param depth number of tiles in z direction
+     */
+    @SuppressWarnings("unchecked")
+    public SpatialGrid(int width, int depth) {
+        this.width = Math.max(1, width);
+        this.depth = Math.max(1, depth);
+        this.cells = new List[this.width * this.depth];
+    }
+
+    public void insert(GameObject object) {
+        int cell = cellIndex(object.getX(), object.getZ());
+        Integer previous = cellOfObject.put(object, cell);
+        if (previous != null) {
+            cells[previous].remove(object);
+        }
+        cellAt(cell).add(object);
+    }
+
+    public void remove(GameObject object) {
+        Integer cell = cellOfObject.remove(object);
+        if (cell != null) {
+            cells[cell].remove(object);
+        }
+    }
+
+    /**
+     * Moves an object to the cell of its new position, objects that were never
+     * inserted are ignored
+     *
+     * @param object said object
+     * @param newX   new x coordinate
+     * @param newZ   new z coordinate
+     */
+    public void move(GameObject object, float newX, float newZ) {
+        Integer cell = cellOfObject.get(object);
+        if (cell == null) {
+            return;
+        }
+        int newCell = cellIndex(newX, newZ);
+        if (newCell != cell) {
+            cells[cell].remove(object);
+            cellAt(newCell).add(object);
+            cellOfObject.put(object, newCell);
+        }
+    }
+
+    /**
+     * Adds all objects whose tile lies within range of the given position to the list.
+     * The result may contain objects that are slightly further away, the exact
+     * distance is up to the caller.
+     *
+     * @param x      x coordinate of the position
+     * @param z      z coordinate of the position
+     * @param range  maximum distance of interest
+     * @param result list the objects are added to
+     */
+    public void collectNear(float x, float z, float range, List<GameObject> result) {
+        int minX = clamp((int) Math.floor(x - range), width);
+        int maxX = clamp((int) Math.floor(x + range), width);
+        int minZ = clamp((int) Math.floor(z - range), depth);
+        int maxZ = clamp((int) Math.floor(z + range), depth);
+
+        for (int cellZ = minZ; cellZ <= maxZ; cellZ++) {
+            for (int cellX = minX; cellX <= maxX; cellX++) {
+                List<GameObject> cell = cells[cellZ * width + cellX];
+                if (cell != null) {
+                    result.addAll(cell);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds all objects of the grid to the list
+     *
+     * @param result list the objects are added to
+     */
+    public void collectAll(List<GameObject> result) {
+        result.addAll(cellOfObject.keySet());
+    }
+
+    public int size() {
+        return cellOfObject.size();
+    }
+
+    private List<GameObject> cellAt(int index) {
+        List<GameObject> cell = cells[index];
+        if (cell == null) {
+            cell = new ArrayList<>(2);
+            cells[index] = cell;
+        }
+        return cell;
+    }
+
+    // same tile as SnackManMap.getTileAt((int) x, (int) z)
+    private int cellIndex(float x, float z) {
+        return clamp((int) z, depth) * width + clamp((int) x, width);
+    }
+
+    private static int clamp(int value, int size) {
+        return Math.max(0, Math.min(size - 1, value));
+    }
+
+}
@@ -1,12 +1,7 @@
 package de.hsrm.mi.swt.projekt.snackman.model.gameEntities;
 
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
 
-import org.python.core.PyObject;
-import org.python.core.PyTuple;
-import org.python.util.PythonInterpreter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,7 +14,11 @@ import de.hsrm.mi.swt.projekt.snackman.configuration.GameConfig;
 import de.hsrm.mi.swt.projekt.snackman.logic.CollisionManager;
 import de.hsrm.mi.swt.projekt.snackman.logic.CollisionType;
 import de.hsrm.mi.swt.projekt.snackman.logic.Game;
+import de.hsrm.mi.swt.projekt.snackman.logic.GameLoop;
 import de.hsrm.mi.swt.projekt.snackman.logic.GameManager;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.behavior.ChickenBehavior;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.behavior.ChickenBehaviors;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.behavior.ChickenMove;
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.ChickenRecord;
 
 
@@ -32,6 +31,11 @@ public class Chicken extends GameObject implements CanEat, MovableAndSubscribabl
 
     private Logger logger = LoggerFactory.getLogger(Chicken.class);
 
+    // Timing constants in milliseconds, converted to game loop ticks
+    private static final long BEHAVIOR_DELAY = 100;
+    private static final long PAUSE_TIME = 5000;
+    private static final long LAY_EGG_DELAY = 3000;
+
     private GameManager gameManager;
     private GameConfig gameConfig;
     private CollisionManager collisionManager;
@@ -39,7 +43,6 @@ public class Chicken extends GameObject implements CanEat, MovableAndSubscribabl
 
     private int passiveCalorieGain;
     private int passiveCalorieGainDelay;
-    private Chicken thisChicken = this;  
 
     private StateOfObject state;
 
@@ -47,29 +50,19 @@ public class Chicken extends GameObject implements CanEat, MovableAndSubscribabl
     private float maxRadius;
     private float maxCalories;
 
-    private TimerTask passiveCaloriesTask = new TimerTask() {
-        @Override
-        public void run() {
-
-            Game game = gameManager.getGameById(gameId); 
-            if(!movementPaused && game!= null) {
-                gainedCalories += passiveCalorieGain;
-                game.getGameState().addChangedChicken(thisChicken);
-                updateRadius();            
-            }
-        }
-    };
-    private transient Timer passiveCaloriesTimer;
+    private long ticks;
+    private long pausedTicksLeft;
+    private long eggTicksLeft;
+    private float eggX;
+    private float eggZ;
 
     /** The gainedCalorie count of the Chicken */
     private int gainedCalories;
     private String direction;
-    private List<List<String>> surroundings;
+    private int surroundings;
     private Boolean wallCollision;
-    /** Jython-Interpreter for the script logic */
-    private final PythonInterpreter scriptInterpreter;
-
-    private Thread chickenThread;
+    /** behavior selected by the script name */
+    private final ChickenBehavior behavior;
 
     /**
      * Constructs a new Chicken with the objectId, and specified starting Coords.
@@ -91,130 +84,132 @@ public class Chicken extends GameObject implements CanEat, MovableAndSubscribabl
         this.gainedCalories = 0;
         this.passiveCalorieGain = 100;
         this.passiveCalorieGainDelay = 1000;
-        this.passiveCaloriesTimer = new Timer();
-        this.passiveCaloriesTimer.scheduleAtFixedRate(passiveCaloriesTask, 0, passiveCalorieGainDelay);
 
         this.state = StateOfObject.NEUTRAL;
 
-        this.scriptInterpreter = new PythonInterpreter();
-        this.scriptInterpreter.exec("import sys");
-        this.scriptInterpreter.exec("sys.path.insert(0, '.')");
-        initScriptInterpreter(script);
+        this.behavior = ChickenBehaviors.forScript(script);
         this.movementPaused = false; 
         logger.info("created Chicken with id: " + id);
 
     }
 
-    private void initScriptInterpreter(String script) {
-        this.scriptInterpreter.exec("from " + script + " import *");
-        this.chickenThread = new Thread(() -> {
-            try {
-                while (!Thread.currentThread().isInterrupted()) {
-                if (gameManager.getGameById(gameId) == null) {
-                    Thread.sleep(1000);
-                } else {
-                    Thread.sleep(100);
-                    surroundings = gameManager.getGameById(gameId).generateSurroundings(this.x, this.z);
-                    executeScript(surroundings);
-                }
-            }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+    /**
+     * Advances the chicken by one game loop tick.
+     * Gains passive calories, counts down the pause after being full
+     * and runs the behavior script every BEHAVIOR_DELAY milliseconds.
+     */
+    @Override
+    public void tick() {
+        ticks++;
+
+        if (eggTicksLeft > 0 && --eggTicksLeft == 0) {
+            layEgg(eggX, eggZ);
+        }
+
+        if (movementPaused) {
+            if (--pausedTicksLeft <= 0) {
+                movementPaused = false;
+                radius = minRadius;
+                resetGainedCalories();
+                eggTicksLeft = GameLoop.millisToTicks(LAY_EGG_DELAY);
             }
-        });
-        this.chickenThread.start();
+            return;
+        }
+
+        Game game = gameManager.getGameById(gameId);
+        if (game == null) {
+            return;
+        }
+
+        if (ticks % GameLoop.millisToTicks(passiveCalorieGainDelay) == 0) {
+            gainedCalories += passiveCalorieGain;
+            game.getGameState().addChangedChicken(this);
+            updateRadius();
+        }
+
+        if (!movementPaused && ticks % GameLoop.millisToTicks(BEHAVIOR_DELAY) == 0) {
+            surroundings = game.generateSurroundings(this.x, this.z);
+            executeScript(surroundings);
+        }
     }
 
     /**
      * executes the behavior of the chicken, controlled by the script
      *
-     * @param pythonCompatibleSurroundings 3x3 part of the map, on which the chicken navigates
+     * @param surroundings 3x3 part of the map, on which the chicken navigates, see Surroundings
      */    
-    public void executeScript(List<List<String>> pythonCompatibleSurroundings) {
+    public void executeScript(int surroundings) {
         
         if(movementPaused) {
             return; 
         }
-        scriptInterpreter.set("environment", pythonCompatibleSurroundings);
-        scriptInterpreter.set("direction", direction);
-        scriptInterpreter.set("wall_collision", wallCollision );
-        scriptInterpreter.set("x", x);
-        scriptInterpreter.set("z", z);
-        scriptInterpreter.set("y", y);
-
         try {
+            ChickenMove result = behavior.run(surroundings, direction, wallCollision, x, z, y);
+
+            float movementX = gameConfig.getChickenSpeed() * result.x();
+            float movementY = gameConfig.getChickenSpeed() * result.y();
+            float movementZ = gameConfig.getChickenSpeed() * result.z();
+
+            this.direction = result.direction();
+            this.wallCollision = result.wallCollision();
+
+            if (this.wallCollision == false) {
+                List<CollisionType> collisions;
+                float wishedX = 0.0f;
+                float wishedZ = 0.0f;
+
+                switch (direction) {
+                    case "N":
+                        wishedX = this.getX() + (movementX + this.radius);
+                        wishedZ = this.getZ() + (movementZ + this.radius);
+                        break;
+                    case "E":
+                        wishedX = this.getX() + (movementX + this.radius);
+                        wishedZ = this.getZ() + (movementZ + this.radius);
+
+                        break;
+                    case "S":
+                        wishedX = this.getX() + (movementX - this.radius);
+                        wishedZ = this.getZ() + (movementZ - this.radius);
+
+                        break;
+                    case "W":
+                        wishedX = this.getX() + (movementX - this.radius);
+                        wishedZ = this.getZ() + (movementZ - this.radius);
+                        break;
+                        
+                    case "NE":
+                        wishedX = this.getX() + (movementX + this.radius);
+                        wishedZ = this.getZ() + (movementZ + this.radius);
+                        break;
+                    case "NW":
+                        wishedX = this.getX() + (movementX - this.radius);
+                        wishedZ = this.getZ() + (movementZ + this.radius);                            
+                        break;
+                    case "SE":
+                        wishedX = this.getX() + (movementX + this.radius);
+                        wishedZ = this.getZ() + (movementZ - this.radius);
+                        break;
+                    case "SW":
+                        wishedX = this.getX() + (movementX - this.radius);
+                        wishedZ = this.getZ() + (movementZ - this.radius);
+                        break;
+                    default:
+                        logger.warn("Unknown direction: " + direction);
+                        break;
+                }
 
-            scriptInterpreter.exec("result = run_behavior(environment, direction, wall_collision, x, z, y)");
-            PyObject result = scriptInterpreter.get("result");
-
-            if (result instanceof PyTuple) {
-                PyTuple tuple = (PyTuple) result;
-
-                float movementX = gameConfig.getChickenSpeed() * (float) (double) tuple.get(0);
-                float movementY = gameConfig.getChickenSpeed() * (float) (double) tuple.get(1);
-                float movementZ = gameConfig.getChickenSpeed() * (float) (double) tuple.get(2);
-
-                this.direction = (String) tuple.get(3);
-                this.wallCollision = (boolean) tuple.get(4);
-
-                if (this.wallCollision == false) {
-                    List<CollisionType> collisions;
-                    float wishedX = 0.0f;
-                    float wishedZ = 0.0f;
-
-                    switch (direction) {
-                        case "N":
-                            wishedX = this.getX() + (movementX + this.radius);
-                            wishedZ = this.getZ() + (movementZ + this.radius);
-                            break;
-                        case "E":
-                            wishedX = this.getX() + (movementX + this.radius);
-                            wishedZ = this.getZ() + (movementZ + this.radius);
-
-                            break;
-                        case "S":
-                            wishedX = this.getX() + (movementX - this.radius);
-                            wishedZ = this.getZ() + (movementZ - this.radius);
-
-                            break;
-                        case "W":
-                            wishedX = this.getX() + (movementX - this.radius);
-                            wishedZ = this.getZ() + (movementZ - this.radius);
-                            break;
-                            
-                        case "NE":
-                            wishedX = this.getX() + (movementX + this.radius);
-                            wishedZ = this.getZ() + (movementZ + this.radius);
-                            break;
-                        case "NW":
-                            wishedX = this.getX() + (movementX - this.radius);
-                            wishedZ = this.getZ() + (movementZ + this.radius);                            
-                            break;
-                        case "SE":
-                            wishedX = this.getX() + (movementX + this.radius);
-                            wishedZ = this.getZ() + (movementZ - this.radius);
-                            break;
-                        case "SW":
-                            wishedX = this.getX() + (movementX - this.radius);
-                            wishedZ = this.getZ() + (movementZ - this.radius);
-                            break;
-                        default:
-                            logger.warn("Unknown direction: " + direction);
-                            break;
+                collisions = collisionManager.checkCollision(wishedX, wishedZ, this);
+                    if (collisions.contains(CollisionType.WALL)) {
+                        movementX = 0.0f;
+                        movementZ = 0.0f; 
+                        this.wallCollision = true;  
                     }
-
-                    collisions = collisionManager.checkCollision(wishedX, wishedZ, this);
-                        if (collisions.contains(CollisionType.WALL)) {
-                            movementX = 0.0f;
-                            movementZ = 0.0f; 
-                            this.wallCollision = true;  
-                        }
-                }
-                move((movementX), (movementY), (movementZ));
-                gameManager.getGameById(gameId).getGameState().addChangedChicken(this); 
             }
+            move((movementX), (movementY), (movementZ));
+            gameManager.getGameById(gameId).getGameState().addChangedChicken(this); 
         } catch (Exception e) {
-            logger.error("Error executing Python script: ", e);
+            logger.error("Error executing chicken behavior: ", e);
         }
     }
 
@@ -239,7 +234,7 @@ public class Chicken extends GameObject implements CanEat, MovableAndSubscribabl
      * @param food the calorie resource to be consumed by the entity
      */
     @Override
-    public synchronized void eat(Food food) {
+    public void eat(Food food) {
         this.gainedCalories += food.getCalories();
         updateRadius(); 
         EventService.getInstance().applicationEventPublisher.publishEvent(new EatEvent(this, food, gameId, gameManager));
@@ -256,34 +251,21 @@ public class Chicken extends GameObject implements CanEat, MovableAndSubscribabl
         this.radius = minRadius + (maxRadius - minRadius) * Math.min((float) gainedCalories / maxCalories, 1.0f);
         boolean stuck = collisionManager.isBetweenWalls(x, z); 
 
-        if(radius >= maxRadius) {
+        if(radius >= maxRadius && !movementPaused) {
             stopMovementTemporarily();
         }
     }
 
     /**
-     * scale the radius of chicken based on calories linearly between minRadius and maxRadius
+     * pauses the movement of the full chicken for PAUSE_TIME,
+     * afterwards it shrinks back to minRadius and lays an egg after LAY_EGG_DELAY
      *
-     * @param minRadius the minimum radius to reset to
      */
     private void stopMovementTemporarily() {
         this.movementPaused = true; 
-        float oldX = this.x; 
-        float oldZ = this.z; 
-        new Timer().schedule(new TimerTask() {
-            @Override
-            public void run() {
-                movementPaused = false; 
-                radius = minRadius; 
-                resetGainedCalories();
-                    new Timer().schedule(new TimerTask() { 
-                        @Override public void run() { 
-                            layEgg(oldX, oldZ); 
-                        } 
-                    }, 3000);
-            }
-        }, 5000);
-
+        this.pausedTicksLeft = GameLoop.millisToTicks(PAUSE_TIME);
+        this.eggX = this.x; 
+        this.eggZ = this.z; 
     }
 
     /** react to getting scared by a ghost */
@@ -340,7 +322,7 @@ public class Chicken extends GameObject implements CanEat, MovableAndSubscribabl
     }
 
     public void kill() {
-        this.chickenThread.interrupt();
+        this.behavior.close();
     }
 
 }
@@ -100,6 +100,12 @@ public class Ghost extends PlayerObject implements MovableAndSubscribable {
 
     }
 
+    /**
+     * Ghosts are only moved by their players, so there is nothing to advance per tick
+     */
+    @Override
+    public void tick() {}
+
     public int getNumCollisions() {
         return numCollisions;
     }
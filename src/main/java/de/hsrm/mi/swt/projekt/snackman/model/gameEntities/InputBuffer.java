@@ -0,0 +1,71 @@
+package de.hsrm.mi.swt.projekt.snackman.model.gameEntities;
+
+import org.joml.Vector3f;
+
+import de.hsrm.mi.swt.projekt.snackman.communication.events.frontendToBackend.MoveEvent;
+
+/**
+ * Collects the MOVE inputs of a player between two steps of the game, so they
+ * are applied once per step no matter how many inputs a client sends.
+ * The latest direction wins, a jump of any of the collected inputs is kept.
+ * Filled by the websocket threads, drained by the thread running the game.
+ */
+public class InputBuffer {
+
+    private MoveEvent latest;
+    private float jumpY;
+    private int pendingInputs;
+    private long lastProcessedSequence;
+
+    /**
+     * @param moveEvent input of the player, not modified
+     */
+    public synchronized void add(MoveEvent moveEvent) {
+        latest = moveEvent;
+        Vector3f vector = moveEvent.getMovementVector();
+        if (vector != null && vector.y > 0) {
+            jumpY = vector.y;
+        }
+        pendingInputs++;
+    }
+
+    /**
+     * Combines the inputs collected since the last call into one
+     *
+     * @return said input, null if there was none
+     */
+    public synchronized MoveEvent drain() {
+        if (latest == null) {
+            return null;
+        }
+        Vector3f vector = latest.getMovementVector() == null ? new Vector3f() : latest.getMovementVector();
+        MoveEvent combined = new MoveEvent(new Vector3f(vector.x, Math.max(vector.y, jumpY), vector.z));
+        combined.setGameID(latest.getGameID());
+        combined.setObjectID(latest.getObjectID());
+        combined.setSequence(latest.getSequence());
+        if (latest.getSequence() != 0) {
+            lastProcessedSequence = latest.getSequence();
+        }
+
+        latest = null;
+        jumpY = 0;
+        pendingInputs = 0;
+        return combined;
+    }
+
+    /**
+     * @return number of inputs waiting for the next step
+     */
+    public synchronized int getPendingInputs() {
+        return pendingInputs;
+    }
+
+    /**
+     * @return sequence of the latest input that has been drained, 0 if the client
+     *         sends no sequences
+     */
+    public synchronized long getLastProcessedSequence() {
+        return lastProcessedSequence;
+    }
+
+}
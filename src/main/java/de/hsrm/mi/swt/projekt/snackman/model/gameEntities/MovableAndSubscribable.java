@@ -3,7 +3,7 @@ package de.hsrm.mi.swt.projekt.snackman.model.gameEntities;
 /**
  * Interface combining multiple other interfaces to enable effective management of game objects
  */
-public interface MovableAndSubscribable extends Moveable, Subscribable {
+public interface MovableAndSubscribable extends Moveable, Subscribable, Tickable {
 
     boolean isChicken();
 
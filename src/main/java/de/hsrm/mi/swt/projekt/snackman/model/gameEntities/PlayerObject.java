@@ -3,6 +3,7 @@ package de.hsrm.mi.swt.projekt.snackman.model.gameEntities;
 public abstract class PlayerObject extends GameObject {
 
     private String username;
+    private final InputBuffer inputBuffer = new InputBuffer();
 
     public PlayerObject(String username, long objectId, long gameId, float x, float y, float z, float radius, float height) {
         super(objectId, gameId, x, y, z, radius, height);
@@ -16,4 +17,11 @@ public abstract class PlayerObject extends GameObject {
     public void setUsername(String username) {
         this.username = username;
     }
+
+    /**
+     * @return the MOVE inputs of the player waiting for the next step of the game
+     */
+    public InputBuffer getInputBuffer() {
+        return inputBuffer;
+    }
 }
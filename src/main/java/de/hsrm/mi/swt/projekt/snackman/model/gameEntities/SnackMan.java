@@ -2,12 +2,6 @@ package de.hsrm.mi.swt.projekt.snackman.model.gameEntities;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.Timer;
-import java.util.TimerTask;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import org.joml.Vector3f;
@@ -23,6 +17,7 @@ import de.hsrm.mi.swt.projekt.snackman.communication.websocket.Client;
 import de.hsrm.mi.swt.projekt.snackman.configuration.GameConfig;
 import de.hsrm.mi.swt.projekt.snackman.logic.CollisionManager;
 import de.hsrm.mi.swt.projekt.snackman.logic.CollisionType;
+import de.hsrm.mi.swt.projekt.snackman.logic.GameLoop;
 import de.hsrm.mi.swt.projekt.snackman.logic.GameManager;
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.SnackManRecord;
 
@@ -43,6 +38,7 @@ public class SnackMan extends PlayerObject implements CanEat, MovableAndSubscrib
                                            // the jump-method is called again
     private final int MAX_BOOSTS = 2; // Maximum number of velocity boosts that is possible to reach during one jump
     private final long BOOST_PUFFER_TIME = 100; // Time that has to be passed since last space bar press to enable boost
+    private final int PHYSICS_TICKS = 3; // Jump, fall and resolve are updated every PHYSICS_TICKS game loop ticks
 
     // Jumping variables
     private float currentVelocity;
@@ -51,24 +47,14 @@ public class SnackMan extends PlayerObject implements CanEat, MovableAndSubscrib
     private boolean falling;
     private float heightGain;
     private int boosts;
-    private long jumpStartTime;
-    private long jumpEndTime;
+    private long ticksSinceJumpStart;
+    private int physicsTicks;
     float deltaTime = 0.1f;
 
     private boolean needsResolving = false;
     private Vector3f resolveVector = null;
     private final static float RESOLVE_SPEED = 0.1f;
 
-    private ScheduledExecutorService jumpExecutor = Executors.newScheduledThreadPool(1);
-    private ScheduledFuture<?> jumpTaskFuture;
-    private Runnable jumpTask;
-    private ScheduledExecutorService resolveExecutor = Executors.newScheduledThreadPool(1);
-    private ScheduledFuture<?> resolveTaskFuture;
-    private Runnable resolveTask;
-    private ScheduledExecutorService fallExecutor = Executors.newScheduledThreadPool(1);
-    private ScheduledFuture<?> fallTaskFuture;
-    private Runnable fallTask;
-
     private GameManager gameManager;
     private List<Client> clients;
     private GameConfig gameConfig;
@@ -84,9 +70,9 @@ public class SnackMan extends PlayerObject implements CanEat, MovableAndSubscrib
 
     // Collision variables
     private boolean stunned;
-    private Timer stunnedTimer;
+    private long stunnedTicksLeft;
     private boolean invincible;
-    private Timer invincibleTimer;
+    private long invincibleTicksLeft;
     private boolean alive;
 
     /**
@@ -110,114 +96,138 @@ public class SnackMan extends PlayerObject implements CanEat, MovableAndSubscrib
         this.invincible = false;
         this.stunned = false;
         this.alive = true;
-        this.stunnedTimer = new Timer();
-        this.invincibleTimer = new Timer();
 
         this.clients = clients;
 
-        init();
-
         logger.info("created SnackMan with id: " + id);
     }
 
-    public void init() {
-        this.jumpTask = () -> {
-
-            logger.info("Jumping");
+    /**
+     * Advances the SnackMan by one game loop tick.
+     * Counts down the stunned and invincible timers and updates jumping,
+     * resolving and falling every PHYSICS_TICKS ticks.
+     */
+    @Override
+    public void tick() {
+        tickTimers();
 
-            /*
-              The gravity (a negative constant) is applied to the SnackMan's velocity
-              The velocity starts at a positive value
-              It is 0 when the SnackMan is at its highest position
-              It is negative during the falling phase
-              Formula: v = v + deltaT * G where v is the velocity, deltaT the time between
-              position updates and G the gravity constant
-             */
-            currentVelocity += deltaTime * GRAVITY;
+        if (jumping) {
+            ticksSinceJumpStart++;
+        }
 
-            /*
-             * Updating the SnackMan's position by applying the velocity to the current
-             * position
-             * Formula: y = y + deltaT * v where y is the position, deltaT the time between
-             * position updates and v the SnackMan's current velocity
-             */
-            heightGain = deltaTime * currentVelocity;
+        if (++physicsTicks < PHYSICS_TICKS) {
+            return;
+        }
+        physicsTicks = 0;
+
+        if (jumping) {
+            jumpStep();
+        } else if (needsResolving) {
+            resolveStep();
+        } else if (falling) {
+            fallStep();
+        }
+    }
 
-            move(0, heightGain, 0);
+    private void tickTimers() {
+        if (stunned && --stunnedTicksLeft <= 0) {
+            stunned = false;
+            logger.info("SnackMan with id " + objectId + " is NOT stunned anymore");
+        }
+        if (invincible && --invincibleTicksLeft <= 0) {
+            invincible = false;
+            logger.info("SnackMan with id " + objectId + " is NOT invincible anymore");
+        }
+    }
 
-            /*
-             * Check if the SnackMan has landed at its initial y-position
-             * If so, the jump is done
-             */
-            if(collisionManager.positionInWall(x, z)) {
-                if (y < GameConfig.WALL_HEIGHT) {
-                    y = GameConfig.WALL_HEIGHT;
-                    jumping = false;
-                    needsResolving = true;
-                    resolveOnTopOfWall();
-                }
-            } else {
-                // Check if SnackMan has landed on food
-                collisionManager.checkCollision(x, z, SnackMan.this);
-                if (y < 0.8f) {
-                    y = 0.8f;
-                    jumping = false;
-                }
+    private void jumpStep() {
+
+        logger.info("Jumping");
+
+        /*
+          The gravity (a negative constant) is applied to the SnackMan's velocity
+          The velocity starts at a positive value
+          It is 0 when the SnackMan is at its highest position
+          It is negative during the falling phase
+          Formula: v = v + deltaT * G where v is the velocity, deltaT the time between
+          position updates and G the gravity constant
+         */
+        currentVelocity += deltaTime * GRAVITY;
+
+        /*
+         * Updating the SnackMan's position by applying the velocity to the current
+         * position
+         * Formula: y = y + deltaT * v where y is the position, deltaT the time between
+         * position updates and v the SnackMan's current velocity
+         */
+        heightGain = deltaTime * currentVelocity;
+
+        move(0, heightGain, 0);
+
+        /*
+         * Check if the SnackMan has landed at its initial y-position
+         * If so, the jump is done
+         */
+        if(collisionManager.positionInWall(x, z)) {
+            if (y < GameConfig.WALL_HEIGHT) {
+                y = GameConfig.WALL_HEIGHT;
+                jumping = false;
+                resolveOnTopOfWall();
             }
-
-            // If the jump is done, the task is not repeated anymore
-            if (!jumping) {
-                boosts = 0;
-                jumpTaskFuture.cancel(false);
+        } else {
+            // Check if SnackMan has landed on food
+            collisionManager.checkCollision(x, z, SnackMan.this);
+            if (y < 0.8f) {
+                y = 0.8f;
+                jumping = false;
             }
-        };
+        }
 
-        this.resolveTask = () -> {
+        // If the jump is done, it is not updated anymore
+        if (!jumping) {
+            boosts = 0;
+        }
+    }
 
-            if(resolveVector == null) {
-                resolveVector = collisionManager.getResolveVector(x, z);
-            }
+    private void resolveStep() {
 
-            // logger.info("Trying to resolve");
-            logger.info(resolveVector.toString());
+        if(resolveVector == null) {
+            resolveVector = collisionManager.getResolveVector(x, z);
+        }
 
-            move(resolveVector.x * RESOLVE_SPEED, 0, resolveVector.z * RESOLVE_SPEED);
+        // logger.info("Trying to resolve");
+        logger.info(resolveVector.toString());
 
-            /*
-             * Check if the SnackMan is not over a wall anymore
-             */
-            if(!collisionManager.positionInWall(x, z)) {
-                needsResolving = false;
-            }
+        move(resolveVector.x * RESOLVE_SPEED, 0, resolveVector.z * RESOLVE_SPEED);
 
-            // If the resolve is done, the task is not repeated anymore
-            if (!needsResolving) {
-                resolveVector = null;
-                resolveTaskFuture.cancel(false);
-                fall();
-            }
-        };
+        /*
+         * Check if the SnackMan is not over a wall anymore
+         */
+        if(!collisionManager.positionInWall(x, z)) {
+            needsResolving = false;
+        }
 
-        this.fallTask = () -> {
+        // If the resolve is done, the SnackMan falls down
+        if (!needsResolving) {
+            resolveVector = null;
+            fall();
+        }
+    }
 
-            currentVelocity += deltaTime * GRAVITY;
+    private void fallStep() {
 
-            heightGain = deltaTime * currentVelocity;
+        currentVelocity += deltaTime * GRAVITY;
 
-            // logger.info("Falling" + currentVelocity);
-            move(0, heightGain, 0);
+        heightGain = deltaTime * currentVelocity;
 
-            collisionManager.checkCollision(x, z, SnackMan.this);
-            if (y < 0.8f) {
-                y = 0.8f;
-                falling = false;
-            }
+        // logger.info("Falling" + currentVelocity);
+        move(0, heightGain, 0);
 
-            // If the fall is done, the task is not repeated anymore
-            if (!falling) {
-                fallTaskFuture.cancel(false);
-            }
-        };
+        collisionManager.checkCollision(x, z, SnackMan.this);
+        if (y < 0.8f) {
+            y = 0.8f;
+            falling = false;
+        }
     }
 
     /**
@@ -250,7 +260,7 @@ public class SnackMan extends PlayerObject implements CanEat, MovableAndSubscrib
         // If we are not jumping and have enough calories, start new jump
         if (!falling && !jumping && !needsResolving && gainedCalories >= this.gameConfig.getJumpCalories()) {
 
-            this.jumpStartTime = System.currentTimeMillis();
+            this.ticksSinceJumpStart = 0;
 
             // Jumping results in loss of calories
             this.gainedCalories -= this.gameConfig.getJumpCalories();
@@ -262,11 +272,8 @@ public class SnackMan extends PlayerObject implements CanEat, MovableAndSubscrib
 
             this.needsResolving = false;
 
-            // Repeat task every time the specified time period has passed until cancelled
-            jumpTaskFuture = jumpExecutor.scheduleAtFixedRate(jumpTask, 0, (long) (deltaTime * 300),
-                    TimeUnit.MILLISECONDS);
-
-            
+            // The first jump step is done with the next tick
+            this.physicsTicks = PHYSICS_TICKS - 1;
 
             /*
              * If we are already jumping, have not reached the maximum possible number of
@@ -275,10 +282,8 @@ public class SnackMan extends PlayerObject implements CanEat, MovableAndSubscrib
              */
         } else if (this.boosts < MAX_BOOSTS && this.gainedCalories >= this.gameConfig.getJumpCalories()) {
 
-            this.jumpEndTime = System.currentTimeMillis();
-
             // Time that has passed since pressing the space bar
-            float timeDifference = this.jumpEndTime - this.jumpStartTime;
+            long timeDifference = this.ticksSinceJumpStart * GameLoop.TICK_MILLIS;
 
             /*
              * Boosts are only possible when enough time has passed since pressing the space
@@ -296,8 +301,8 @@ public class SnackMan extends PlayerObject implements CanEat, MovableAndSubscrib
 
     public void resolveOnTopOfWall() {
 
-        resolveTaskFuture = resolveExecutor.scheduleAtFixedRate(resolveTask, 0, (long) (deltaTime * 300),
-            TimeUnit.MILLISECONDS);
+        // Resolving is continued by tick() until the SnackMan is not over a wall anymore
+        this.needsResolving = true;
         
     }
 
@@ -307,8 +312,6 @@ public class SnackMan extends PlayerObject implements CanEat, MovableAndSubscrib
         if (!jumping && !falling && !needsResolving) {
             this.currentVelocity = 0;
             falling = true;
-            fallTaskFuture = fallExecutor.scheduleAtFixedRate(fallTask, 0, (long) (deltaTime * 300),
-            TimeUnit.MILLISECONDS);
         }
 
     }
@@ -436,7 +439,6 @@ public class SnackMan extends PlayerObject implements CanEat, MovableAndSubscrib
                 // If the SnackMan is mid-jump, it has landed on another SnackMan
                 if (this.jumping) {
                     this.jumping = false;
-                    jumpTaskFuture.cancel(false);
                     this.y = gameConfig.getSnackManHeight() + gameConfig.getSnackManHeight() / 2;
                 }
 
@@ -448,7 +450,6 @@ public class SnackMan extends PlayerObject implements CanEat, MovableAndSubscrib
                 if (collisions.contains(CollisionType.CHICKEN)) {
                     if(this.jumping) {
                         this.jumping = false;
-                        jumpTaskFuture.cancel(false);
                         this.y = gameConfig.getSnackManHeight() + gameConfig.getSnackManHeight() / 2;
                     }
                     vector.x = 0.0f; 
@@ -505,47 +506,27 @@ public class SnackMan extends PlayerObject implements CanEat, MovableAndSubscrib
 
     /**
      * While the timer runs, the SnackMan is stunned and thus unable to move
+     * The timer is counted down in tick()
      * 
      */
     private void startStunnedTimer() {
 
         this.stunned = true;
+        this.stunnedTicksLeft = GameLoop.millisToTicks(STUNNED_TIME);
         logger.info("SnackMan with id " + this.objectId + " is stunned");
-
-        TimerTask task;
-         task = new TimerTask() {
-            
-            @Override
-            public void run() {
-                stunned = false;
-                logger.info("SnackMan with id " + objectId + " is NOT stunned anymore");
-            }
-        };
-
-        this.stunnedTimer.schedule(task, STUNNED_TIME);
     }
 
     /**
      * While the timer runs, the SnackMan is invincible 
      * and thus cannot be stunned by a ghost and lose calories
+     * The timer is counted down in tick()
      * 
      */
     private void startInvincibleTimer() {
 
         this.invincible = true;
+        this.invincibleTicksLeft = GameLoop.millisToTicks(INVINCIBLE_TIME);
         logger.info("SnackMan with id " + this.objectId + " is invincible");
-
-        TimerTask task;
-         task = new TimerTask() {
-            
-            @Override
-            public void run() {
-                invincible = false;
-                logger.info("SnackMan with id " + objectId + " is NOT invincible anymore");
-            }
-        };
-
-        this.invincibleTimer.schedule(task, INVINCIBLE_TIME);
     }
 
     public void reactToGhostCollision() {
@@ -0,0 +1,16 @@
+package de.hsrm.mi.swt.projekt.snackman.model.gameEntities;
+
+/**
+ * The Tickable interface represents an entity that is advanced by the game loop.
+ * Classes implementing this interface are updated once per fixed simulation step
+ * instead of running their own threads or timers.
+ *
+ */
+public interface Tickable {
+
+    /**
+     * Advances the entity by one simulation step of {@code GameLoop.TICK_MILLIS}
+     */
+    void tick();
+
+}
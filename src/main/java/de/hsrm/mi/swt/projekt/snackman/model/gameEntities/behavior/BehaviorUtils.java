@@ -0,0 +1,141 @@
+package de.hsrm.mi.swt.projekt.snackman.model.gameEntities.behavior;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import de.hsrm.mi.swt.projekt.snackman.model.level.Surroundings;
+import de.hsrm.mi.swt.projekt.snackman.model.level.TileContent;
+
+/**
+ * Lookup tables and helpers shared by the chicken behaviors, the Java
+ * counterpart of Utils.py
+ */
+final class BehaviorUtils {
+
+    static final String STAY = "STAY";
+
+    /** all directions, in the order of direction_offsets in Utils.py */
+    static final String[] DIRECTIONS = { "NW", "N", "NE", "W", "E", "SW", "S", "SE" };
+
+    /** row and column in the surroundings of every direction */
+    private static final Map<String, int[]> DIRECTION_OFFSETS = Map.of(
+            "NW", new int[] { 0, 0 }, "N", new int[] { 0, 1 }, "NE", new int[] { 0, 2 },
+            "W", new int[] { 1, 0 }, "E", new int[] { 1, 2 },
+            "SW", new int[] { 2, 0 }, "S", new int[] { 2, 1 }, "SE", new int[] { 2, 2 });
+
+    private static final Map<String, float[]> MOVE_VECTORS = Map.ofEntries(
+            Map.entry("N", new float[] { 0.05f, 0.0f, 0.0f }),
+            Map.entry("NE", new float[] { 0.05f, 0.0f, 0.05f }),
+            Map.entry("E", new float[] { 0.0f, 0.0f, 0.05f }),
+            Map.entry("SE", new float[] { -0.05f, 0.0f, 0.05f }),
+            Map.entry("S", new float[] { -0.05f, 0.0f, 0.0f }),
+            Map.entry("SW", new float[] { -0.05f, 0.0f, -0.05f }),
+            Map.entry("W", new float[] { 0.0f, 0.0f, -0.05f }),
+            Map.entry("NW", new float[] { 0.05f, 0.0f, -0.05f }),
+            Map.entry("JUMP", new float[] { 0.0f, 0.2f, 0.0f }),
+            Map.entry("FALL", new float[] { 0.0f, -0.2f, 0.0f }),
+            Map.entry(STAY, new float[] { 0.0f, 0.0f, 0.0f }));
+
+    private static final Map<String, String[]> ALTERNATIVES = Map.of(
+            "N", new String[] { "E", "W" }, "E", new String[] { "N", "S" },
+            "S", new String[] { "W", "E" }, "W", new String[] { "S", "N" },
+            "NE", new String[] { "N", "E" }, "SE", new String[] { "S", "E" },
+            "SW", new String[] { "S", "W" }, "NW", new String[] { "N", "W" });
+
+    private static final Map<String, String> OPPOSITE_DIRECTIONS = Map.of(
+            "N", "S", "NE", "SW", "E", "W", "SE", "NW",
+            "S", "N", "SW", "NE", "W", "E", "NW", "SE");
+
+    /**
+     * Every possible result, by move vector, direction and wall collision, so
+     * that a behavior call does not allocate
+     */
+    private static final Map<String, Map<String, ChickenMove[]>> MOVES = new HashMap<>();
+
+    static {
+        for (Map.Entry<String, float[]> vector : MOVE_VECTORS.entrySet()) {
+            Map<String, ChickenMove[]> byDirection = new HashMap<>();
+            float[] movement = vector.getValue();
+            for (String direction : DIRECTIONS) {
+                byDirection.put(direction, new ChickenMove[] {
+                        new ChickenMove(movement[0], movement[1], movement[2], direction, false),
+                        new ChickenMove(movement[0], movement[1], movement[2], direction, true) });
+            }
+            MOVES.put(vector.getKey(), byDirection);
+        }
+    }
+
+    private BehaviorUtils() {
+    }
+
+    /**
+     * Get the tile content based on the row, col
+     */
+    static TileContent getTile(int environment, int row, int col) {
+        return Surroundings.get(environment, row, col);
+    }
+
+    /**
+     * @return the content of the neighbouring tile in the given direction
+     */
+    static TileContent getTile(int environment, String direction) {
+        int[] offset = DIRECTION_OFFSETS.get(direction);
+        return Surroundings.get(environment, offset[0], offset[1]);
+    }
+
+    /**
+     * @param vector        key of the movement vector, a direction, "JUMP", "FALL"
+     *                      or STAY
+     * @param direction     the new direction
+     * @param wallCollision whether a wall was hit
+     * @return the shared move along said vector
+     */
+    static ChickenMove move(String vector, String direction, boolean wallCollision) {
+        Map<String, ChickenMove[]> byDirection = MOVES.get(vector);
+        if (byDirection == null || !byDirection.containsKey(direction)) {
+            throw new IllegalArgumentException("Unknown move: " + vector + " " + direction);
+        }
+        return byDirection.get(direction)[wallCollision ? 1 : 0];
+    }
+
+    static String[] alternatives(String direction) {
+        return ALTERNATIVES.get(direction);
+    }
+
+    static String opposite(String direction) {
+        return OPPOSITE_DIRECTIONS.get(direction);
+    }
+
+    static boolean isDiagonal(String direction) {
+        return direction.length() == 2;
+    }
+
+    /**
+     * Whether a chicken moving straight in the given direction is in the middle of
+     * its tile, where it may turn
+     */
+    static boolean isCentered(String direction, float x, float z) {
+        return ((direction.equals("N") || direction.equals("S")) && isCentered(x))
+                || ((direction.equals("E") || direction.equals("W")) && isCentered(z));
+    }
+
+    private static boolean isCentered(float coordinate) {
+        // same as "0.49 < c % 1.0 < 0.51" in Python, which is never negative
+        double fraction = coordinate - Math.floor(coordinate);
+        return 0.49 < fraction && fraction < 0.51;
+    }
+
+    /**
+     * @param directions candidates, the first count entries are used
+     * @param count      number of candidates, at least 1
+     * @return the only direction, or a random one if there are several
+     */
+    static String pickRandom(String[] directions, int count, Random random) {
+        if (count == 1) {
+            return directions[0];
+        }
+        return directions[random.nextInt(count)];
+    }
+
+}
@@ -0,0 +1,33 @@
+package de.hsrm.mi.swt.projekt.snackman.model.gameEntities.behavior;
+
+/**
+ * Decides how a chicken moves next, based on its 3x3 surroundings and its last
+ * direction of movement.
+ * Implementations are created per chicken by ChickenBehaviors and are only called
+ * by the thread running the chicken's game.
+ *
+ */
+public interface ChickenBehavior {
+
+    /**
+     * Executes the behavior once
+     *
+     * @param environment   3x3 part of the map around the chicken, encoded as
+     *                      described in Surroundings
+     * @param direction     the last direction of movement, one of "N", "NE", "E",
+     *                      "SE", "S", "SW", "W", "NW"
+     * @param wallCollision whether the last movement ran into a wall
+     * @param x             x-coordinate of the chicken
+     * @param z             z-coordinate of the chicken
+     * @param y             y-coordinate of the chicken
+     * @return the movement vector, the new direction and wall collision
+     */
+    ChickenMove run(int environment, String direction, boolean wallCollision, float x, float z, float y);
+
+    /**
+     * Releases resources held by the behavior, called when the chicken is removed
+     */
+    default void close() {
+    }
+
+}
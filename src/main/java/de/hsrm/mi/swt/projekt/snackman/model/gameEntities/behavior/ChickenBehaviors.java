@@ -0,0 +1,71 @@
+package de.hsrm.mi.swt.projekt.snackman.model.gameEntities.behavior;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the behavior of a chicken from its script name.
+ * DumbBehavior, FearfulBehavior and GreedyBehavior are Java ports of the scripts
+ * of the same name. Every other script, or a script name prefixed with "jython:",
+ * is run by the optional Jython plugin.
+ *
+ */
+public final class ChickenBehaviors {
+
+    public static final String JYTHON_PREFIX = "jython:";
+
+    private static final Logger logger = LoggerFactory.getLogger(ChickenBehaviors.class);
+
+    private static final String INTERPRETER_CLASS = "org.python.util.PythonInterpreter";
+
+    private static final Map<String, Supplier<ChickenBehavior>> NATIVE_BEHAVIORS = Map.of(
+            "DumbBehavior", DumbBehavior::new,
+            "FearfulBehavior", FearfulBehavior::new,
+            "GreedyBehavior", GreedyBehavior::new);
+
+    private ChickenBehaviors() {
+    }
+
+    /**
+     * @param script name of the behavior script
+     * @return a new behavior for a single chicken
+     * @throws IllegalArgumentException if the script has no Java port and Jython
+     *                                  is not on the classpath
+     */
+    public static ChickenBehavior forScript(String script) {
+        if (script.startsWith(JYTHON_PREFIX)) {
+            return jython(script.substring(JYTHON_PREFIX.length()));
+        }
+
+        Supplier<ChickenBehavior> nativeBehavior = NATIVE_BEHAVIORS.get(script);
+        if (nativeBehavior != null) {
+            return nativeBehavior.get();
+        }
+        return jython(script);
+    }
+
+    /**
+     * @return whether the Jython plugin is on the classpath
+     */
+    public static boolean isJythonAvailable() {
+        try {
+            Class.forName(INTERPRETER_CLASS, false, ChickenBehaviors.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static ChickenBehavior jython(String script) {
+        if (!isJythonAvailable()) {
+            throw new IllegalArgumentException(
+                    "No Java behavior for script " + script + " and Jython is not available, build with -Pjython");
+        }
+        logger.info("Running chicken script " + script + " with Jython");
+        return new JythonBehavior(script);
+    }
+
+}
@@ -0,0 +1,26 @@
+package de.hsrm.mi.swt.projekt.snackman.model.gameEntities.behavior;
+
+/**
+ * Result of a ChickenBehavior: the movement vector (before scaling with the
+ * chicken speed), the new direction and whether a wall was hit
+ */
+public record ChickenMove(float x, float y, float z, String direction, boolean wallCollision) {
+
+    /**
+     * @param vector        key of the movement vector, a direction, "JUMP" or "FALL"
+     * @param direction     the new direction
+     * @param wallCollision whether a wall was hit
+     * @return the move along said vector, moves are shared and never allocated
+     */
+    public static ChickenMove along(String vector, String direction, boolean wallCollision) {
+        return BehaviorUtils.move(vector, direction, wallCollision);
+    }
+
+    /**
+     * @return a move that keeps the chicken in place
+     */
+    public static ChickenMove stay(String direction, boolean wallCollision) {
+        return BehaviorUtils.move(BehaviorUtils.STAY, direction, wallCollision);
+    }
+
+}
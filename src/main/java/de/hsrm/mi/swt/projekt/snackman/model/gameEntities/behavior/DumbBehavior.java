@@ -0,0 +1,98 @@
+package de.hsrm.mi.swt.projekt.snackman.model.gameEntities.behavior;
+
+import static de.hsrm.mi.swt.projekt.snackman.model.gameEntities.behavior.BehaviorUtils.*;
+import static de.hsrm.mi.swt.projekt.snackman.model.level.TileContent.*;
+
+import java.util.Map;
+import java.util.Random;
+
+import de.hsrm.mi.swt.projekt.snackman.model.level.TileContent;
+
+/**
+ * Port of DumbBehavior.py.
+ * This chicken runs towards ghosts, avoids food, and jumps when seeing other
+ * chickens.
+ */
+public class DumbBehavior implements ChickenBehavior {
+
+    private static final Map<String, String> MAIN_DIRECTIONS = Map.of("NW", "N", "NE", "N", "SW", "S", "SE", "S");
+
+    private final Random random;
+    // candidates of the current call, the behavior belongs to a single chicken
+    private final String[] validDirections = new String[3];
+
+    public DumbBehavior() {
+        this(new Random());
+    }
+
+    public DumbBehavior(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public ChickenMove run(int environment, String direction, boolean wallCollision, float x, float z,
+            float y) {
+
+        // Check the current and next tile
+        TileContent currentTile = getTile(environment, 1, 1);
+        TileContent nextTile = getTile(environment, direction);
+
+        // make sure to fall after jump
+        if (y > 0) {
+            return ChickenMove.along("FALL", direction, wallCollision);
+        }
+
+        if (currentTile == WALL) {
+            String newDirection = opposite(direction);
+            return ChickenMove.along(newDirection, newDirection, true);
+        }
+
+        // check if there is food in the current direction and avoid it
+        if (nextTile == FOOD) {
+            int count = 0;
+            for (String newDirection : alternatives(direction)) {
+                if (getTile(environment, newDirection) != FOOD) {
+                    validDirections[count++] = newDirection;
+                }
+            }
+
+            String newDirection = count == 0 ? opposite(direction) : pickRandom(validDirections, count, random);
+            return ChickenMove.along(newDirection, newDirection, wallCollision);
+        }
+
+        // "Chase" ghosts
+        // if a ghost is found in the surroundings, move towards it
+        for (String newDirection : DIRECTIONS) {
+            if (getTile(environment, newDirection) == GHOST) {
+                return ChickenMove.along(newDirection, newDirection, false);
+            }
+        }
+
+        // If chicken sees another chicken/ghost, it jumps happy/scared
+        if (nextTile == CHICKEN || nextTile == GHOST || currentTile == GHOST) {
+            return ChickenMove.along("JUMP", direction, wallCollision);
+        }
+
+        // If there is a wall, choose a random valid direction
+        if (wallCollision || (nextTile == WALL && (isCentered(direction, x, z) || isDiagonal(direction)))) {
+            // Simplify the direction if it's diagonal (NW, NE, SW, SE)
+            if (isDiagonal(direction)) {
+                direction = MAIN_DIRECTIONS.get(direction);
+            }
+
+            int count = 0;
+            for (String newDirection : alternatives(direction)) {
+                if (getTile(environment, newDirection) != WALL) {
+                    validDirections[count++] = newDirection;
+                }
+            }
+
+            String newDirection = count == 0 ? opposite(direction) : pickRandom(validDirections, count, random);
+            return ChickenMove.along(newDirection, newDirection, false);
+        }
+
+        // If nothing special, continue in the current direction
+        return ChickenMove.along(direction, direction, wallCollision);
+    }
+
+}
@@ -0,0 +1,98 @@
+package de.hsrm.mi.swt.projekt.snackman.model.gameEntities.behavior;
+
+import static de.hsrm.mi.swt.projekt.snackman.model.gameEntities.behavior.BehaviorUtils.*;
+import static de.hsrm.mi.swt.projekt.snackman.model.level.TileContent.*;
+
+import java.util.Random;
+
+import de.hsrm.mi.swt.projekt.snackman.model.level.TileContent;
+
+/**
+ * Port of GreedyBehavior.py.
+ * This chicken looks for food, and is afraid of ghosts only.
+ */
+public class GreedyBehavior implements ChickenBehavior {
+
+    private final Random random;
+    // candidates of the current call, the behavior belongs to a single chicken
+    private final String[] validDirections = new String[3];
+
+    public GreedyBehavior() {
+        this(new Random());
+    }
+
+    public GreedyBehavior(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public ChickenMove run(int environment, String direction, boolean wallCollision, float x, float z,
+            float y) {
+
+        // Check the tile in the current direction and the next tile
+        TileContent currentTile = getTile(environment, 1, 1);
+        TileContent nextTile = getTile(environment, direction);
+
+        // make sure to fall after jump
+        if (y > 0) {
+            return ChickenMove.along("FALL", direction, wallCollision);
+        }
+
+        // If the current direction is blocked, turn around and set wallCollision to true
+        if (currentTile == WALL) {
+            String newDirection = opposite(direction);
+            return ChickenMove.along(newDirection, newDirection, true);
+        }
+
+        // if the Ghost is on the same tile, jump up scared.
+        if (currentTile == GHOST) {
+            return ChickenMove.along("JUMP", direction, wallCollision);
+        }
+
+        // If there is a ghost in the way, turn around.
+        if (nextTile == GHOST) {
+            int count = 0;
+            validDirections[count++] = opposite(direction);
+            for (String newDirection : alternatives(direction)) {
+                TileContent tile = getTile(environment, newDirection);
+                if (tile != WALL && tile != GHOST) {
+                    validDirections[count++] = newDirection;
+                }
+            }
+
+            String newDirection = pickRandom(validDirections, count, random);
+            return ChickenMove.along(newDirection, newDirection, wallCollision);
+        }
+
+        // If the current direction is not blocked and has no food in it, checks for food right or left
+        if (nextTile != FOOD && !wallCollision && isCentered(direction, x, z)) {
+            int count = 0;
+            for (String newDirection : alternatives(direction)) {
+                if (getTile(environment, newDirection) == FOOD) {
+                    validDirections[count++] = newDirection;
+                }
+            }
+
+            String newDirection = count == 0 ? direction : pickRandom(validDirections, count, random);
+            return ChickenMove.along(newDirection, newDirection, wallCollision);
+        }
+
+        // If the current direction is blocked, check if an alternative is available
+        if (wallCollision || (nextTile == WALL && isCentered(direction, x, z))) {
+            int count = 0;
+            for (String newDirection : alternatives(direction)) {
+                TileContent tile = getTile(environment, newDirection);
+                if (tile != WALL && tile != GHOST) {
+                    validDirections[count++] = newDirection;
+                }
+            }
+
+            String newDirection = count == 0 ? opposite(direction) : pickRandom(validDirections, count, random);
+            return ChickenMove.along(newDirection, newDirection, false);
+        }
+
+        // no reason to do any action, continue moving in that direction
+        return ChickenMove.along(direction, direction, wallCollision);
+    }
+
+}
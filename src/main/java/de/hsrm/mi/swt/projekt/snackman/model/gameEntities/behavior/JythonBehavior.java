@@ -0,0 +1,46 @@
+package de.hsrm.mi.swt.projekt.snackman.model.gameEntities.behavior;
+
+import org.python.core.Py;
+import org.python.core.PyFunction;
+import org.python.core.PyObject;
+import org.python.core.PyTuple;
+
+import de.hsrm.mi.swt.projekt.snackman.model.level.Surroundings;
+
+/**
+ * Runs the run_behavior function of a Python script with Jython.
+ * The script is compiled once per JVM by the JythonBehaviorRegistry, a
+ * JythonBehavior only holds the function of its script and calls it directly.
+ * Jython is an optional plugin: it is only on the classpath when the project is
+ * built with "-Pjython", see ChickenBehaviors.
+ */
+public class JythonBehavior implements ChickenBehavior {
+
+    private final PyFunction runBehavior;
+
+    /**
+     * @param script name of the Python module that defines run_behavior
+     */
+    public JythonBehavior(String script) {
+        this(JythonBehaviorRegistry.getInstance().getRunBehavior(script));
+    }
+
+    JythonBehavior(PyFunction runBehavior) {
+        this.runBehavior = runBehavior;
+    }
+
+    @Override
+    public ChickenMove run(int environment, String direction, boolean wallCollision, float x, float z,
+            float y) {
+        PyObject result = runBehavior.__call__(Py.java2py(Surroundings.toLists(environment)), Py.newString(direction),
+                Py.newBoolean(wallCollision), Py.newFloat(x), Py.newFloat(z), Py.newFloat(y));
+
+        if (!(result instanceof PyTuple)) {
+            throw new IllegalStateException("run_behavior did not return a tuple: " + result);
+        }
+        PyTuple tuple = (PyTuple) result;
+        return new ChickenMove((float) (double) tuple.get(0), (float) (double) tuple.get(1),
+                (float) (double) tuple.get(2), (String) tuple.get(3), (boolean) tuple.get(4));
+    }
+
+}
@@ -0,0 +1,111 @@
+package de.hsrm.mi.swt.projekt.snackman.model.gameEntities.behavior;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.python.core.Py;
+import org.python.core.PyCode;
+import org.python.core.PyFunction;
+import org.python.core.PyObject;
+import org.python.core.PyStringMap;
+import org.python.core.PySystemState;
+import org.python.util.PythonInterpreter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compiles every Python behavior script once per JVM and keeps a reference to its
+ * run_behavior function.
+ * All scripts share one Python system state, so modules they import (Utils.py)
+ * are loaded only once as well. Scripts are looked up on the classpath
+ * (src/main/resources) first and in the working directory second.
+ *
+ */
+public final class JythonBehaviorRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(JythonBehaviorRegistry.class);
+
+    private static final String FUNCTION_NAME = "run_behavior";
+
+    private final PySystemState systemState;
+    private final Map<String, PyFunction> functions = new ConcurrentHashMap<>();
+
+    /**
+     * Holder of the instance, so that Jython is only started when a script is used
+     */
+    private static final class InstanceHolder {
+        private static final JythonBehaviorRegistry INSTANCE = new JythonBehaviorRegistry();
+    }
+
+    /**
+     * Creates a registry with its own system state, the game uses getInstance
+     */
+    JythonBehaviorRegistry() {
+        this.systemState = new PySystemState();
+        this.systemState.path.insert(0, Py.newString("__pyclasspath__/"));
+        this.systemState.path.insert(0, Py.newString("."));
+    }
+
+    public static JythonBehaviorRegistry getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * @param script name of the Python module that defines run_behavior
+     * @return the run_behavior function of the script, compiled on first use
+     */
+    public PyFunction getRunBehavior(String script) {
+        return functions.computeIfAbsent(script, this::load);
+    }
+
+    /**
+     * @return number of scripts compiled so far
+     */
+    public int getScriptCount() {
+        return functions.size();
+    }
+
+    private PyFunction load(String script) {
+        long start = System.nanoTime();
+
+        // every script gets its own globals, like an imported module
+        PythonInterpreter module = new PythonInterpreter(new PyStringMap(), systemState);
+        PyCode code;
+        try (Reader source = openScript(script)) {
+            code = module.compile(source, script + ".py");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read chicken script " + script, e);
+        }
+        module.exec(code);
+
+        PyObject function = module.get(FUNCTION_NAME);
+        if (!(function instanceof PyFunction)) {
+            throw new IllegalArgumentException("Chicken script " + script + " does not define " + FUNCTION_NAME);
+        }
+        logger.info("Compiled chicken script " + script + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return (PyFunction) function;
+    }
+
+    private static Reader openScript(String script) throws IOException {
+        String fileName = script + ".py";
+        InputStream resource = JythonBehaviorRegistry.class.getResourceAsStream("/" + fileName);
+        if (resource != null) {
+            return new InputStreamReader(resource, StandardCharsets.UTF_8);
+        }
+
+        Path file = Path.of(fileName);
+        if (Files.isRegularFile(file)) {
+            return Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        }
+        throw new IllegalArgumentException("Chicken script " + fileName + " not found");
+    }
+
+}
@@ -0,0 +1,150 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+import java.util.Arrays;
+
+/**
+ * Graph of the corridors of a map. Nodes are the walkable tiles where a corridor
+ * forks or ends (every walkable tile with a number of walkable neighbours other
+ * than 2), edges are the corridors between them with their length in tiles.
+ * A closed loop without forks gets one of its tiles as node.
+ *
+ * Nodes are numbered from 0, the edges of node n are
+ * getEdgeTarget(e) / getEdgeLength(e) for e in getFirstEdge(n) until
+ * getFirstEdge(n + 1), every corridor appears once in each direction.
+ */
+public final class CorridorGraph {
+
+    private final int w;
+    private final int[] nodeTiles;
+    private final int[] nodeOfTile;
+    private final int[] firstEdge;
+    private final int[] edgeTargets;
+    private final short[] edgeLengths;
+
+    private CorridorGraph(int w, int[] nodeTiles, int[] nodeOfTile, int[] firstEdge, int[] edgeTargets,
+            short[] edgeLengths) {
+        this.w = w;
+        this.nodeTiles = nodeTiles;
+        this.nodeOfTile = nodeOfTile;
+        this.firstEdge = firstEdge;
+        this.edgeTargets = edgeTargets;
+        this.edgeLengths = edgeLengths;
+    }
+
+    /**
+     * @param navigation walkable tiles of the map
+     */
+    static CorridorGraph of(MapNavigation navigation) {
+        int w = navigation.getW();
+        int tiles = w * navigation.getH();
+        int[] nodeOfTile = new int[tiles];
+        Arrays.fill(nodeOfTile, -1);
+        boolean[] visited = new boolean[tiles];
+
+        int[] nodeTiles = new int[16];
+        int nodes = 0;
+        for (int tile = 0; tile < tiles; tile++) {
+            if (navigation.isWalkable(tile) && navigation.countWalkableNeighbours(tile) != 2) {
+                nodeTiles = grow(nodeTiles, nodes);
+                nodeOfTile[tile] = nodes;
+                nodeTiles[nodes++] = tile;
+            }
+        }
+
+        int[] neighbours = new int[MapNavigation.NEIGHBOURS];
+        int[] firstEdge = new int[nodes + 1];
+        int[] edgeTargets = new int[nodes * 2 + 16];
+        short[] edgeLengths = new short[edgeTargets.length];
+        int edges = 0;
+        int scan = 0;
+
+        for (int node = 0; ; node++) {
+            if (node == nodes) {
+                // loops without forks have not been reached from any node yet
+                while (scan < tiles && (!navigation.isWalkable(scan) || visited[scan] || nodeOfTile[scan] >= 0)) {
+                    scan++;
+                }
+                if (scan == tiles) {
+                    break;
+                }
+                nodeTiles = grow(nodeTiles, nodes);
+                nodeOfTile[scan] = nodes;
+                nodeTiles[nodes++] = scan;
+            }
+            if (node + 1 >= firstEdge.length) {
+                firstEdge = Arrays.copyOf(firstEdge, firstEdge.length * 2 + 2);
+            }
+            firstEdge[node] = edges;
+
+            int start = nodeTiles[node];
+            int count = navigation.walkableNeighbours(start, neighbours);
+            for (int i = 0; i < count; i++) {
+                int previous = start;
+                int current = neighbours[i];
+                int length = 1;
+                while (nodeOfTile[current] < 0) {
+                    visited[current] = true;
+                    int next = navigation.otherWalkableNeighbour(current, previous);
+                    previous = current;
+                    current = next;
+                    length++;
+                }
+                if (edges == edgeTargets.length) {
+                    edgeTargets = Arrays.copyOf(edgeTargets, edges * 2);
+                    edgeLengths = Arrays.copyOf(edgeLengths, edges * 2);
+                }
+                edgeTargets[edges] = nodeOfTile[current];
+                edgeLengths[edges] = (short) Math.min(length, Short.MAX_VALUE);
+                edges++;
+            }
+        }
+        firstEdge = Arrays.copyOf(firstEdge, nodes + 1);
+        firstEdge[nodes] = edges;
+
+        return new CorridorGraph(w, Arrays.copyOf(nodeTiles, nodes), nodeOfTile, firstEdge,
+                Arrays.copyOf(edgeTargets, edges), Arrays.copyOf(edgeLengths, edges));
+    }
+
+    private static int[] grow(int[] array, int size) {
+        return size < array.length ? array : Arrays.copyOf(array, array.length * 2);
+    }
+
+    public int getNodeCount() {
+        return nodeTiles.length;
+    }
+
+    public int getEdgeCount() {
+        return edgeTargets.length;
+    }
+
+    public int getNodeX(int node) {
+        return nodeTiles[node] % w;
+    }
+
+    public int getNodeZ(int node) {
+        return nodeTiles[node] / w;
+    }
+
+    /**
+     * @return the node on tile (x, z), -1 if the tile is a wall or inside a corridor
+     */
+    public int getNodeAt(int x, int z) {
+        return nodeOfTile[z * w + x];
+    }
+
+    public int getFirstEdge(int node) {
+        return firstEdge[node];
+    }
+
+    public int getEdgeTarget(int edge) {
+        return edgeTargets[edge];
+    }
+
+    /**
+     * @return length of the corridor in tiles, capped at Short.MAX_VALUE
+     */
+    public int getEdgeLength(int edge) {
+        return edgeLengths[edge];
+    }
+
+}
@@ -0,0 +1,141 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary file format for maps, an alternative to the csv format of the
+ * saved maps (which takes about 4 bytes per tile).
+ *
+ * Layout, big endian:
+ * - magic "SMAP" (4 bytes)
+ * - version (2 bytes), currently 1
+ * - width and height (4 bytes each)
+ * - CRC32 of the body (4 bytes)
+ * - body: the occupation type ordinal of every tile, row by row (z), packed with
+ *   2 bits per tile, 4 tiles per byte starting at the lowest bits
+ *
+ * Files are loaded through FileChannel.map, so the body is unpacked straight from
+ * the page cache without stream or decoder buffers in between.
+ */
+public final class MapBinaryFormat {
+
+    public static final String FILE_EXTENSION = ".smap";
+    public static final short VERSION = 1;
+
+    private static final int MAGIC = 0x534D4150; // "SMAP"
+    private static final int HEADER_SIZE = 18;
+    private static final int BITS_PER_TILE = 2;
+    private static final int TILES_PER_BYTE = Byte.SIZE / BITS_PER_TILE;
+    private static final int TILE_MASK = (1 << BITS_PER_TILE) - 1;
+    private static final int TYPE_COUNT = OccupationType.values().length;
+
+    private MapBinaryFormat() {
+    }
+
+    /**
+     * @param fileName name of a map file
+     * @return true if the name has the extension of the binary format
+     */
+    public static boolean isBinary(String fileName) {
+        return fileName.endsWith(FILE_EXTENSION);
+    }
+
+    /**
+     * @return the layout of the template in the binary format
+     */
+    public static byte[] encode(MapTemplate template) {
+        byte[] types = template.occupationTypes();
+        byte[] body = new byte[bodySize(types.length)];
+        for (int i = 0; i < types.length; i++) {
+            body[i / TILES_PER_BYTE] |= (byte) (types[i] << (i % TILES_PER_BYTE * BITS_PER_TILE));
+        }
+        CRC32 crc = new CRC32();
+        crc.update(body);
+
+        return ByteBuffer.allocate(HEADER_SIZE + body.length)
+                .putInt(MAGIC)
+                .putShort(VERSION)
+                .putInt(template.getW())
+                .putInt(template.getH())
+                .putInt((int) crc.getValue())
+                .put(body)
+                .array();
+    }
+
+    /**
+     * Reads a map in the binary format, the position of the buffer is not changed
+     *
+     * @param buffer the content of a map file
+     * @return the template with the layout of the map
+     * @throws IOException if the content is no valid map
+     */
+    public static MapTemplate decode(ByteBuffer buffer) throws IOException {
+        ByteBuffer content = buffer.duplicate();
+        if (content.remaining() < HEADER_SIZE || content.getInt() != MAGIC) {
+            throw new IOException("not a binary map file");
+        }
+        short version = content.getShort();
+        if (version != VERSION) {
+            throw new IOException("unsupported binary map version " + version + ", expected " + VERSION);
+        }
+        int w = content.getInt();
+        int h = content.getInt();
+        int checksum = content.getInt();
+        if (w <= 0 || h <= 0 || (long) w * h > Integer.MAX_VALUE) {
+            throw new IOException("invalid map size " + w + "x" + h);
+        }
+
+        int tiles = w * h;
+        if (content.remaining() != bodySize(tiles)) {
+            throw new IOException("expected " + bodySize(tiles) + " bytes for a " + w + "x" + h + " map, got "
+                    + content.remaining());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(content.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("checksum mismatch, the map file is damaged");
+        }
+
+        byte[] types = new byte[tiles];
+        int body = content.position();
+        for (int i = 0; i < tiles; i++) {
+            int type = content.get(body + i / TILES_PER_BYTE) >> (i % TILES_PER_BYTE * BITS_PER_TILE) & TILE_MASK;
+            if (type >= TYPE_COUNT) {
+                throw new IOException("unknown occupation type " + type + " at tile " + (i % w) + "|" + (i / w));
+            }
+            types[i] = (byte) type;
+        }
+        return MapTemplate.of(w, h, types);
+    }
+
+    /**
+     * @param path map file in the binary format
+     * @return the template with the layout of the map
+     * @throws IOException if the file cannot be read or is no valid map
+     */
+    public static MapTemplate read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return decode(buffer);
+        }
+    }
+
+    /**
+     * Writes the layout of the template to the given file, replacing it if it exists
+     */
+    public static void write(MapTemplate template, Path path) throws IOException {
+        Files.write(path, encode(template));
+    }
+
+    private static int bodySize(int tiles) {
+        return (tiles + TILES_PER_BYTE - 1) / TILES_PER_BYTE;
+    }
+
+}
@@ -0,0 +1,99 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts saved maps between the csv format and the binary format (see
+ * MapBinaryFormat), the source files are kept.
+ *
+ * Usage: MapConverter [--to-csv] [file or directory ...]
+ * Without files all maps in MapGenerationConfig.SAVED_MAPS_PATH are converted,
+ * run with "./gradlew convertMaps" (add "-PtoCsv" for the other direction).
+ */
+public final class MapConverter {
+
+    private MapConverter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean toCsv = false;
+        List<Path> sources = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--to-csv")) {
+                toCsv = true;
+            } else {
+                sources.add(Path.of(arg));
+            }
+        }
+        if (sources.isEmpty()) {
+            sources.add(Path.of(MapGenerationConfig.SAVED_MAPS_PATH));
+        }
+
+        int failed = 0;
+        for (Path source : sources) {
+            for (Path file : files(source, toCsv ? MapBinaryFormat.FILE_EXTENSION : ".csv")) {
+                try {
+                    Path target = toCsv ? toCsv(file) : toBinary(file);
+                    System.out.println(file + " -> " + target);
+                } catch (IOException e) {
+                    System.err.println(file + ": " + e.getMessage());
+                    failed++;
+                }
+            }
+        }
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Writes the map of the csv file as binary file next to it
+     *
+     * @return the binary file
+     */
+    public static Path toBinary(Path csvFile) throws IOException {
+        MapTemplate template = MapTemplate.parse(Files.readString(csvFile, StandardCharsets.UTF_8));
+        Path target = withExtension(csvFile, ".csv", MapBinaryFormat.FILE_EXTENSION);
+        MapBinaryFormat.write(template, target);
+        return target;
+    }
+
+    /**
+     * Writes the map of the binary file as csv file next to it
+     *
+     * @return the csv file
+     */
+    public static Path toCsv(Path binaryFile) throws IOException {
+        MapTemplate template = MapBinaryFormat.read(binaryFile);
+        Path target = withExtension(binaryFile, MapBinaryFormat.FILE_EXTENSION, ".csv");
+        Files.writeString(target, template.toString(), StandardCharsets.UTF_8);
+        return target;
+    }
+
+    private static List<Path> files(Path source, String extension) throws IOException {
+        if (!Files.isDirectory(source)) {
+            return List.of(source);
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> directory = Files.newDirectoryStream(source, "*" + extension)) {
+            directory.forEach(files::add);
+        }
+        files.sort(null);
+        return files;
+    }
+
+    private static Path withExtension(Path file, String from, String to) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(from)) {
+            name = name.substring(0, name.length() - from.length());
+        }
+        return file.resolveSibling(name + to);
+    }
+
+}
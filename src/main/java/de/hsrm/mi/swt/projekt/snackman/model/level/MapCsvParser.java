@@ -0,0 +1,182 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Single pass parser for the csv format of the saved maps: one row (z) per line,
+ * tiles separated by ',' and every tile is one of the glyphs of OccupationType.
+ * Reads the content in chunks and writes the occupation types straight into the
+ * byte array of the template, no strings are created per line or tile.
+ * Line breaks may be "\n" or "\r\n", empty lines are only allowed at the end.
+ */
+final class MapCsvParser {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private static final byte WALL = (byte) OccupationType.WALL.ordinal();
+    private static final byte FREE = (byte) OccupationType.FREE.ordinal();
+    private static final byte ITEM = (byte) OccupationType.ITEM.ordinal();
+
+    private byte[] types;
+    private int count;
+    private int width = -1;
+    private int line = 1;
+    private int column;
+    private int tilesInLine;
+    private int emptyLine;
+    private boolean expectTile = true;
+    private boolean skipLineFeed;
+    private final int lengthHint;
+
+    private MapCsvParser(int lengthHint) {
+        this.lengthHint = lengthHint;
+        this.types = new byte[lengthHint > 0 ? Math.min(lengthHint / 2 + 1, INITIAL_CAPACITY) : INITIAL_CAPACITY];
+    }
+
+    /**
+     * @param csv content of a map file
+     * @return the template with the layout of the content
+     * @throws MapFormatException if the content is no valid map
+     */
+    static MapTemplate parse(String csv) throws MapFormatException {
+        MapCsvParser parser = new MapCsvParser(csv.length());
+        char[] buffer = new char[Math.min(BUFFER_SIZE, csv.length())];
+        for (int start = 0; start < csv.length(); start += buffer.length) {
+            int end = Math.min(start + buffer.length, csv.length());
+            csv.getChars(start, end, buffer, 0);
+            parser.accept(buffer, end - start);
+        }
+        return parser.finish();
+    }
+
+    /**
+     * @param reader content of a map file, not closed
+     * @return the template with the layout of the content
+     * @throws MapFormatException if the content is no valid map
+     * @throws IOException        if the content cannot be read
+     */
+    static MapTemplate parse(Reader reader) throws IOException {
+        MapCsvParser parser = new MapCsvParser(0);
+        char[] buffer = new char[BUFFER_SIZE];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            parser.accept(buffer, read);
+        }
+        return parser.finish();
+    }
+
+    private void accept(char[] buffer, int length) throws MapFormatException {
+        for (int i = 0; i < length; i++) {
+            char c = buffer[i];
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            column++;
+
+            if (expectTile) {
+                byte type = switch (c) {
+                    case '\u2588' -> WALL;
+                    case '\u2591' -> FREE;
+                    case '\u25CF' -> ITEM;
+                    default -> -1;
+                };
+                if (type >= 0) {
+                    if (emptyLine != 0) {
+                        throw new MapFormatException("empty line within map", emptyLine, 1);
+                    }
+                    add(type);
+                    expectTile = false;
+                } else if (c == BYTE_ORDER_MARK && line == 1 && column == 1) {
+                    column = 0;
+                } else if ((c == '\n' || c == '\r') && tilesInLine == 0) {
+                    if (emptyLine == 0) {
+                        emptyLine = line;
+                    }
+                    nextLine(c);
+                } else {
+                    throw new MapFormatException("expected a tile (█, ░ or ●) but found " + describe(c),
+                            line, column);
+                }
+            } else if (c == ',') {
+                expectTile = true;
+            } else if (c == '\n' || c == '\r') {
+                endLine();
+                nextLine(c);
+            } else {
+                throw new MapFormatException("expected ',' or a line break but found " + describe(c), line, column);
+            }
+        }
+    }
+
+    private void add(byte type) throws MapFormatException {
+        if (tilesInLine == width) {
+            throw new MapFormatException("line has more than " + width + " tiles", line, column);
+        }
+        if (count == types.length) {
+            types = Arrays.copyOf(types, Math.max(count * 2, INITIAL_CAPACITY));
+        }
+        types[count++] = type;
+        tilesInLine++;
+    }
+
+    private void endLine() throws MapFormatException {
+        if (width < 0) {
+            width = tilesInLine;
+            presize();
+        } else if (tilesInLine != width) {
+            throw new MapFormatException("line has " + tilesInLine + " tiles, expected " + width, line, column);
+        }
+    }
+
+    /**
+     * Once the width is known, the number of lines can be estimated from the length
+     * of the content, every tile takes a glyph and a separator
+     */
+    private void presize() {
+        if (lengthHint <= 0) {
+            return;
+        }
+        int lineLength = 2 * width;
+        long expected = (long) width * ((lengthHint + lineLength - 1) / lineLength);
+        if (expected > types.length && expected <= Integer.MAX_VALUE) {
+            types = Arrays.copyOf(types, (int) expected);
+        }
+    }
+
+    private void nextLine(char c) {
+        skipLineFeed = c == '\r';
+        line++;
+        column = 0;
+        tilesInLine = 0;
+        expectTile = true;
+    }
+
+    private MapTemplate finish() throws MapFormatException {
+        if (!expectTile) {
+            endLine();
+        } else if (tilesInLine > 0) {
+            throw new MapFormatException("expected a tile after ','", line, column + 1);
+        }
+        if (count == 0) {
+            throw new MapFormatException("empty map file", 1, 1);
+        }
+        byte[] layout = count == types.length ? types : Arrays.copyOf(types, count);
+        return MapTemplate.of(width, count / width, layout);
+    }
+
+    private static String describe(char c) {
+        return switch (c) {
+            case '\n', '\r' -> "a line break";
+            case ',' -> "','";
+            default -> "'" + c + "'";
+        };
+    }
+
+}
@@ -0,0 +1,32 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+import java.io.IOException;
+
+/**
+ * Thrown if map csv content is no valid map, knows where the problem is
+ */
+public class MapFormatException extends IOException {
+
+    private final int line;
+    private final int column;
+
+    /**
+     * @param message description of the problem
+     * @param line    line of the problem, starting at 1
+     * @param column  character in the line, starting at 1
+     */
+    public MapFormatException(String message, int line, int column) {
+        super(message + " (line " + line + ", column " + column + ")");
+        this.line = line;
+        this.column = column;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+}
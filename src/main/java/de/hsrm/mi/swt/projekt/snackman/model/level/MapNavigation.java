@@ -0,0 +1,286 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reachability and distances on the layout of a MapTemplate, for ghosts, chickens
+ * and bots that should know more than their 3x3 surroundings.
+ * Moves go to the 4 orthogonal neighbours, every tile except walls is walkable
+ * (walls never change during a game).
+ *
+ * A distance field holds the number of steps from every tile to one target tile,
+ * UNREACHABLE for walls and tiles without a way to the target. Fields are computed
+ * with a breadth-first search on first use and shared by all games on the same
+ * template, so distance lookups are O(1) and following a path is O(path).
+ * Distances are capped at Short.MAX_VALUE - 1, which only matters for maps with
+ * more than 32766 walkable tiles.
+ */
+public final class MapNavigation {
+
+    public static final short UNREACHABLE = -1;
+    /** Number of distance fields kept per template */
+    public static final int FIELD_CACHE_CAPACITY = 256;
+
+    static final int NEIGHBOURS = 4;
+    private static final int[] OFFSET_X = { 1, 0, -1, 0 };
+    private static final int[] OFFSET_Z = { 0, 1, 0, -1 };
+    private static final byte WALL = (byte) OccupationType.WALL.ordinal();
+    private static final short MAX_DISTANCE = Short.MAX_VALUE - 1;
+
+    private final int w;
+    private final int h;
+    private final byte[] occupationTypes;
+    private final Map<Integer, short[]> distanceFields = new ConcurrentHashMap<>();
+    private volatile CorridorGraph corridorGraph;
+
+    /**
+     * @param occupationTypes layout of the template, not modified
+     */
+    MapNavigation(int w, int h, byte[] occupationTypes) {
+        this.w = w;
+        this.h = h;
+        this.occupationTypes = occupationTypes;
+    }
+
+    public int getW() {
+        return w;
+    }
+
+    public int getH() {
+        return h;
+    }
+
+    /**
+     * @return index of tile (x, z) in the distance fields
+     */
+    public int index(int x, int z) {
+        return z * w + x;
+    }
+
+    public int xOf(int index) {
+        return index % w;
+    }
+
+    public int zOf(int index) {
+        return index / w;
+    }
+
+    public boolean contains(int x, int z) {
+        return x >= 0 && x < w && z >= 0 && z < h;
+    }
+
+    public boolean isWalkable(int x, int z) {
+        return contains(x, z) && isWalkable(index(x, z));
+    }
+
+    boolean isWalkable(int index) {
+        return occupationTypes[index] != WALL;
+    }
+
+    /**
+     * @return the corridor graph of the map, computed on first use
+     */
+    public CorridorGraph getCorridorGraph() {
+        CorridorGraph graph = corridorGraph;
+        if (graph == null) {
+            synchronized (this) {
+                graph = corridorGraph;
+                if (graph == null) {
+                    graph = CorridorGraph.of(this);
+                    corridorGraph = graph;
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Returns the steps from every tile to the target, shared with other callers, so
+     * it must not be modified
+     *
+     * @return distances indexed by index(x, z)
+     * @throws IndexOutOfBoundsException if the target is outside the map
+     */
+    public short[] getDistanceField(int toX, int toZ) {
+        checkBounds(toX, toZ);
+        int target = index(toX, toZ);
+        short[] field = distanceFields.get(target);
+        if (field == null) {
+            if (distanceFields.size() >= FIELD_CACHE_CAPACITY) {
+                // any field will do, the popular ones are computed again soon enough
+                Iterator<Integer> fields = distanceFields.keySet().iterator();
+                if (fields.hasNext()) {
+                    distanceFields.remove(fields.next());
+                }
+            }
+            field = distanceFields.computeIfAbsent(target, t -> computeDistances(new int[] { t }, 1));
+        }
+        return field;
+    }
+
+    /**
+     * Computes the steps from every tile to the nearest of the given tiles, e.g. to
+     * the nearest SnackMan. Not cached, as the tiles usually change every tick.
+     *
+     * @param xs x-coordinates of the targets
+     * @param zs z-coordinates of the targets, same length as xs
+     * @return distances indexed by index(x, z)
+     */
+    public short[] computeNearestDistanceField(int[] xs, int[] zs) {
+        int[] targets = new int[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            checkBounds(xs[i], zs[i]);
+            targets[i] = index(xs[i], zs[i]);
+        }
+        return computeDistances(targets, targets.length);
+    }
+
+    /**
+     * @return steps from (fromX, fromZ) to (toX, toZ), UNREACHABLE if there is no
+     *         way or one of the tiles is outside the map
+     */
+    public int distance(int fromX, int fromZ, int toX, int toZ) {
+        if (!contains(fromX, fromZ) || !contains(toX, toZ)) {
+            return UNREACHABLE;
+        }
+        return getDistanceField(toX, toZ)[index(fromX, fromZ)];
+    }
+
+    /**
+     * @return index of the neighbour of (fromX, fromZ) that is one step closer to
+     *         (toX, toZ), the start itself if it is the target, -1 if there is no way
+     */
+    public int nextStep(int fromX, int fromZ, int toX, int toZ) {
+        if (!contains(fromX, fromZ) || !contains(toX, toZ)) {
+            return -1;
+        }
+        short[] field = getDistanceField(toX, toZ);
+        return nextStep(field, index(fromX, fromZ));
+    }
+
+    /**
+     * @return indices of the tiles on a shortest way from (fromX, fromZ) to (toX, toZ),
+     *         without the start and with the target, empty if there is no way
+     */
+    public int[] findPath(int fromX, int fromZ, int toX, int toZ) {
+        int distance = distance(fromX, fromZ, toX, toZ);
+        if (distance <= 0) {
+            return new int[0];
+        }
+        short[] field = getDistanceField(toX, toZ);
+        int[] path = new int[distance];
+        int current = index(fromX, fromZ);
+        for (int i = 0; i < distance; i++) {
+            current = nextStep(field, current);
+            path[i] = current;
+        }
+        return path;
+    }
+
+    private int nextStep(short[] field, int from) {
+        short distance = field[from];
+        if (distance == UNREACHABLE) {
+            return -1;
+        }
+        if (distance == 0) {
+            return from;
+        }
+        int x = xOf(from);
+        int z = zOf(from);
+        for (int i = 0; i < NEIGHBOURS; i++) {
+            int nx = x + OFFSET_X[i];
+            int nz = z + OFFSET_Z[i];
+            if (contains(nx, nz) && field[index(nx, nz)] == distance - 1) {
+                return index(nx, nz);
+            }
+        }
+        // only beyond the distance cap
+        return -1;
+    }
+
+    private short[] computeDistances(int[] targets, int count) {
+        short[] field = new short[w * h];
+        Arrays.fill(field, UNREACHABLE);
+        int[] queue = new int[w * h];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < count; i++) {
+            int target = targets[i];
+            if (isWalkable(target) && field[target] == UNREACHABLE) {
+                field[target] = 0;
+                queue[tail++] = target;
+            }
+        }
+
+        while (head < tail) {
+            int current = queue[head++];
+            short next = (short) Math.min(field[current] + 1, MAX_DISTANCE);
+            int x = xOf(current);
+            int z = zOf(current);
+            for (int i = 0; i < NEIGHBOURS; i++) {
+                int nx = x + OFFSET_X[i];
+                int nz = z + OFFSET_Z[i];
+                if (contains(nx, nz)) {
+                    int neighbour = index(nx, nz);
+                    if (field[neighbour] == UNREACHABLE && isWalkable(neighbour)) {
+                        field[neighbour] = next;
+                        queue[tail++] = neighbour;
+                    }
+                }
+            }
+        }
+        return field;
+    }
+
+    int countWalkableNeighbours(int index) {
+        int x = xOf(index);
+        int z = zOf(index);
+        int count = 0;
+        for (int i = 0; i < NEIGHBOURS; i++) {
+            if (isWalkable(x + OFFSET_X[i], z + OFFSET_Z[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param neighbours receives the indices of the walkable neighbours
+     * @return number of walkable neighbours
+     */
+    int walkableNeighbours(int index, int[] neighbours) {
+        int x = xOf(index);
+        int z = zOf(index);
+        int count = 0;
+        for (int i = 0; i < NEIGHBOURS; i++) {
+            if (isWalkable(x + OFFSET_X[i], z + OFFSET_Z[i])) {
+                neighbours[count++] = index(x + OFFSET_X[i], z + OFFSET_Z[i]);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the walkable neighbour of a corridor tile that is not the given one
+     */
+    int otherWalkableNeighbour(int index, int previous) {
+        int x = xOf(index);
+        int z = zOf(index);
+        for (int i = 0; i < NEIGHBOURS; i++) {
+            if (isWalkable(x + OFFSET_X[i], z + OFFSET_Z[i]) && index(x + OFFSET_X[i], z + OFFSET_Z[i]) != previous) {
+                return index(x + OFFSET_X[i], z + OFFSET_Z[i]);
+            }
+        }
+        return previous;
+    }
+
+    private void checkBounds(int x, int z) {
+        if (!contains(x, z)) {
+            throw new IndexOutOfBoundsException("Position " + x + "|" + z + " not within bounds");
+        }
+    }
+
+}
@@ -0,0 +1,195 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.hsrm.mi.swt.projekt.snackman.configuration.GameConfig;
+
+/**
+ * Generates random maps in the background, so starting a game does not wait for
+ * the sidewinder algorithm.
+ * For every map size in use a few generated layouts are kept ready; taking one
+ * hands out a new map on it and orders a replacement. The default size of the
+ * GameConfig is prepared right away, other sizes once they are asked for (up to
+ * MAX_SIZES sizes, further sizes are generated when they are taken).
+ */
+public final class MapPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(MapPool.class);
+
+    public static final int MAPS_PER_SIZE = 2;
+    public static final int MAX_SIZES = 8;
+
+    private final int mapsPerSize;
+    private final int maxSizes;
+    private final ExecutorService generators;
+    private final Map<Long, ReadyMaps> sizes = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Generated layouts of one size
+     */
+    private static final class ReadyMaps {
+
+        private final int w;
+        private final int h;
+        private final Queue<MapTemplate> templates = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private ReadyMaps(int w, int h) {
+            this.w = w;
+            this.h = h;
+        }
+
+    }
+
+    /**
+     * Holder of the instance, so the generator threads are only started when a
+     * random map is needed
+     */
+    private static final class InstanceHolder {
+        private static final MapPool INSTANCE = createDefault();
+
+        private static MapPool createDefault() {
+            MapPool pool = new MapPool(MAPS_PER_SIZE, MAX_SIZES,
+                    Math.max(1, Runtime.getRuntime().availableProcessors() / 4));
+            GameConfig defaults = new GameConfig();
+            pool.prepare(defaults.getMapWidth(), defaults.getMapHeight());
+            return pool;
+        }
+    }
+
+    /**
+     * @param mapsPerSize number of layouts kept ready per size
+     * @param maxSizes    maximum number of sizes that are kept ready
+     * @param threads     number of background threads that generate maps
+     */
+    MapPool(int mapsPerSize, int maxSizes, int threads) {
+        this.mapsPerSize = mapsPerSize;
+        this.maxSizes = maxSizes;
+        this.generators = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "map-generator");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    public static MapPool getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Starts keeping maps of the given size ready
+     *
+     * @return false if already MAX_SIZES sizes are kept ready
+     */
+    public boolean prepare(int w, int h) {
+        ReadyMaps ready = readyMaps(w, h);
+        if (ready == null) {
+            return false;
+        }
+        refill(ready);
+        return true;
+    }
+
+    /**
+     * Returns a random map of the given size, a prepared one if there is one,
+     * otherwise it is generated right away
+     */
+    public SnackManMap take(int w, int h) {
+        ReadyMaps ready = readyMaps(w, h);
+        MapTemplate template = null;
+        if (ready != null) {
+            template = ready.templates.poll();
+            if (template != null) {
+                ready.size.decrementAndGet();
+            }
+            refill(ready);
+        }
+
+        if (template != null) {
+            hits.incrementAndGet();
+            return template.newMap();
+        }
+        misses.incrementAndGet();
+        return new SnackManMap(w, h);
+    }
+
+    /**
+     * @return number of maps of the given size that are ready to be taken
+     */
+    public int getReadyCount(int w, int h) {
+        ReadyMaps ready = sizes.get(key(odd(w), odd(h)));
+        return ready == null ? 0 : ready.size.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private ReadyMaps readyMaps(int w, int h) {
+        int oddW = odd(w);
+        int oddH = odd(h);
+        long key = key(oddW, oddH);
+        ReadyMaps ready = sizes.get(key);
+        if (ready == null && sizes.size() < maxSizes) {
+            ready = sizes.computeIfAbsent(key, k -> new ReadyMaps(oddW, oddH));
+        }
+        return ready;
+    }
+
+    /**
+     * Orders as many maps as are missing, counting the ones being generated
+     */
+    private void refill(ReadyMaps ready) {
+        while (true) {
+            int pending = ready.pending.get();
+            if (ready.size.get() + pending >= mapsPerSize) {
+                return;
+            }
+            if (ready.pending.compareAndSet(pending, pending + 1)) {
+                generators.execute(() -> generate(ready));
+            }
+        }
+    }
+
+    private void generate(ReadyMaps ready) {
+        try {
+            long seed = ThreadLocalRandom.current().nextLong();
+            ready.templates.add(new SnackManMap(ready.w, ready.h, seed).getTemplate());
+            ready.size.incrementAndGet();
+        } catch (RuntimeException e) {
+            logger.error("Generating a " + ready.w + "x" + ready.h + " map failed", e);
+        } finally {
+            ready.pending.decrementAndGet();
+        }
+    }
+
+    // SnackManMap makes the sizes of generated maps odd
+    private static int odd(int length) {
+        return length % 2 == 1 ? length : length + 1;
+    }
+
+    private static long key(int w, int h) {
+        return ((long) w << 32) | h;
+    }
+
+}
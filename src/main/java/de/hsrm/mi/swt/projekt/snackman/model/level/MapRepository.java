@@ -0,0 +1,163 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Parses map csv files (uploaded or saved) into MapTemplates and keeps the most
+ * recently used templates, keyed by a hash of the csv content. Lobbies on a map
+ * that was uploaded or loaded before start without parsing it again.
+ * Saved maps are only read again from disk when the file has changed.
+ * Hits, misses and evictions are published as "snackman.maps.cache.*" metrics.
+ */
+public class MapRepository {
+
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final int capacity;
+    // access ordered, the eldest entry is the least recently used template
+    private final LinkedHashMap<String, MapTemplate> templates;
+    private final Map<Path, SavedMap> savedMaps = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private record SavedMap(long lastModified, long size, MapTemplate template) {
+    }
+
+    public MapRepository() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity maximum number of templates kept
+     */
+    public MapRepository(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.templates = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MapTemplate> eldest) {
+                if (size() > MapRepository.this.capacity) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        FunctionCounter.builder("snackman.maps.cache.hits", hits, AtomicLong::get)
+                .description("Maps found in the template cache")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("snackman.maps.cache.misses", misses, AtomicLong::get)
+                .description("Maps that had to be parsed")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("snackman.maps.cache.evictions", evictions, AtomicLong::get)
+                .description("Templates dropped from the full cache")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("snackman.maps.cache.size", this, MapRepository::size)
+                .description("Templates in the cache")
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Returns the template of the given csv content, parsing it only if it is not
+     * in the cache
+     *
+     * @param csv content of a map file
+     * @return the template of the map
+     * @throws IOException if the content is no valid map
+     */
+    public MapTemplate fromCsv(String csv) throws IOException {
+        String key = hash(csv);
+        synchronized (templates) {
+            MapTemplate template = templates.get(key);
+            if (template != null) {
+                hits.incrementAndGet();
+                return template;
+            }
+        }
+
+        misses.incrementAndGet();
+        MapTemplate template = MapTemplate.parse(csv);
+        synchronized (templates) {
+            templates.put(key, template);
+        }
+        return template;
+    }
+
+    /**
+     * Returns the template of a map saved in MapGenerationConfig.SAVED_MAPS_PATH,
+     * the file is only read if it was not read before or has changed since
+     *
+     * @param fileName name of the map file, csv or binary (see MapBinaryFormat)
+     * @return the template of the map
+     * @throws IOException if the file cannot be read or is no valid map
+     */
+    public MapTemplate fromSavedMap(String fileName) throws IOException {
+        Path path = Path.of(MapGenerationConfig.SAVED_MAPS_PATH, fileName).toAbsolutePath().normalize();
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        long size = Files.size(path);
+
+        SavedMap saved = savedMaps.get(path);
+        if (saved != null && saved.lastModified() == lastModified && saved.size() == size) {
+            hits.incrementAndGet();
+            return saved.template();
+        }
+
+        MapTemplate template;
+        if (MapBinaryFormat.isBinary(fileName)) {
+            misses.incrementAndGet();
+            template = MapBinaryFormat.read(path);
+        } else {
+            template = fromCsv(Files.readString(path, StandardCharsets.UTF_8));
+        }
+        savedMaps.put(path, new SavedMap(lastModified, size, template));
+        return template;
+    }
+
+    private static String hash(String csv) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(csv.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform has to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int size() {
+        synchronized (templates) {
+            return templates.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+}
@@ -0,0 +1,165 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pristine, immutable layout of a map (the occupation type of every tile).
+ * Templates are content-addressed: all maps with the same layout, e.g. every game
+ * on the same uploaded or saved map, share one template. A SnackManMap plays on a
+ * template and only copies the layout when one of its tiles changes, the game
+ * objects on the tiles are kept per map anyway.
+ */
+public final class MapTemplate {
+
+    private static final Map<Key, TemplateReference> TEMPLATES = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<MapTemplate> RELEASED = new ReferenceQueue<>();
+
+    private final int w;
+    private final int h;
+    private final byte[] occupationTypes;
+    private volatile MapNavigation navigation;
+
+    private MapTemplate(int w, int h, byte[] occupationTypes) {
+        this.w = w;
+        this.h = h;
+        this.occupationTypes = occupationTypes;
+    }
+
+    /**
+     * Returns the template with the given layout, creating it if no map uses this
+     * layout yet
+     *
+     * @param occupationTypes ordinals of the occupation types, row by row, kept by
+     *                        a new template, so it must not be modified afterwards
+     */
+    static MapTemplate of(int w, int h, byte[] occupationTypes) {
+        expungeReleased();
+        Key key = new Key(w, h, occupationTypes);
+        MapTemplate template = null;
+        while (template == null) {
+            MapTemplate created = new MapTemplate(w, h, occupationTypes);
+            TemplateReference reference = TEMPLATES.compute(key, (k, existing) -> existing != null
+                    && existing.get() != null ? existing : new TemplateReference(created, key));
+            template = reference.get();
+        }
+        return template;
+    }
+
+    /**
+     * Reads a layout in the csv format of the saved maps, see MapCsvParser
+     *
+     * @param csv content of a map file, one row (z) per line
+     * @return the template with this layout
+     * @throws MapFormatException if the content is no valid map
+     */
+    public static MapTemplate parse(String csv) throws MapFormatException {
+        return MapCsvParser.parse(csv);
+    }
+
+    /**
+     * Reads a layout in the csv format of the saved maps, see MapCsvParser
+     *
+     * @param reader content of a map file, one row (z) per line
+     * @return the template with this layout
+     * @throws IOException if the content cannot be read or is no valid map
+     */
+    public static MapTemplate parse(Reader reader) throws IOException {
+        return MapCsvParser.parse(reader);
+    }
+
+    private static void expungeReleased() {
+        TemplateReference released;
+        while ((released = (TemplateReference) RELEASED.poll()) != null) {
+            TEMPLATES.remove(released.key, released);
+        }
+    }
+
+    /**
+     * @return number of distinct layouts that are currently in use
+     */
+    public static int getTemplateCount() {
+        expungeReleased();
+        return TEMPLATES.size();
+    }
+
+    /**
+     * @return a new map with this layout and no game objects on it
+     */
+    public SnackManMap newMap() {
+        return new SnackManMap(this);
+    }
+
+    /**
+     * @return distances and corridors of this layout, created on first use and
+     *         shared by all maps on this template
+     */
+    public MapNavigation getNavigation() {
+        MapNavigation result = navigation;
+        if (result == null) {
+            synchronized (this) {
+                result = navigation;
+                if (result == null) {
+                    result = new MapNavigation(w, h, occupationTypes);
+                    navigation = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    public int getW() {
+        return w;
+    }
+
+    public int getH() {
+        return h;
+    }
+
+    /**
+     * @return the layout, only handed to TileStores which copy it before writing
+     */
+    byte[] occupationTypes() {
+        return occupationTypes;
+    }
+
+    /**
+     * @return the layout in the csv format of the saved maps
+     */
+    @Override
+    public String toString() {
+        return new TileStore(this).toString();
+    }
+
+    private record Key(int w, int h, byte[] occupationTypes) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && other.w == w && other.h == h
+                    && Arrays.equals(other.occupationTypes, occupationTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return (w * 31 + h) * 31 + Arrays.hashCode(occupationTypes);
+        }
+
+    }
+
+    private static final class TemplateReference extends WeakReference<MapTemplate> {
+
+        private final Key key;
+
+        TemplateReference(MapTemplate template, Key key) {
+            super(template, RELEASED);
+            this.key = key;
+        }
+
+    }
+
+}
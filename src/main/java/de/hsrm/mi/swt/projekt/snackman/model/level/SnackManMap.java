@@ -1,13 +1,13 @@
 package de.hsrm.mi.swt.projekt.snackman.model.level;
 
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.io.StringReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -15,6 +15,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.logging.Logger;
 
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Food;
@@ -23,14 +24,13 @@ import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.TileRecord;
 
 public class SnackManMap implements Cloneable {
 
-    // due to sidewinder (and Simon's brain):
     // Tile at (x, z) (y is always at 0, we view the map as 2D) can be reached via
-    // allTiles[z][x],
-    // or (recommended) getTileAt(x, z)
+    // getTileAt(x, z). The tiles are stored flat in a TileStore, row by row (z),
+    // a Tile is only a view on it
     private int w; // x-coordinate
     private int h; // z-coordinate
-    private Tile[][] allTiles;
-    private SnackManMap originalMap;
+    private TileStore tiles;
+    private MapTemplate template;
     private static final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
 
     /**
@@ -42,15 +42,29 @@ public class SnackManMap implements Cloneable {
      * @param h höhe
      */
     public SnackManMap(int w, int h) {
+        this(w, h, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructor, creates randomly generated Map object with dimensions width w
+     * and height h, the same seed always results in the same map
+     * to ensure proper map, w and h are made odd, if not already
+     * 
+     * @param w    breite
+     * @param h    höhe
+     * @param seed seed of the random generator
+     */
+    public SnackManMap(int w, int h, long seed) {
         this.w = (w % 2 == 1) ? w : w + 1;
         this.h = (h % 2 == 1) ? h : h + 1;
         this.makeBlankMap();
-        this.sidewinder();
+        this.sidewinder(new Random(seed));
         this.saveOriginal();
     }
 
     /**
-     * Constructor, creates Map object on base of given csv file
+     * Constructor, creates Map object on base of given csv file or binary map file
+     * (see MapBinaryFormat)
      * 
      * @param input  path to file (only filename needed, no path), or contents of
      *               csv-file
@@ -58,63 +72,44 @@ public class SnackManMap implements Cloneable {
      *               regarded as file-content
      */
     public SnackManMap(String input, boolean isPath) {
-        try (BufferedReader reader = (isPath)
-                ? new BufferedReader(new FileReader(MapGenerationConfig.SAVED_MAPS_PATH + input))
-                : new BufferedReader(new StringReader(input))) {
-            parseFileContent(reader);
+        try {
+            if (isPath && MapBinaryFormat.isBinary(input)) {
+                this.template = MapBinaryFormat.read(Path.of(MapGenerationConfig.SAVED_MAPS_PATH + input));
+            } else if (isPath) {
+                try (Reader reader = new FileReader(MapGenerationConfig.SAVED_MAPS_PATH + input, StandardCharsets.UTF_8)) {
+                    this.template = MapTemplate.parse(reader);
+                }
+            } else {
+                this.template = MapTemplate.parse(input);
+            }
+            this.w = template.getW();
+            this.h = template.getH();
+            this.tiles = new TileStore(template);
         } catch (IOException e) {
             logger.warning("Something went wrong while loading file:");
             logger.warning(e.getMessage());
         }
-        saveOriginal();
     }
 
-    private void parseFileContent(BufferedReader reader) throws IOException {
-        String line;
-
-        int lines = 0;
-        int numTokens = 0;
-        List<Tile[]> allRows = new ArrayList<>();
-
-        while ((line = reader.readLine()) != null) {
-            List<Tile> currentRow = new ArrayList<>();
-            String[] tokens = line.split(",");
-
-            if (numTokens != 0) {
-                if (numTokens != tokens.length)
-                    throw new IOException("changing number of tokens per line");
-            } else {
-                numTokens = tokens.length;
-            }
-
-            for (int i = 0; i < tokens.length; i++) {
-                Tile newTile;
-                switch (tokens[i].charAt(0)) {
-                    case '\u2588' -> newTile = new Tile(i, lines, OccupationType.WALL);
-                    case '\u2591' -> newTile = new Tile(i, lines, OccupationType.FREE);
-                    case '\u25CF' -> newTile = new Tile(i, lines, OccupationType.ITEM);
-                    default -> throw new IOException("Unexpected token while loading file: " + tokens[i]);
-                }
-
-                currentRow.add(newTile);
-            }
-
-            allRows.add(currentRow.toArray(Tile[]::new));
-            lines++;
-
-        }
-
-        allTiles = allRows.toArray(Tile[][]::new);
-        h = allTiles.length;
-        w = allTiles[0].length;
-
+    /**
+     * Constructor, creates Map object with the layout of the given template and no
+     * game objects on it. The layout is shared with the template until a tile of
+     * this map changes.
+     *
+     * @param template layout of the map
+     */
+    public SnackManMap(MapTemplate template) {
+        this.w = template.getW();
+        this.h = template.getH();
+        this.template = template;
+        this.tiles = new TileStore(template);
     }
 
     /**
      * creates new map with walls on the outside and grid of walls inside
      */
     private void makeBlankMap() {
-        this.allTiles = new Tile[h][w];
+        this.tiles = new TileStore(w, h);
 
         for (int z = 0; z < h; z++) {
             for (int x = 0; x < w; x++) {
@@ -123,19 +118,31 @@ public class SnackManMap implements Cloneable {
                 if (z != h - 1 && x != 0 && x != w - 1 && (z == 1 || (z % 2 == 1 && x % 2 == 1))) {
                     occupationType = OccupationType.ITEM;
                 }
-                allTiles[z][x] = new Tile(x, z, occupationType);
+                setType(x, z, occupationType);
             }
         }
     }
 
+    private OccupationType getType(int x, int z) {
+        return tiles.getType(tiles.index(x, z));
+    }
+
+    private void setType(int x, int z, OccupationType occupationType) {
+        if (!tiles.contains(x, z)) {
+            throw new IndexOutOfBoundsException("Position " + x + "|" + z + " not within bounds");
+        }
+        tiles.setType(tiles.index(x, z), occupationType);
+    }
+
     /**
      * implements sidewinder algorithm to generate new map
      * please be sure to call makeBlankMap() before using sidewinder()
+     *
+     * @param r source of all random decisions
      */
-    private void sidewinder() {
-        Random r = new Random();
-        int w = allTiles[0].length;
-        int h = allTiles.length;
+    private void sidewinder(Random r) {
+        int w = this.w;
+        int h = this.h;
         boolean closed;
 
         for (int row = 3; row < h / 2; row += 2) {
@@ -153,12 +160,12 @@ public class SnackManMap implements Cloneable {
 
                     for (Integer integer : cellUp) {
                         if (row != 1) {
-                            allTiles[row - 1][integer].setOccupationType(OccupationType.ITEM);
+                            setType(integer, row - 1, OccupationType.ITEM);
                         }
                     }
                     run.clear();
                 } else {
-                    allTiles[row][cell + 1].setOccupationType(OccupationType.ITEM);
+                    setType(cell + 1, row, OccupationType.ITEM);
                 }
             }
         }
@@ -168,14 +175,14 @@ public class SnackManMap implements Cloneable {
 
         // for odd h: create empty row in the middle
         for (int i = 1; i < w - 1; i++) {
-            allTiles[h / 2][i].setOccupationType(OccupationType.ITEM);
+            setType(i, h / 2, OccupationType.ITEM);
         }
 
         // to prevent players from being trapped, create two horizontal paths
         int path = w / 4;
         for (int i = 1; i < h - 1; i++) {
-            allTiles[i][path].setOccupationType(OccupationType.ITEM);
-            allTiles[i][w - path].setOccupationType(OccupationType.ITEM);
+            setType(path, i, OccupationType.ITEM);
+            setType(w - path, i, OccupationType.ITEM);
         }
 
         // create place for ghost-spawn
@@ -185,16 +192,15 @@ public class SnackManMap implements Cloneable {
         int middleH = h / 2;
         for (int row = 0; row < spawnWidth; row++) {
             for (int col = 0; col < spawnHeight; col++) {
-                allTiles[middleH - (spawnHeight / 2) + col][middleW - (spawnWidth / 2) + row]
-                        .setOccupationType(OccupationType.FREE);
+                setType(middleW - (spawnWidth / 2) + row, middleH - (spawnHeight / 2) + col, OccupationType.FREE);
             }
         }
 
         // create place for player spawn at each corner
-        allTiles[1][1].setOccupationType(OccupationType.FREE);
-        allTiles[1][w - 2].setOccupationType(OccupationType.FREE);
-        allTiles[h - 2][1].setOccupationType(OccupationType.FREE);
-        allTiles[h - 2][w - 2].setOccupationType(OccupationType.FREE);
+        setType(1, 1, OccupationType.FREE);
+        setType(w - 2, 1, OccupationType.FREE);
+        setType(1, h - 2, OccupationType.FREE);
+        setType(w - 2, h - 2, OccupationType.FREE);
     }
 
     /**
@@ -205,7 +211,7 @@ public class SnackManMap implements Cloneable {
     private void mirror(int h) {
         for (int i = 0; i < h / 2; i++) {
             for (int x = 0; x < w; x++) {
-                allTiles[(h - 1) - i][x].setOccupationType(allTiles[i][x].getOccupationType());
+                setType(x, (h - 1) - i, getType(x, i));
             }
         }
     }
@@ -214,15 +220,13 @@ public class SnackManMap implements Cloneable {
      * saves map-object to csv-file into path established in MapGenerationConfig
      */
     public void saveAsCSV() {
-        LocalDateTime now = LocalDateTime.now();
-        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH_mm_ss");
-        File file = new File(MapGenerationConfig.SAVED_MAPS_PATH + "map_" + now.format(dateTimeFormatter) + ".csv");
+        File file = newSaveFile(".csv");
 
         try (FileWriter writer = new FileWriter(file.getPath(), StandardCharsets.UTF_8)) {
 
             for (int j = 0; j < h; j++) {
                 for (int i = 0; i < w; i++) {
-                    writer.write(allTiles[j][i].getOccupationType().c);
+                    writer.write(getType(i, j).c);
                     if (i < w - 1) {
                         writer.write(",");
                     } else {
@@ -239,6 +243,28 @@ public class SnackManMap implements Cloneable {
         }
     }
 
+    /**
+     * saves map-object in the binary format (see MapBinaryFormat) into path
+     * established in MapGenerationConfig
+     */
+    public void saveAsBinary() {
+        File file = newSaveFile(MapBinaryFormat.FILE_EXTENSION);
+
+        try {
+            MapBinaryFormat.write(MapTemplate.of(w, h, tiles.getTypes()), file.toPath());
+            logger.info("saved file " + file.getPath());
+        } catch (IOException e) {
+            logger.warning("Something went wrong while saving file");
+            logger.warning(e.getMessage());
+        }
+    }
+
+    private static File newSaveFile(String extension) {
+        LocalDateTime now = LocalDateTime.now();
+        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH_mm_ss");
+        return new File(MapGenerationConfig.SAVED_MAPS_PATH + "map_" + now.format(dateTimeFormatter) + extension);
+    }
+
     public boolean positionIsWithinMapBounds(float x, float z) {
         logger.info("Checking position: x|z " + x + " " + z);
         logger.info("Map bounds: w|h " + w + " " + h);
@@ -248,15 +274,25 @@ public class SnackManMap implements Cloneable {
     }
 
     public Tile getTileAt(int x, int z) throws IndexOutOfBoundsException {
-        try {
-            return allTiles[z][x];
-        } catch(IndexOutOfBoundsException e) {
+        if (!tiles.contains(x, z)) {
             logger.info("Position asked for not within bounds");
-            throw e;
+            throw new IndexOutOfBoundsException("Position " + x + "|" + z + " not within bounds");
         }
+        return new Tile(tiles, x, z);
     }
 
+    /**
+     * Creates views of all tiles, prefer getTileAt
+     *
+     * @return the tiles, tile (x, z) at [z][x]
+     */
     public Tile[][] getAllTiles() {
+        Tile[][] allTiles = new Tile[h][w];
+        for (int z = 0; z < h; z++) {
+            for (int x = 0; x < w; x++) {
+                allTiles[z][x] = new Tile(tiles, x, z);
+            }
+        }
         return allTiles;
     }
 
@@ -277,7 +313,7 @@ public class SnackManMap implements Cloneable {
                 int tileY = tile.getZ() + offsetZ;
 
                 if (tileX >= 0 && tileX < w && tileY >= 0 && tileY < h) {
-                    surroudings[offsetX + 1][offsetZ + 1] = allTiles[tileY][tileX];
+                    surroudings[offsetX + 1][offsetZ + 1] = new Tile(tiles, tileX, tileY);
                 } else {
                     surroudings[offsetX + 1][offsetZ + 1] = null; // outside the map
 
@@ -287,6 +323,32 @@ public class SnackManMap implements Cloneable {
         return surroudings;
     }
 
+    /**
+     * Encodes what a chicken at the given position sees, see Surroundings.
+     * Does not allocate, so it can be called for every chicken many times a second.
+     *
+     * @param x x-coordinate of the position
+     * @param z z-coordinate of the position
+     * @return the 3x3 tiles around the position, row 0 is x + 1, column 0 is z - 1
+     */
+    public int encodeSurroundings(float x, float z) {
+        int centerX = (int) x;
+        int centerZ = (int) z;
+        int surroundings = 0;
+
+        for (int row = 0; row < Surroundings.SIZE; row++) {
+            int tileX = centerX + 1 - row;
+            for (int col = 0; col < Surroundings.SIZE; col++) {
+                int tileZ = centerZ + col - 1;
+                TileContent content = tiles.contains(tileX, tileZ)
+                        ? tiles.getContent(tiles.index(tileX, tileZ))
+                        : TileContent.OUT;
+                surroundings = Surroundings.with(surroundings, row, col, content);
+            }
+        }
+        return surroundings;
+    }
+
     public int getW() {
         return w;
     }
@@ -300,15 +362,12 @@ public class SnackManMap implements Cloneable {
         if (!(o instanceof SnackManMap other)) {
             return false;
         }
+        return tiles.hasSameTypes(other.tiles);
+    }
 
-        for (int row = 0; row < h; row++) {
-            for (int col = 0; col < w; col++) {
-                if (this.allTiles[row][col].getOccupationType() != other.allTiles[row][col].getOccupationType())
-                    return false;
-            }
-        }
-
-        return true;
+    @Override
+    public int hashCode() {
+        return tiles.typesHashCode();
     }
 
     public List<Food> getFoodsOfTile(Tile tile) {
@@ -320,49 +379,56 @@ public class SnackManMap implements Cloneable {
         TileRecord [][] tileRecords = new TileRecord[h][w];
         for (int z = 0; z < h; z++) {
             for (int x = 0; x < w; x++) {
-                tileRecords[z][x] = allTiles[z][x].toRecord();
+                tileRecords[z][x] = new Tile(tiles, x, z).toRecord();
             }
         }
         return new SnackManMapRecord(w, h, tileRecords);
     }
 
+    /**
+     * @return the layout this map was created with, shared by all maps with the
+     *         same layout
+     */
+    public MapTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * @return distances and corridors of the layout this map was created with,
+     *         shared by all maps with the same layout
+     */
+    public MapNavigation getNavigation() {
+        return template.getNavigation();
+    }
+
+    /**
+     * @return a new map with the layout this map was created with, without the
+     *         changes and game objects of this map
+     */
     public SnackManMap original() {
-        return this.originalMap;
+        return template.newMap();
     }
 
+    /**
+     * Turns the freshly loaded or generated layout into the template of this map,
+     * a layout that is already in use is shared instead of kept twice
+     */
     private void saveOriginal() {
-        this.originalMap = this.clone();
+        this.template = MapTemplate.of(w, h, tiles.getTypes());
+        this.tiles = new TileStore(template);
     }
 
     @Override
     public String toString() {
-        StringBuilder res = new StringBuilder();
-        for (int j = 0; j < h; j++) {
-            for (int i = 0; i < w; i++) {
-                res.append(allTiles[j][i].getOccupationType().c);
-                if (i < w - 1) {
-                    res.append(",");
-                } else {
-                    res.append("\n");
-                }
-            }
-        }
-        return res.toString();
+        return tiles.toString();
     }
 
     @Override
     public SnackManMap clone() {
         try {
             SnackManMap clone = (SnackManMap) super.clone();
-
-            Tile[][] newAllTiles = new Tile[h][w];
-            for (int row = 0; row < this.h; row++) {
-                for (int col = 0; col < this.w; col++) {
-                    newAllTiles[row][col] = new Tile(col, row, this.allTiles[row][col].getOccupationType());
-                }
-            }
-
-            clone.allTiles = newAllTiles;
+            // occupation types only, like a freshly loaded map, shared until one of the maps changes
+            clone.tiles = this.tiles.copyTypes();
             return clone;
         } catch (CloneNotSupportedException e) {
             logger.warning("Something went wrong while cloning Map: " + e);
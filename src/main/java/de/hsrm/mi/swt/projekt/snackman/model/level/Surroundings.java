@@ -0,0 +1,86 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encoding of the 3x3 tiles around a position in a single int, as returned by
+ * SnackManMap.encodeSurroundings.
+ * Every cell takes 3 bits holding the ordinal of its TileContent. Row 0 is the
+ * northern row (x + 1), column 0 the western column (z - 1), so the cell in the
+ * middle (1, 1) is the tile of the position itself.
+ *
+ */
+public final class Surroundings {
+
+    public static final int SIZE = 3;
+
+    private static final int BITS_PER_CELL = 3;
+    private static final int CELL_MASK = (1 << BITS_PER_CELL) - 1;
+
+    private Surroundings() {
+    }
+
+    /**
+     * @param surroundings encoded surroundings
+     * @param row          row of the cell, 0 to 2
+     * @param col          column of the cell, 0 to 2
+     * @return the content of said cell, OUT for rows or columns outside the 3x3 grid
+     */
+    public static TileContent get(int surroundings, int row, int col) {
+        if (row < 0 || row >= SIZE || col < 0 || col >= SIZE) {
+            return TileContent.OUT;
+        }
+        return TileContent.ofCode((surroundings >>> shift(row, col)) & CELL_MASK);
+    }
+
+    /**
+     * @param surroundings encoded surroundings
+     * @param row          row of the cell, 0 to 2
+     * @param col          column of the cell, 0 to 2
+     * @param content      the new content of said cell
+     * @return the surroundings with the content of the cell replaced
+     */
+    public static int with(int surroundings, int row, int col, TileContent content) {
+        int shift = shift(row, col);
+        return (surroundings & ~(CELL_MASK << shift)) | (content.ordinal() << shift);
+    }
+
+    /**
+     * @param rows the contents of the 3x3 cells, row by row
+     * @return said contents encoded
+     */
+    public static int of(TileContent[][] rows) {
+        int surroundings = 0;
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                surroundings = with(surroundings, row, col, rows[row][col]);
+            }
+        }
+        return surroundings;
+    }
+
+    /**
+     * Decodes the surroundings into the nested lists of names the Python
+     * behavior scripts expect
+     *
+     * @param surroundings encoded surroundings
+     * @return 3x3 list of content names like "WALL" or "GHOST"
+     */
+    public static List<List<String>> toLists(int surroundings) {
+        List<List<String>> rows = new ArrayList<>(SIZE);
+        for (int row = 0; row < SIZE; row++) {
+            List<String> rowList = new ArrayList<>(SIZE);
+            for (int col = 0; col < SIZE; col++) {
+                rowList.add(get(surroundings, row, col).name());
+            }
+            rows.add(rowList);
+        }
+        return rows;
+    }
+
+    private static int shift(int row, int col) {
+        return (row * SIZE + col) * BITS_PER_CELL;
+    }
+
+}
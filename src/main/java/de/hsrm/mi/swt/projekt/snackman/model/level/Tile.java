@@ -1,43 +1,58 @@
 package de.hsrm.mi.swt.projekt.snackman.model.level;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Food;
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.GameObject;
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.FoodRecord;
 import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.TileRecord;
 
+/**
+ * View on a single tile of a map. The occupation type and the game objects on the
+ * tile are kept in the TileStore of the map, so views are cheap to create and two
+ * views of the same tile are equal.
+ */
 public class Tile {
 
+    private static final FoodRecord[] NO_FOOD = new FoodRecord[0];
+
+    private final TileStore store;
     private final int x;
     private final int z;
-    private OccupationType occupationType;
-    private List<Food> foodsOnTile;
-
-    //private GameObject occupation;
-    private final List<GameObject> occupations;
+    private final int index;
 
     /**
-     * Constructor, creates Tile with given parameters:
+     * Constructor, creates Tile with given parameters that does not belong to a map:
      * @param x x-coordinate of Tile (final)
      * @param z z-coordinate of Tile (final)
      * @param occupationType OccupationType of Tile
      */
     public Tile(int x, int z, OccupationType occupationType) {
+        this(new TileStore(1, 1), x, z, 0);
+        setOccupationType(occupationType);
+    }
+
+    /**
+     * Creates the view of tile (x, z) of a map
+     */
+    Tile(TileStore store, int x, int z) {
+        this(store, x, z, store.index(x, z));
+    }
+
+    private Tile(TileStore store, int x, int z, int index) {
+        this.store = store;
         this.x = x;
         this.z = z;
-        this.occupationType = occupationType;
-        this.occupations = new ArrayList<>();
-        this.foodsOnTile = new ArrayList<Food>(); 
+        this.index = index;
     }
 
     public OccupationType getOccupationType() {
-        return occupationType;
+        return store.getType(index);
     }
 
     public void setOccupationType(OccupationType occupationType) {
-        this.occupationType = occupationType;
+        store.setType(index, occupationType);
     }
 
     public int getX() {
@@ -48,46 +63,123 @@ public class Tile {
         return z;
     }
 
-    public List <GameObject> getOccupations() {
-        return occupations;
+    /**
+     * @return read-only view of all game objects on this tile
+     */
+    public Set<GameObject> getOccupations() {
+        TileOccupants occupants = store.getOccupants(index);
+        return occupants == null ? Set.of() : occupants.getOccupations();
     }
+
+    /**
+     * Adds the game object to this tile, adding it twice has no effect
+     *
+     * @param occupation said game object
+     */
     public void addToOccupation(GameObject occupation) {
-        if (occupation == null) {
+        if (occupation == null || !store.occupy(index).add(occupation)) {
             return;
-        } 
-        this.occupations.add(occupation);
+        }
         if (occupation instanceof Food) {
-            this.foodsOnTile.add((Food) occupation);
-            occupationType = OccupationType.ITEM;
+            setOccupationType(OccupationType.ITEM);
         }
     }
-    
+
     public void removeFromOccupation(GameObject occupation) {
-        if (occupations.contains(occupation) && occupation != null) {
-            occupations.remove(occupation); 
+        TileOccupants occupants = store.getOccupants(index);
+        if (occupation == null || occupants == null || !occupants.remove(occupation)) {
+            return;
         }
-        if (occupation instanceof Food) {
-            foodsOnTile.remove(occupation); 
-
-            if (foodsOnTile.size() == 0) {
-                this.occupationType = OccupationType.FREE; 
-            }
+        if (occupation instanceof Food && occupants.getFoodCount() == 0) {
+            setOccupationType(OccupationType.FREE);
         }
+        store.release(index);
+    }
+
+    /**
+     * @param occupation a game object
+     * @return true if said game object is on this tile
+     */
+    public boolean contains(GameObject occupation) {
+        TileOccupants occupants = store.getOccupants(index);
+        return occupants != null && occupants.contains(occupation);
+    }
+
+    public boolean hasOccupations() {
+        return store.getOccupants(index) != null;
+    }
+
+    public boolean hasGhost() {
+        TileOccupants occupants = store.getOccupants(index);
+        return occupants != null && occupants.hasGhost();
+    }
+
+    public boolean hasSnackMan() {
+        TileOccupants occupants = store.getOccupants(index);
+        return occupants != null && occupants.hasSnackMan();
+    }
+
+    public boolean hasChicken() {
+        TileOccupants occupants = store.getOccupants(index);
+        return occupants != null && occupants.hasChicken();
+    }
+
+    public boolean hasFood() {
+        return getFoodCount() > 0;
+    }
+
+    /**
+     * @return number of foods on this tile, eggs included
+     */
+    public int getFoodCount() {
+        TileOccupants occupants = store.getOccupants(index);
+        return occupants == null ? 0 : occupants.getFoodCount();
+    }
+
+    public int getEggCount() {
+        TileOccupants occupants = store.getOccupants(index);
+        return occupants == null ? 0 : occupants.getEggCount();
+    }
+
+    /**
+     * Returns what a chicken sees on this tile, without scanning the occupations
+     *
+     * @return WALL, the occupation with the highest priority (Ghost > SnackMan >
+     *         Chicken > Food) or FREE
+     */
+    public TileContent getContent() {
+        return store.getContent(index);
     }
 
     public TileRecord toRecord () {
-        List<FoodRecord> foodRecords = new ArrayList<FoodRecord>();
-        if (foodsOnTile.size() > 0) {
-            for (Food food: foodsOnTile) {
-                foodRecords.add(food.toRecord());
-            }
+        TileOccupants occupants = store.getOccupants(index);
+        if (occupants == null || occupants.getFoodCount() == 0) {
+            return new TileRecord(x, z, getOccupationType(), NO_FOOD);
+        }
+        List<Food> foods = occupants.getFoods();
+        FoodRecord[] foodRecordsArray = new FoodRecord[foods.size()];
+        for (int i = 0; i < foodRecordsArray.length; i++) {
+            foodRecordsArray[i] = foods.get(i).toRecord();
         }
-        FoodRecord[] foodRecordsArray = foodRecords.toArray(new FoodRecord[foodRecords.size()]);
-        return new TileRecord(x, z, occupationType, foodRecordsArray);
+        return new TileRecord(x, z, getOccupationType(), foodRecordsArray);
     }
 
+    /**
+     * @return read-only list of the foods on this tile in the order they were added
+     */
     public List<Food> getFoodsOnTile() {
-        return foodsOnTile;
+        TileOccupants occupants = store.getOccupants(index);
+        return occupants == null ? List.of() : occupants.getFoods();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Tile other && other.store == store && other.index == index;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(store) * 31 + index;
     }
 
 }
@@ -0,0 +1,27 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+/**
+ * What a chicken sees on a tile: the wall or the occupation with the highest
+ * priority (Ghost > SnackMan > Chicken > Food), OUT for positions outside the map
+ */
+public enum TileContent {
+
+    OUT,
+    FREE,
+    WALL,
+    FOOD,
+    CHICKEN,
+    SNACKMAN,
+    GHOST;
+
+    private static final TileContent[] VALUES = values();
+
+    /**
+     * @param code ordinal of the content
+     * @return said content, without copying the values array
+     */
+    public static TileContent ofCode(int code) {
+        return VALUES[code];
+    }
+
+}
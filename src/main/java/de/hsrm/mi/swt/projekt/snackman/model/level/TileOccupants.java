@@ -0,0 +1,130 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Chicken;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Food;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.FoodType;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.GameObject;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Ghost;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.SnackMan;
+
+/**
+ * The game objects on a single tile together with a summary of them.
+ * Only exists for tiles that are occupied, see TileStore.
+ */
+final class TileOccupants {
+
+    private final Set<GameObject> occupations = Collections.newSetFromMap(new IdentityHashMap<>(4));
+    private final List<Food> foods = new ArrayList<>(2);
+
+    // kept up to date with the occupations, so callers read these instead of scanning them
+    private int ghostCount;
+    private int snackManCount;
+    private int chickenCount;
+    private int eggCount;
+
+    /**
+     * @return false if the game object was already on the tile
+     */
+    boolean add(GameObject occupation) {
+        if (!occupations.add(occupation)) {
+            return false;
+        }
+        count(occupation, 1);
+        if (occupation instanceof Food food) {
+            foods.add(food);
+        }
+        return true;
+    }
+
+    /**
+     * @return false if the game object was not on the tile
+     */
+    boolean remove(GameObject occupation) {
+        if (!occupations.remove(occupation)) {
+            return false;
+        }
+        count(occupation, -1);
+        if (occupation instanceof Food) {
+            foods.remove(occupation);
+        }
+        return true;
+    }
+
+    private void count(GameObject occupation, int delta) {
+        switch (occupation) {
+            case Ghost ghost -> ghostCount += delta;
+            case SnackMan snackMan -> snackManCount += delta;
+            case Chicken chicken -> chickenCount += delta;
+            case Food food -> {
+                if (food.getFoodType() == FoodType.EGG) {
+                    eggCount += delta;
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    boolean contains(GameObject occupation) {
+        return occupations.contains(occupation);
+    }
+
+    boolean isEmpty() {
+        return occupations.isEmpty();
+    }
+
+    Set<GameObject> getOccupations() {
+        return Collections.unmodifiableSet(occupations);
+    }
+
+    List<Food> getFoods() {
+        return Collections.unmodifiableList(foods);
+    }
+
+    int getFoodCount() {
+        return foods.size();
+    }
+
+    int getEggCount() {
+        return eggCount;
+    }
+
+    /**
+     * @return the occupation with the highest priority (Ghost > SnackMan > Chicken
+     *         > Food) or FREE
+     */
+    TileContent getContent() {
+        if (ghostCount > 0) {
+            return TileContent.GHOST;
+        }
+        if (snackManCount > 0) {
+            return TileContent.SNACKMAN;
+        }
+        if (chickenCount > 0) {
+            return TileContent.CHICKEN;
+        }
+        if (!foods.isEmpty()) {
+            return TileContent.FOOD;
+        }
+        return TileContent.FREE;
+    }
+
+    boolean hasGhost() {
+        return ghostCount > 0;
+    }
+
+    boolean hasSnackMan() {
+        return snackManCount > 0;
+    }
+
+    boolean hasChicken() {
+        return chickenCount > 0;
+    }
+
+}
@@ -0,0 +1,162 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+import java.util.Arrays;
+
+/**
+ * Backing store of a SnackManMap.
+ * The occupation type of every tile is a single byte (its ordinal) in a flat
+ * array, tile (x, z) is at index z * w + x. Occupants only exist for tiles that
+ * have game objects on them, the side table for them is allocated with the first
+ * occupant, so maps that are never played on (like the original map) stay a
+ * plain byte array.
+ * The byte array may be shared with a MapTemplate or with clones of the map, it
+ * is copied before the first write (copy-on-write).
+ */
+final class TileStore {
+
+    private static final OccupationType[] TYPES = OccupationType.values();
+
+    private final int w;
+    private final int h;
+    private byte[] occupationTypes;
+    private boolean sharedTypes;
+    private TileOccupants[] occupants;
+
+    TileStore(int w, int h) {
+        this(w, h, new byte[w * h]);
+    }
+
+    /**
+     * @param occupationTypes ordinals of the occupation types, row by row
+     */
+    TileStore(int w, int h, byte[] occupationTypes) {
+        if (occupationTypes.length != w * h) {
+            throw new IllegalArgumentException("Expected " + w * h + " tiles, got " + occupationTypes.length);
+        }
+        this.w = w;
+        this.h = h;
+        this.occupationTypes = occupationTypes;
+    }
+
+    /**
+     * Creates a store on the layout of the template, without copying it
+     */
+    TileStore(MapTemplate template) {
+        this(template.getW(), template.getH(), template.occupationTypes());
+        this.sharedTypes = true;
+    }
+
+    int getW() {
+        return w;
+    }
+
+    int getH() {
+        return h;
+    }
+
+    boolean contains(int x, int z) {
+        return x >= 0 && x < w && z >= 0 && z < h;
+    }
+
+    int index(int x, int z) {
+        return z * w + x;
+    }
+
+    OccupationType getType(int index) {
+        return TYPES[occupationTypes[index]];
+    }
+
+    void setType(int index, OccupationType occupationType) {
+        byte ordinal = (byte) occupationType.ordinal();
+        if (occupationTypes[index] == ordinal) {
+            return;
+        }
+        if (sharedTypes) {
+            occupationTypes = occupationTypes.clone();
+            sharedTypes = false;
+        }
+        occupationTypes[index] = ordinal;
+    }
+
+    /**
+     * @return the occupants of the tile, null if it is not occupied
+     */
+    TileOccupants getOccupants(int index) {
+        return occupants == null ? null : occupants[index];
+    }
+
+    /**
+     * @return the occupants of the tile, created if it is not occupied yet
+     */
+    TileOccupants occupy(int index) {
+        if (occupants == null) {
+            occupants = new TileOccupants[occupationTypes.length];
+        }
+        TileOccupants tileOccupants = occupants[index];
+        if (tileOccupants == null) {
+            tileOccupants = new TileOccupants();
+            occupants[index] = tileOccupants;
+        }
+        return tileOccupants;
+    }
+
+    /**
+     * Drops the occupants of the tile once the last game object has left it
+     */
+    void release(int index) {
+        if (occupants != null && occupants[index] != null && occupants[index].isEmpty()) {
+            occupants[index] = null;
+        }
+    }
+
+    /**
+     * @return what a chicken sees on the tile, see Tile.getContent
+     */
+    TileContent getContent(int index) {
+        if (occupationTypes[index] == OccupationType.WALL.ordinal()) {
+            return TileContent.WALL;
+        }
+        TileOccupants tileOccupants = getOccupants(index);
+        return tileOccupants == null ? TileContent.FREE : tileOccupants.getContent();
+    }
+
+    /**
+     * @return a store with the same occupation types and no occupants, both
+     *         stores share the types until one of them changes a tile
+     */
+    TileStore copyTypes() {
+        TileStore copy = new TileStore(w, h, occupationTypes);
+        copy.sharedTypes = true;
+        sharedTypes = true;
+        return copy;
+    }
+
+    /**
+     * @return a copy of the occupation types, row by row
+     */
+    byte[] getTypes() {
+        return occupationTypes.clone();
+    }
+
+    boolean hasSameTypes(TileStore other) {
+        return w == other.w && h == other.h && Arrays.equals(occupationTypes, other.occupationTypes);
+    }
+
+    int typesHashCode() {
+        return Arrays.hashCode(occupationTypes);
+    }
+
+    /**
+     * @return the occupation types in the csv format of the saved maps
+     */
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder(occupationTypes.length * 2);
+        for (int i = 0; i < occupationTypes.length; i++) {
+            res.append(TYPES[occupationTypes[i]].c);
+            res.append((i + 1) % w == 0 ? '\n' : ',');
+        }
+        return res.toString();
+    }
+
+}
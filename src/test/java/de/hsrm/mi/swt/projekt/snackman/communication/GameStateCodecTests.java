@@ -0,0 +1,130 @@
+package de.hsrm.mi.swt.projekt.snackman.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.EntitySnapshot;
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.FoodChange;
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.GameStateDecoder;
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.GameStateEncoder;
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.GameStateSnapshot;
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.SnapshotHistory;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.FoodType;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.ChickenRecord;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.FoodRecord;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.GhostRecord;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.SnackManRecord;
+
+class GameStateCodecTests {
+
+    private SnapshotHistory history;
+    private GameStateDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        history = new SnapshotHistory();
+        decoder = new GameStateDecoder();
+    }
+
+    private GameStateSnapshot snapshot(long sequence, float snackManX, int calories) {
+        GameStateSnapshot snapshot = new GameStateSnapshot(sequence, 100, List.of(
+                EntitySnapshot.of(new SnackManRecord(1, 10, "Larissa", snackManX, 0, 1.5f, calories)),
+                EntitySnapshot.of(new GhostRecord(1, 11, "Boo", 0, 5.25f, 0, 3)),
+                EntitySnapshot.of(new ChickenRecord(1, 12, 7, 0, 7, 0, 0.3f, "NEUTRAL"))),
+                history.getFoodChangeCount());
+        history.add(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Tests whether a full frame restores all entities with quantised positions
+     */
+    @Test
+    void testFullFrameRoundTrip() {
+        GameStateSnapshot snapshot = snapshot(1, 2.5f, 0);
+
+        long sequence = decoder.apply(GameStateEncoder.encode(snapshot, null, history));
+
+        assertEquals(1, sequence);
+        assertEquals(3, decoder.getEntities().size());
+        EntitySnapshot snackMan = decoder.getEntities().get(10L);
+        assertEquals("Larissa", snackMan.username());
+        assertEquals(2.5f, GameStateEncoder.dequantizePosition(snackMan.x()));
+        assertEquals(0.3f, GameStateEncoder.dequantizeRadius(decoder.getEntities().get(12L).radius()));
+        assertEquals(100, decoder.getRemainingSeconds());
+    }
+
+    /**
+     * Tests whether a delta only carries the changed fields and decodes to the new state
+     */
+    @Test
+    void testDeltaAgainstBaseline() {
+        GameStateSnapshot first = snapshot(1, 2.5f, 0);
+        byte[] full = GameStateEncoder.encode(first, null, history);
+        decoder.apply(full);
+
+        GameStateSnapshot second = snapshot(2, 2.55f, 100);
+        byte[] delta = GameStateEncoder.encode(second, first, history);
+        decoder.apply(delta);
+
+        assertTrue(delta.length < full.length / 2);
+        assertEquals(second.entities().get(0), decoder.getEntities().get(10L));
+        assertEquals(first.entities().get(1), decoder.getEntities().get(11L));
+    }
+
+    /**
+     * Tests whether entities missing in the new snapshot are removed
+     */
+    @Test
+    void testRemovedEntity() {
+        GameStateSnapshot first = snapshot(1, 2.5f, 0);
+        decoder.apply(GameStateEncoder.encode(first, null, history));
+
+        GameStateSnapshot second = new GameStateSnapshot(2, 99, first.entities().subList(0, 2), 0);
+        decoder.apply(GameStateEncoder.encode(second, first, history));
+
+        assertFalse(decoder.getEntities().containsKey(12L));
+        assertEquals(2, decoder.getEntities().size());
+    }
+
+    /**
+     * Tests whether food changes repeated until the client acknowledges are only applied once
+     */
+    @Test
+    void testFoodChangesAppliedOnce() {
+        GameStateSnapshot first = snapshot(1, 2.5f, 0);
+        decoder.apply(GameStateEncoder.encode(first, null, history));
+
+        history.addFoodChange(FoodChange.eaten(new FoodRecord(1, 20, 3, 0, 3, 100, FoodType.HEALTHY)));
+        GameStateSnapshot second = snapshot(2, 2.5f, 100);
+        decoder.apply(GameStateEncoder.encode(second, first, history));
+
+        history.addFoodChange(FoodChange.laid(new FoodRecord(1, 21, 7, 0, 7, 50, FoodType.EGG)));
+        GameStateSnapshot third = snapshot(3, 2.5f, 100);
+        // second was not acknowledged yet, so the eaten food is sent again
+        decoder.apply(GameStateEncoder.encode(third, first, history));
+
+        assertEquals(2, decoder.getFoodChanges().size());
+        assertTrue(decoder.getFoodChanges().get(0).eaten());
+        assertEquals(FoodType.EGG, decoder.getFoodChanges().get(1).foodType());
+    }
+
+    /**
+     * Tests whether overwritten snapshots are no longer used as baseline
+     */
+    @Test
+    void testHistoryForgetsOldSnapshots() {
+        snapshot(1, 2.5f, 0);
+        snapshot(1 + SnapshotHistory.CAPACITY, 2.5f, 0);
+
+        assertEquals(null, history.get(1));
+        assertEquals(1 + SnapshotHistory.CAPACITY, history.get(1 + SnapshotHistory.CAPACITY).sequence());
+    }
+
+}
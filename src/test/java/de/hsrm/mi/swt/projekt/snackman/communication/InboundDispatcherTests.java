@@ -0,0 +1,128 @@
+package de.hsrm.mi.swt.projekt.snackman.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import de.hsrm.mi.swt.projekt.snackman.communication.websocket.InboundDispatcher;
+
+class InboundDispatcherTests {
+
+    /**
+     * Tests whether messages are handled on the calling thread in blocking mode
+     */
+    @Test
+    void testBlockingModeRunsOnCallingThread() throws Exception {
+        InboundDispatcher dispatcher = new InboundDispatcher(false, 16);
+        List<Thread> threads = new ArrayList<>();
+
+        dispatcher.dispatch(1L, () -> threads.add(Thread.currentThread()));
+
+        assertEquals(1, threads.size());
+        assertSame(Thread.currentThread(), threads.get(0));
+        assertThrows(IllegalStateException.class, () -> dispatcher.dispatch(1L, () -> {
+            throw new IllegalStateException();
+        }));
+    }
+
+    /**
+     * Tests whether messages of one mailbox are handled in order on virtual threads
+     */
+    @Test
+    void testVirtualModeKeepsOrderPerMailbox() throws Exception {
+        InboundDispatcher dispatcher = new InboundDispatcher(true, 1024);
+        int messages = 500;
+        List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(messages);
+
+        for (int i = 0; i < messages; i++) {
+            int number = i;
+            dispatcher.dispatch(1L, () -> {
+                assertTrue(Thread.currentThread().isVirtual());
+                handled.add(number);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < messages; i++) {
+            assertEquals(i, handled.get(i).intValue());
+        }
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Tests whether a blocked mailbox does not hold up other mailboxes
+     */
+    @Test
+    void testSlowMailboxDoesNotBlockOthers() throws Exception {
+        InboundDispatcher dispatcher = new InboundDispatcher(true, 1024);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherDone = new CountDownLatch(1);
+
+        dispatcher.dispatch(1L, release::await);
+        dispatcher.dispatch(2L, otherDone::countDown);
+
+        assertTrue(otherDone.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Tests whether a mailbox released by one of its own tasks is forgotten once
+     * that task is done
+     */
+    @Test
+    void testReleaseFromOwnTask() throws Exception {
+        InboundDispatcher dispatcher = new InboundDispatcher(true, 1024);
+        CountDownLatch done = new CountDownLatch(1);
+
+        dispatcher.dispatch(1L, () -> {
+            dispatcher.release(1L);
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        // the mailbox removes itself right after the task
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dispatcher.getMailboxCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, dispatcher.getMailboxCount());
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Tests whether a message that does not fit into its mailbox is reported as dropped
+     */
+    @Test
+    void testFullMailboxDropsMessage() throws Exception {
+        InboundDispatcher dispatcher = new InboundDispatcher(true, 1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        assertTrue(dispatcher.dispatch(1L, () -> {
+            running.countDown();
+            release.await();
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        assertTrue(dispatcher.dispatch(1L, () -> {
+        }));
+        assertFalse(dispatcher.dispatch(1L, () -> {
+        }));
+        assertEquals(1, dispatcher.getDroppedMessages());
+
+        release.countDown();
+        dispatcher.shutdown();
+    }
+}
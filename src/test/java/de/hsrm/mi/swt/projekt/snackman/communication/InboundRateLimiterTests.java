@@ -0,0 +1,122 @@
+package de.hsrm.mi.swt.projekt.snackman.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import de.hsrm.mi.swt.projekt.snackman.communication.websocket.InboundRateLimiter;
+import de.hsrm.mi.swt.projekt.snackman.communication.websocket.MessageCodec;
+
+class InboundRateLimiterTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Tests whether a burst is allowed and the messages after it are dropped
+     * until the bucket has been refilled
+     */
+    @Test
+    void testBurstAndRefill() {
+        InboundRateLimiter rateLimiter = new InboundRateLimiter("CHAT:2:3");
+        InboundRateLimiter.Buckets buckets = rateLimiter.newBuckets();
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(buckets.tryAcquire("CHAT", now));
+        }
+        assertFalse(buckets.tryAcquire("CHAT", now));
+        assertEquals(1, rateLimiter.getDropped("CHAT"));
+
+        // two messages per second, so after half a second one more is allowed
+        assertTrue(buckets.tryAcquire("CHAT", now + SECOND / 2));
+        assertFalse(buckets.tryAcquire("CHAT", now + SECOND / 2));
+        assertEquals(2, rateLimiter.getDropped("CHAT"));
+    }
+
+    /**
+     * Tests whether types without a limit of their own share the limit of OTHER
+     * and are not limited without it
+     */
+    @Test
+    void testOtherTypes() {
+        InboundRateLimiter rateLimiter = new InboundRateLimiter("MOVE:60:1,*:1:1");
+        InboundRateLimiter.Buckets buckets = rateLimiter.newBuckets();
+        long now = System.nanoTime();
+
+        assertTrue(buckets.tryAcquire("JOIN_LOBBY", now));
+        assertFalse(buckets.tryAcquire("CHOOSEROLE", now));
+        assertFalse(buckets.tryAcquire(null, now));
+        assertTrue(buckets.tryAcquire("MOVE", now));
+        assertEquals(2, rateLimiter.getDropped("CHOOSEROLE"));
+        assertEquals(0, rateLimiter.getDropped("MOVE"));
+
+        InboundRateLimiter.Buckets unlimited = new InboundRateLimiter("MOVE:1:1").newBuckets();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(unlimited.tryAcquire("CHAT", now));
+        }
+    }
+
+    /**
+     * Tests whether the buckets of clients are independent of each other
+     */
+    @Test
+    void testBucketsPerClient() {
+        InboundRateLimiter rateLimiter = new InboundRateLimiter("MOVE:1:1");
+        long now = System.nanoTime();
+        InboundRateLimiter.Buckets first = rateLimiter.newBuckets();
+        InboundRateLimiter.Buckets second = rateLimiter.newBuckets();
+
+        assertTrue(first.tryAcquire("MOVE", now));
+        assertFalse(first.tryAcquire("MOVE", now));
+        assertTrue(second.tryAcquire("MOVE", now));
+    }
+
+    /**
+     * Tests whether specifications are parsed and malformed ones are rejected
+     */
+    @Test
+    void testSpecification() {
+        assertEquals(5, new InboundRateLimiter(InboundRateLimiter.DEFAULT_LIMITS).getLimits().size());
+        assertEquals(new InboundRateLimiter.Limit(0.5, 2), new InboundRateLimiter(" CHAT : 0.5 : 2 ").getLimits().get("CHAT"));
+        assertFalse(new InboundRateLimiter("").isEnabled());
+
+        assertThrows(IllegalArgumentException.class, () -> new InboundRateLimiter("CHAT:2"));
+        assertThrows(IllegalArgumentException.class, () -> new InboundRateLimiter("CHAT:fast:2"));
+        assertThrows(IllegalArgumentException.class, () -> new InboundRateLimiter("CHAT:2:0"));
+    }
+
+    /**
+     * Tests whether the type of a message is found without decoding it
+     */
+    @Test
+    void testPeekType() {
+        assertEquals("MOVE", MessageCodec.peekType("{\"type\":\"MOVE\",\"gameID\":7}"));
+        assertEquals("CHAT", MessageCodec.peekType("{\"text\":\"hi\", \"type\" : \"CHAT\"}"));
+        assertNull(MessageCodec.peekType("{\"gameID\":7}"));
+        assertNull(MessageCodec.peekType("{\"type\":7}"));
+        assertNull(MessageCodec.peekType("{\"type\":"));
+    }
+
+    /**
+     * Tests whether messages with a second type are recognised, whose decoded type
+     * differs from the one they were rate limited by (the handler drops them)
+     */
+    @Test
+    void testPeekTypeDiffersForDuplicateKeys() {
+        MessageCodec codec = new MessageCodec();
+        String duplicate = "{\"type\":\"MOVE\",\"type\":\"CHAT\",\"lobbyID\":3,\"text\":\"spam\"}";
+        String nested = "{\"x\":{\"type\":\"MOVE\"},\"type\":\"CHAT\",\"lobbyID\":3,\"text\":\"spam\"}";
+
+        assertEquals("MOVE", MessageCodec.peekType(duplicate));
+        assertEquals("CHAT", codec.decode(duplicate).type());
+        assertEquals("MOVE", MessageCodec.peekType(nested));
+        assertEquals("CHAT", codec.decode(nested).type());
+    }
+
+}
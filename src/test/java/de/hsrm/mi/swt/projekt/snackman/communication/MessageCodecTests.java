@@ -0,0 +1,74 @@
+package de.hsrm.mi.swt.projekt.snackman.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.JsonSyntaxException;
+
+import de.hsrm.mi.swt.projekt.snackman.communication.events.frontendToBackend.ChatEvent;
+import de.hsrm.mi.swt.projekt.snackman.communication.events.frontendToBackend.MoveEvent;
+import de.hsrm.mi.swt.projekt.snackman.communication.websocket.MessageCodec;
+import de.hsrm.mi.swt.projekt.snackman.communication.websocket.MessageCodec.InboundMessage;
+
+class MessageCodecTests {
+
+    private final MessageCodec codec = new MessageCodec();
+
+    /**
+     * Tests whether a MOVE message is bound to a MoveEvent
+     */
+    @Test
+    void testDecodeMove() {
+        InboundMessage message = codec.decode("{\"type\":\"MOVE\",\"gameID\":7,\"objectID\":42,"
+                + "\"movementVector\":{\"x\":1.0,\"y\":0.0,\"z\":-1.0}}");
+
+        assertEquals("MOVE", message.type());
+        MoveEvent moveEvent = assertInstanceOf(MoveEvent.class, message.event());
+        assertEquals(7, moveEvent.getGameID());
+        assertEquals(42, moveEvent.getObjectID());
+        assertEquals(1.0f, moveEvent.getMovementVector().x);
+        assertEquals(-1.0f, moveEvent.getMovementVector().z);
+    }
+
+    /**
+     * Tests whether the type may appear anywhere in the message
+     */
+    @Test
+    void testDecodeChatWithTypeLast() {
+        InboundMessage message = codec.decode("{\"lobbyID\":3,\"username\":\"snacky\",\"text\":\"hi\",\"type\":\"CHAT\"}");
+
+        ChatEvent chatEvent = assertInstanceOf(ChatEvent.class, message.event());
+        assertEquals(3, chatEvent.getLobbyID());
+        assertEquals("hi", chatEvent.getText());
+    }
+
+    /**
+     * Tests whether messages without an Event class come with their JSON only
+     */
+    @Test
+    void testDecodeWithoutEventClass() {
+        InboundMessage message = codec.decode("{\"type\":\"JOIN_LOBBY\",\"lobbyCode\":12}");
+
+        assertFalse(codec.hasEventClass("JOIN_LOBBY"));
+        assertTrue(codec.hasEventClass("MOVE"));
+        assertNull(message.event());
+        assertEquals(12, message.json().get("lobbyCode").getAsLong());
+    }
+
+    /**
+     * Tests whether messages that are no JSON objects with a type are rejected
+     */
+    @Test
+    void testDecodeInvalid() {
+        assertThrows(JsonSyntaxException.class, () -> codec.decode("{\"gameID\":7}"));
+        assertThrows(JsonSyntaxException.class, () -> codec.decode("[1, 2]"));
+        assertThrows(JsonSyntaxException.class, () -> codec.decode("{\"type\":"));
+    }
+
+}
@@ -0,0 +1,76 @@
+package de.hsrm.mi.swt.projekt.snackman.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.BufferUnderflowException;
+import java.util.Arrays;
+
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.FrameReader;
+import de.hsrm.mi.swt.projekt.snackman.communication.binary.MoveFrame;
+import de.hsrm.mi.swt.projekt.snackman.communication.events.EventType;
+import de.hsrm.mi.swt.projekt.snackman.communication.events.frontendToBackend.MoveEvent;
+
+class MoveFrameTests {
+
+    private static MoveEvent roundTrip(byte[] frame, long gameId) {
+        FrameReader reader = new FrameReader(frame);
+        assertEquals(MoveFrame.OPCODE_MOVE, reader.readByte());
+        return MoveFrame.decode(reader, gameId);
+    }
+
+    /**
+     * Tests whether a frame results in the same MoveEvent as the JSON message
+     */
+    @Test
+    void testRoundTrip() {
+        byte[] frame = MoveFrame.encode(42, 300, new Vector3f(0.6f, 0, -0.8f));
+
+        MoveEvent moveEvent = roundTrip(frame, 7);
+
+        assertEquals(EventType.MOVE, moveEvent.getType());
+        assertEquals(7, moveEvent.getGameID());
+        assertEquals(42, moveEvent.getObjectID());
+        assertEquals(300, moveEvent.getSequence());
+        assertEquals(0.6f, moveEvent.getMovementVector().x, 1 / MoveFrame.DIRECTION_SCALE);
+        assertEquals(0.0f, moveEvent.getMovementVector().y);
+        assertEquals(-0.8f, moveEvent.getMovementVector().z, 1 / MoveFrame.DIRECTION_SCALE);
+        assertTrue(frame.length <= 8);
+    }
+
+    /**
+     * Tests whether jumping restores a normalised vector
+     */
+    @Test
+    void testJump() {
+        float diagonal = (float) (1 / Math.sqrt(3));
+        MoveEvent moveEvent = roundTrip(MoveFrame.encode(1, 1, new Vector3f(diagonal, diagonal, diagonal)), 1);
+        Vector3f vector = moveEvent.getMovementVector();
+
+        assertEquals(diagonal, vector.y, 0.02f);
+        assertEquals(1.0f, (float) Math.sqrt(vector.x * vector.x + vector.y * vector.y + vector.z * vector.z), 0.02f);
+
+        MoveEvent upwards = roundTrip(MoveFrame.encode(1, 2, new Vector3f(0, 1, 0)), 1);
+        assertEquals(1.0f, upwards.getMovementVector().y);
+    }
+
+    /**
+     * Tests whether components beyond the range are clamped and truncated frames rejected
+     */
+    @Test
+    void testClampAndTruncated() {
+        byte[] frame = MoveFrame.encode(5, 9, new Vector3f(3, 0, -3));
+
+        MoveEvent moveEvent = roundTrip(frame, 1);
+        assertEquals(1.0f, moveEvent.getMovementVector().x);
+        assertEquals(-1.0f, moveEvent.getMovementVector().z);
+
+        byte[] truncated = Arrays.copyOf(frame, frame.length - 1);
+        assertThrows(BufferUnderflowException.class, () -> roundTrip(truncated, 1));
+    }
+
+}
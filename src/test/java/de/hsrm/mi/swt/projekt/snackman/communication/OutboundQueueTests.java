@@ -0,0 +1,201 @@
+package de.hsrm.mi.swt.projekt.snackman.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import de.hsrm.mi.swt.projekt.snackman.communication.events.Event;
+import de.hsrm.mi.swt.projekt.snackman.communication.events.backendToFrontend.GameStateEvent;
+import de.hsrm.mi.swt.projekt.snackman.communication.websocket.OutboundMetrics;
+import de.hsrm.mi.swt.projekt.snackman.communication.websocket.OutboundQueue;
+import de.hsrm.mi.swt.projekt.snackman.communication.websocket.SlowClientPolicy;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.FoodType;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.FoodRecord;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.GhostRecord;
+
+class OutboundQueueTests {
+
+    private WebSocketSession session;
+    private OutboundMetrics metrics;
+    // drains are collected instead of run, so the client seems to be stuck
+    private List<Runnable> drains;
+    private List<Event> encoded;
+
+    @BeforeEach
+    void setUp() {
+        session = Mockito.mock(WebSocketSession.class);
+        metrics = new OutboundMetrics();
+        drains = new ArrayList<>();
+        encoded = new ArrayList<>();
+    }
+
+    private OutboundQueue queue(int capacity, SlowClientPolicy policy) {
+        return new OutboundQueue(session, capacity, policy, 5000, drains::add, event -> {
+            encoded.add(event);
+            return new TextMessage("GAME_STATE;");
+        }, metrics);
+    }
+
+    private GameStateEvent state(long ghostId, float x, long eatenFoodId) {
+        return new GameStateEvent(List.of(new GhostRecord(1, ghostId, "Boo", 0, x, 0, 0)), List.of(), List.of(),
+                List.of(new FoodRecord(1, eatenFoodId, 1, 0, 1, 100, FoodType.OKAY)), List.of(), 60);
+    }
+
+    /**
+     * Tests whether only the newest GAME_STATE waits and JSON changes are merged
+     */
+    @Test
+    void testCoalesceMergesWaitingStates() {
+        OutboundQueue queue = queue(16, SlowClientPolicy.COALESCE);
+
+        queue.enqueue(new TextMessage("CHAT;"));
+        queue.enqueueGameState(new TextMessage("GAME_STATE;"), state(10, 1, 20));
+        queue.enqueueGameState(new TextMessage("GAME_STATE;"), state(10, 2, 21));
+
+        assertEquals(2, queue.size());
+        assertEquals(1, encoded.size());
+        GameStateEvent merged = (GameStateEvent) encoded.get(0);
+        assertEquals(1, merged.getUpdatesGhosts().size());
+        assertEquals(2, merged.getUpdatesGhosts().get(0).x());
+        assertEquals(2, merged.getEatenFoods().size());
+    }
+
+    /**
+     * Tests whether an egg laid in a waiting GAME_STATE and eaten in the next one
+     * is neither laid nor eaten in the merged update
+     */
+    @Test
+    void testCoalesceDropsEggsEatenMeanwhile() {
+        OutboundQueue queue = queue(16, SlowClientPolicy.COALESCE);
+        FoodRecord egg = new FoodRecord(1, 30, 2, 0, 2, 100, FoodType.EGG);
+        FoodRecord otherEgg = new FoodRecord(1, 31, 3, 0, 3, 100, FoodType.EGG);
+        GameStateEvent laid = new GameStateEvent(List.of(), List.of(), List.of(), List.of(), List.of(egg, otherEgg), 60);
+        GameStateEvent eaten = new GameStateEvent(List.of(), List.of(), List.of(), List.of(egg), List.of(), 60);
+
+        queue.enqueueGameState(new TextMessage("GAME_STATE;"), laid);
+        queue.enqueueGameState(new TextMessage("GAME_STATE;"), eaten);
+
+        GameStateEvent merged = (GameStateEvent) encoded.get(0);
+        assertEquals(List.of(otherEgg), merged.getLaidEggs());
+        assertTrue(merged.getEatenFoods().isEmpty());
+    }
+
+    /**
+     * Tests whether objects that left the range while an update was waiting stay
+     * hidden unless they came back
+     */
+    @Test
+    void testCoalesceMergesLeftRange() {
+        OutboundQueue queue = queue(16, SlowClientPolicy.COALESCE);
+        GameStateEvent older = new GameStateEvent(List.of(), List.of(), List.of(), List.of(), List.of(), 60);
+        older.setLeftRange(List.of(10L, 11L));
+        GameStateEvent newer = new GameStateEvent(List.of(new GhostRecord(1, 10, "Boo", 0, 1, 0, 1)), List.of(),
+                List.of(), List.of(), List.of(), 60);
+        newer.setLeftRange(List.of(12L));
+
+        queue.enqueueGameState(new TextMessage("GAME_STATE;"), older);
+        queue.enqueueGameState(new TextMessage("GAME_STATE;"), newer);
+
+        GameStateEvent merged = (GameStateEvent) encoded.get(0);
+        assertEquals(List.of(11L, 12L), merged.getLeftRange());
+        assertEquals(1, merged.getUpdatesGhosts().size());
+    }
+
+    /**
+     * Tests whether stale binary frames are only dropped once the queue is full
+     */
+    @Test
+    void testDropStaleOnlyWhenFull() {
+        OutboundQueue queue = queue(2, SlowClientPolicy.DROP_STALE);
+
+        queue.enqueueGameState(new BinaryMessage(new byte[] { 1 }), null);
+        queue.enqueueGameState(new BinaryMessage(new byte[] { 2 }), null);
+        queue.enqueueGameState(new BinaryMessage(new byte[] { 3 }), null);
+
+        assertEquals(2, queue.size());
+        assertEquals(1, metrics.getReplacedGameStates());
+        assertFalse(queue.isClosed());
+    }
+
+    /**
+     * Tests whether a client is disconnected once its queue is full
+     */
+    @Test
+    void testDisconnectWhenFull() throws Exception {
+        OutboundQueue queue = queue(2, SlowClientPolicy.DISCONNECT);
+
+        for (int i = 0; i < 3; i++) {
+            queue.enqueueGameState(new BinaryMessage(new byte[] { 1 }), null);
+        }
+
+        assertTrue(queue.isClosed());
+        assertEquals(0, queue.size());
+        // the session is closed on the executor, not by the caller
+        verify(session, never()).close(any(CloseStatus.class));
+        drains.forEach(Runnable::run);
+        verify(session).close(any(CloseStatus.class));
+    }
+
+    /**
+     * Tests whether a client stuck in a send is disconnected without the caller
+     * waiting for the session to close
+     */
+    @Test
+    void testSendTimeLimitClosesOnExecutor() throws Exception {
+        OutboundQueue queue = new OutboundQueue(session, 16, SlowClientPolicy.COALESCE, 0, drains::add,
+                event -> new TextMessage("GAME_STATE;"), metrics);
+        Mockito.doAnswer(invocation -> {
+            // another message arrives while this send is still in progress
+            Thread.sleep(2);
+            queue.enqueue(new TextMessage("CHAT;2"));
+            return null;
+        }).when(session).sendMessage(any());
+
+        queue.enqueue(new TextMessage("CHAT;1"));
+        drains.get(0).run();
+
+        assertTrue(queue.isClosed());
+        assertEquals(1, metrics.getSlowClientDisconnects());
+        verify(session, never()).close(any(CloseStatus.class));
+        assertEquals(2, drains.size());
+        drains.get(1).run();
+        verify(session).close(any(CloseStatus.class));
+    }
+
+    /**
+     * Tests whether waiting messages are sent in order by the drain
+     */
+    @Test
+    void testDrainSendsInOrder() throws Exception {
+        OutboundQueue queue = queue(16, SlowClientPolicy.COALESCE);
+        List<WebSocketMessage<?>> sent = new ArrayList<>();
+        Mockito.doAnswer(invocation -> sent.add(invocation.getArgument(0))).when(session).sendMessage(any());
+
+        TextMessage first = new TextMessage("CHAT;1");
+        TextMessage second = new TextMessage("CHAT;2");
+        queue.enqueue(first);
+        queue.enqueue(second);
+        assertEquals(1, drains.size());
+        drains.get(0).run();
+
+        assertEquals(List.of(first, second), sent);
+        assertEquals(0, queue.size());
+        assertEquals(2, metrics.getSentMessages());
+    }
+
+}
@@ -1,19 +1,27 @@
 package de.hsrm.mi.swt.projekt.snackman.communication;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
+import de.hsrm.mi.swt.projekt.snackman.communication.events.backendToFrontend.GameEndEvent;
 import de.hsrm.mi.swt.projekt.snackman.communication.websocket.Client;
 import de.hsrm.mi.swt.projekt.snackman.communication.websocket.WebSocketHandler;
 
@@ -29,6 +37,11 @@ public class WebSocketTests {
         session = Mockito.mock(WebSocketSession.class);
     }
 
+    @AfterEach
+    void tearDown() {
+        webSocketHandler.shutdown();
+    }
+
     @Test
     void testAfterConnectionEstablished() throws Exception {
         // Act
@@ -66,4 +79,27 @@ public class WebSocketTests {
         
     }
 
+    /**
+     * Tests whether a broadcast serializes the event once and sends the same message to all clients
+     * @throws Exception
+     */
+    @Test
+    void testBroadcastSerializesOnce() throws Exception {
+        List<Client> recipients = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            recipients.add(new Client(Mockito.mock(WebSocketSession.class)));
+        }
+        long serializations = webSocketHandler.getOutboundMetrics().getSerializations();
+
+        webSocketHandler.broadcastToFrontend(recipients, new GameEndEvent());
+
+        assertEquals(serializations + 1, webSocketHandler.getOutboundMetrics().getSerializations());
+        assertEquals(8, webSocketHandler.getOutboundMetrics().getSentMessages());
+        ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+        verify(recipients.get(0).getSession()).sendMessage(sent.capture());
+        for (Client client : recipients) {
+            verify(client.getSession()).sendMessage(same(sent.getValue()));
+        }
+    }
+
 }
@@ -0,0 +1,122 @@
+package de.hsrm.mi.swt.projekt.snackman.communication.binary;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.FoodType;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.GameObjectType;
+
+/**
+ * Decodes GAME_STATE frames the way a binary client has to, used to test the
+ * GameStateEncoder.
+ * Keeps the states of the last received frames, since every delta refers to the
+ * acknowledged baseline and not necessarily to the previous frame.
+ */
+public class GameStateDecoder {
+
+    private final Map<Long, Map<Long, EntitySnapshot>> states = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Map<Long, EntitySnapshot>> eldest) {
+            return size() > SnapshotHistory.CAPACITY;
+        }
+    };
+    private final List<FoodChange> foodChanges = new ArrayList<>();
+    private Map<Long, EntitySnapshot> entities = new HashMap<>();
+    private long remainingSeconds;
+
+    /**
+     * Applies a GAME_STATE frame
+     *
+     * @param frame said frame
+     * @return sequence of the frame, to be acknowledged
+     * @throws IllegalArgumentException if the frame is no GAME_STATE frame
+     * @throws IllegalStateException    if the baseline of the frame is unknown
+     */
+    public long apply(byte[] frame) {
+        FrameReader reader = new FrameReader(frame);
+        if (reader.readByte() != GameStateEncoder.OPCODE_GAME_STATE) {
+            throw new IllegalArgumentException("Not a GAME_STATE frame");
+        }
+        long sequence = reader.readVarLong();
+        long baselineSequence = reader.readVarLong();
+        remainingSeconds = reader.readVarLong();
+
+        Map<Long, EntitySnapshot> baseline = baselineSequence == 0 ? Map.of() : states.get(baselineSequence);
+        if (baseline == null) {
+            throw new IllegalStateException("Unknown baseline " + baselineSequence);
+        }
+        Map<Long, EntitySnapshot> next = new HashMap<>(baseline);
+
+        long changed = reader.readVarLong();
+        for (long i = 0; i < changed; i++) {
+            long objectId = reader.readVarLong();
+            int mask = reader.readByte();
+            EntitySnapshot previous = next.get(objectId);
+            if ((mask & GameStateEncoder.FIELD_NEW) != 0) {
+                GameObjectType kind = GameObjectType.values()[reader.readByte()];
+                previous = new EntitySnapshot(objectId, kind, reader.readString(), 0, 0, 0, 0, 0, 0);
+            }
+            int x = previous.x() + readDifference(reader, mask, GameStateEncoder.FIELD_X);
+            int y = previous.y() + readDifference(reader, mask, GameStateEncoder.FIELD_Y);
+            int z = previous.z() + readDifference(reader, mask, GameStateEncoder.FIELD_Z);
+            int score = previous.score() + readDifference(reader, mask, GameStateEncoder.FIELD_SCORE);
+            int radius = previous.radius() + readDifference(reader, mask, GameStateEncoder.FIELD_RADIUS);
+            int state = (mask & GameStateEncoder.FIELD_STATE) != 0 ? reader.readByte() : previous.state();
+            next.put(objectId, new EntitySnapshot(objectId, previous.kind(), previous.username(), x, y, z, score,
+                    radius, state));
+        }
+
+        long removed = reader.readVarLong();
+        for (long i = 0; i < removed; i++) {
+            next.remove(reader.readVarLong());
+        }
+
+        int index = (int) reader.readVarLong();
+        long count = reader.readVarLong();
+        for (long i = 0; i < count; i++, index++) {
+            boolean eaten = reader.readByte() == 1;
+            long objectId = reader.readVarLong();
+            FoodChange change = eaten
+                    ? new FoodChange(true, objectId, 0, 0, 0, 0, null)
+                    : new FoodChange(false, objectId, (int) reader.readSignedVarLong(),
+                            (int) reader.readSignedVarLong(), (int) reader.readSignedVarLong(),
+                            (int) reader.readVarLong(), FoodType.values()[reader.readByte()]);
+            // changes already applied from an earlier frame are skipped
+            if (index == foodChanges.size()) {
+                foodChanges.add(change);
+            }
+        }
+
+        states.put(sequence, next);
+        entities = next;
+        return sequence;
+    }
+
+    private static int readDifference(FrameReader reader, int mask, int field) {
+        return (mask & field) != 0 ? (int) reader.readSignedVarLong() : 0;
+    }
+
+    public Map<Long, EntitySnapshot> getEntities() {
+        return entities;
+    }
+
+    public List<FoodChange> getFoodChanges() {
+        return foodChanges;
+    }
+
+    public long getRemainingSeconds() {
+        return remainingSeconds;
+    }
+
+    /**
+     * @param sequence sequence returned by apply
+     * @return the ACK frame for said sequence
+     */
+    public static byte[] acknowledge(long sequence) {
+        return new FrameWriter(11).writeByte(GameStateEncoder.OPCODE_ACK).writeVarLong(sequence).toByteArray();
+    }
+
+}
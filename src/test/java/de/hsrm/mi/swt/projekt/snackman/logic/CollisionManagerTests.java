@@ -0,0 +1,87 @@
+package de.hsrm.mi.swt.projekt.snackman.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import de.hsrm.mi.swt.projekt.snackman.configuration.GameConfig;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Food;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.FoodType;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.MovableAndSubscribable;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.SnackMan;
+import de.hsrm.mi.swt.projekt.snackman.model.level.OccupationType;
+import de.hsrm.mi.swt.projekt.snackman.model.level.SnackManMap;
+import de.hsrm.mi.swt.projekt.snackman.model.level.Tile;
+
+@SpringBootTest
+class CollisionManagerTests {
+
+    private static final long GAME_ID = 999L;
+
+    private GameConfig gameConfig;
+    private GameManager gameManager;
+    private GameState gameState;
+    private SnackManMap map;
+    private ArrayList<MovableAndSubscribable> movables;
+    private CollisionManager collisionManager;
+
+    @BeforeEach
+    void setup() {
+        gameConfig = new GameConfig();
+        gameManager = Mockito.mock(GameManager.class);
+        gameState = Mockito.mock(GameState.class);
+        Game game = Mockito.mock(Game.class);
+        Mockito.when(game.getGameState()).thenReturn(gameState);
+        Mockito.when(gameManager.getGameById(GAME_ID)).thenReturn(game);
+
+        map = new SnackManMap(15, 15, 1);
+        movables = new ArrayList<>();
+        collisionManager = new CollisionManager(map, movables, gameConfig.getSnackManRadius());
+    }
+
+    private SnackMan snackManAt(long id, float x, float z) {
+        SnackMan snackMan = new SnackMan("snackman" + id, id, new ArrayList<>(), GAME_ID, x, 0.8f, z,
+                gameManager, gameConfig, collisionManager);
+        movables.add(snackMan);
+        return snackMan;
+    }
+
+    /**
+     * Tests whether a food two SnackMen reach in the same tick is removed and
+     * credited only once
+     */
+    @Test
+    void testFoodIsEatenOnce() {
+        Tile tile = map.getTileAt(1, 1);
+        for (Food food : new ArrayList<>(tile.getFoodsOnTile())) {
+            tile.removeFromOccupation(food);
+        }
+        Food food = new Food(GAME_ID, 1.5f, 1.5f, FoodType.OKAY, gameConfig);
+        tile.addToOccupation(food);
+
+        SnackMan first = snackManAt(1, 1.4f, 1.5f);
+        SnackMan second = snackManAt(2, 1.6f, 1.5f);
+        collisionManager.indexMovables();
+        int firstCalories = first.getGainedCalories();
+        int secondCalories = second.getGainedCalories();
+
+        // both move onto the food within one step of the game
+        collisionManager.checkCollision(1.5f, 1.5f, first);
+        collisionManager.checkCollision(1.5f, 1.5f, second);
+
+        assertFalse(tile.hasFood());
+        assertEquals(OccupationType.FREE, tile.getOccupationType());
+        assertEquals(firstCalories + food.getCalories(), first.getGainedCalories());
+        assertEquals(secondCalories, second.getGainedCalories());
+        verify(gameState, times(1)).addEatenFood(food);
+    }
+
+}
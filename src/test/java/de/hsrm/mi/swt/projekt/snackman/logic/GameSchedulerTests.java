@@ -0,0 +1,121 @@
+package de.hsrm.mi.swt.projekt.snackman.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class GameSchedulerTests {
+
+    // pulsed by the tests instead of the driver thread
+    private GameScheduler scheduler;
+
+    @BeforeEach
+    void setup() {
+        scheduler = new GameScheduler(2, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    private static GameLoop dueLoop(List<GameLoop> claims) {
+        GameLoop loop = Mockito.mock(GameLoop.class);
+        when(loop.isDue(anyLong())).thenReturn(true);
+        when(loop.tryClaim()).thenAnswer(invocation -> {
+            claims.add(loop);
+            return true;
+        });
+        return loop;
+    }
+
+    private static Game game() {
+        Game game = Mockito.mock(Game.class);
+        when(game.getGameState()).thenReturn(Mockito.mock(GameState.class));
+        return game;
+    }
+
+    /**
+     * Tests whether the game dispatched first changes with every pulse and
+     * stopped games are dropped
+     */
+    @Test
+    void testDispatchRotation() {
+        List<GameLoop> claims = new ArrayList<>();
+        GameLoop first = dueLoop(claims);
+        GameLoop second = dueLoop(claims);
+        GameLoop third = dueLoop(claims);
+        scheduler.schedule(first);
+        scheduler.schedule(second);
+        scheduler.schedule(third);
+
+        scheduler.pulse();
+        scheduler.pulse();
+        assertEquals(List.of(first, second, third, second, third, first), claims);
+        assertEquals(6, scheduler.getDispatchedRuns());
+        assertEquals(3, scheduler.getActiveGames());
+
+        when(second.isStopped()).thenReturn(true);
+        claims.clear();
+        scheduler.pulse();
+        assertEquals(List.of(third, first), claims);
+        assertEquals(2, scheduler.getActiveGames());
+    }
+
+    /**
+     * Tests whether a game whose run is still in flight is counted as overrun
+     * instead of being queued again
+     */
+    @Test
+    void testOverrunIsNotQueued() throws InterruptedException {
+        CountDownLatch ticking = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        Game game = game();
+        Mockito.doAnswer(invocation -> {
+            ticking.countDown();
+            proceed.await();
+            return null;
+        }).when(game).tick();
+        GameLoop loop = new GameLoop(game);
+        scheduler.schedule(loop);
+
+        scheduler.pulse();
+        assertTrue(ticking.await(5, TimeUnit.SECONDS));
+
+        // the step is still due, but the first run has not finished
+        scheduler.pulse();
+        scheduler.pulse();
+        assertEquals(1, scheduler.getDispatchedRuns());
+        assertEquals(2, scheduler.getOverruns());
+        assertEquals(2, loop.getOverruns());
+        assertEquals(0, scheduler.getQueuedRuns());
+
+        proceed.countDown();
+    }
+
+    /**
+     * Tests whether a run the workers reject does not keep the game claimed
+     */
+    @Test
+    void testRejectedRunReleasesClaim() {
+        GameLoop loop = new GameLoop(game());
+        scheduler.schedule(loop);
+        scheduler.shutdown();
+
+        scheduler.pulse();
+        assertEquals(0, scheduler.getDispatchedRuns());
+        assertTrue(loop.tryClaim());
+    }
+
+}
@@ -0,0 +1,187 @@
+package de.hsrm.mi.swt.projekt.snackman.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.hsrm.mi.swt.projekt.snackman.communication.events.backendToFrontend.GameStateEvent;
+import de.hsrm.mi.swt.projekt.snackman.configuration.GameConfig;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.FoodType;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.GameObject;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Ghost;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.FoodRecord;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.records.GhostRecord;
+
+class InterestManagerTests {
+
+    private static final long PLAYER = 1;
+    private static final long OTHER = 2;
+
+    private SpatialGrid grid;
+    private GameConfig gameConfig;
+    private Map<Long, GameObject> avatars;
+    private Map<Long, Ghost> ghosts;
+    private InterestManager interestManager;
+
+    @BeforeEach
+    void setup() {
+        grid = new SpatialGrid(100, 100);
+        gameConfig = new GameConfig();
+        avatars = new HashMap<>();
+        ghosts = new HashMap<>();
+        interestManager = new InterestManager(10, grid, avatars);
+        avatars.put(PLAYER, ghostAt(PLAYER, 5.5f, 5.5f));
+    }
+
+    // objects cannot be moved without a game, so they are replaced instead
+    private Ghost ghostAt(long id, float x, float z) {
+        Ghost previous = ghosts.get(id);
+        if (previous != null) {
+            grid.remove(previous);
+        }
+        Ghost ghost = new Ghost("ghost" + id, id, 1, x, 0, z, gameConfig, null, null);
+        grid.insert(ghost);
+        ghosts.put(id, ghost);
+        if (avatars.containsKey(id)) {
+            avatars.put(id, ghost);
+        }
+        return ghost;
+    }
+
+    private static GameStateEvent event(List<GhostRecord> ghosts, List<FoodRecord> eatenFoods, List<FoodRecord> laidEggs) {
+        return new GameStateEvent(new ArrayList<>(ghosts), new ArrayList<>(), new ArrayList<>(),
+                new ArrayList<>(eatenFoods), new ArrayList<>(laidEggs), 60);
+    }
+
+    private static List<Long> ghostIds(GameStateEvent event) {
+        return event.getUpdatesGhosts().stream().map(GhostRecord::objectId).toList();
+    }
+
+    /**
+     * Tests whether only changes of objects in range are included, the own avatar always
+     */
+    @Test
+    void testFilterByRadius() {
+        Ghost near = ghostAt(10, 9.5f, 5.5f);
+        Ghost far = ghostAt(11, 80.5f, 80.5f);
+
+        GameStateEvent filtered = interestManager.filter(PLAYER,
+                event(List.of(near.toRecord(), far.toRecord()), List.of(), List.of()));
+
+        assertTrue(ghostIds(filtered).contains(PLAYER));
+        assertTrue(ghostIds(filtered).contains(10L));
+        assertFalse(ghostIds(filtered).contains(11L));
+    }
+
+    /**
+     * Tests whether objects that come into range are sent without a change
+     */
+    @Test
+    void testEnterRange() {
+        ghostAt(10, 50.5f, 5.5f);
+        interestManager.filter(PLAYER, event(List.of(), List.of(), List.of()));
+
+        // the avatar walks towards the ghost, which does not move
+        ghostAt(PLAYER, 45.5f, 5.5f);
+        GameStateEvent entered = interestManager.filter(PLAYER,
+                event(List.of(((Ghost) avatars.get(PLAYER)).toRecord()), List.of(), List.of()));
+        assertTrue(ghostIds(entered).contains(10L));
+        assertNull(entered.getLeftRange());
+    }
+
+    /**
+     * Tests whether objects that leave the range are listed once to be hidden and
+     * their changes are no longer sent
+     */
+    @Test
+    void testLeaveRange() {
+        ghostAt(10, 9.5f, 5.5f);
+        GameStateEvent visible = interestManager.filter(PLAYER, event(List.of(), List.of(), List.of()));
+        assertNull(visible.getLeftRange());
+
+        Ghost left = ghostAt(10, 30.5f, 5.5f);
+        GameStateEvent leaving = interestManager.filter(PLAYER, event(List.of(left.toRecord()), List.of(), List.of()));
+        assertTrue(ghostIds(leaving).isEmpty());
+        assertEquals(List.of(10L), leaving.getLeftRange());
+
+        Ghost gone = ghostAt(10, 40.5f, 5.5f);
+        assertNull(interestManager.filter(PLAYER, event(List.of(gone.toRecord()), List.of(), List.of())));
+
+        // coming back, the ghost is sent again and no longer listed as left
+        Ghost back = ghostAt(10, 8.5f, 5.5f);
+        GameStateEvent returned = interestManager.filter(PLAYER, event(List.of(back.toRecord()), List.of(), List.of()));
+        assertEquals(List.of(10L), ghostIds(returned));
+        assertNull(returned.getLeftRange());
+    }
+
+    /**
+     * Tests whether objects out of range at the start, which the client was shown
+     * with the game, are listed to be hidden with the first update
+     */
+    @Test
+    void testOutOfRangeAtStart() {
+        ghostAt(10, 80.5f, 80.5f);
+        ghostAt(11, 9.5f, 5.5f);
+
+        GameStateEvent first = interestManager.filter(PLAYER, event(List.of(), List.of(), List.of()));
+        assertEquals(List.of(10L), first.getLeftRange());
+        assertFalse(ghostIds(first).contains(10L));
+
+        Ghost moved = ghostAt(10, 79.5f, 80.5f);
+        assertNull(interestManager.filter(PLAYER, event(List.of(moved.toRecord()), List.of(), List.of())));
+    }
+
+    /**
+     * Tests whether eaten food out of range is kept back until the avatar comes
+     * near it and eggs eaten before are not sent at all
+     */
+    @Test
+    void testDeferFood() {
+        FoodRecord food = new FoodRecord(1, 20, 40.5f, 0, 5.5f, 10, FoodType.OKAY);
+        FoodRecord egg = new FoodRecord(1, 21, 60.5f, 0, 5.5f, 10, FoodType.EGG);
+
+        GameStateEvent filtered = interestManager.filter(PLAYER, event(List.of(), List.of(food), List.of(egg)));
+        assertNotNull(filtered);
+        assertTrue(filtered.getEatenFoods().isEmpty());
+        assertTrue(filtered.getLaidEggs().isEmpty());
+        interestManager.filter(PLAYER, event(List.of(), List.of(egg), List.of()));
+
+        ghostAt(PLAYER, 35.5f, 5.5f);
+        GameStateEvent near = interestManager.filter(PLAYER, event(List.of(), List.of(), List.of()));
+        assertEquals(List.of(food), near.getEatenFoods());
+
+        ghostAt(PLAYER, 60.5f, 5.5f);
+        assertNull(interestManager.filter(PLAYER, event(List.of(), List.of(), List.of())));
+    }
+
+    /**
+     * Tests whether only the own processed input is included and nothing is sent
+     * if nothing relevant changed
+     */
+    @Test
+    void testProcessedInputsAndEmptyEvents() {
+        interestManager.filter(PLAYER, event(List.of(), List.of(), List.of()));
+
+        GameStateEvent inputs = event(List.of(), List.of(), List.of());
+        inputs.setProcessedInputs(Map.of(PLAYER, 7L, OTHER, 9L));
+        assertEquals(Map.of(PLAYER, 7L), interestManager.filter(PLAYER, inputs).getProcessedInputs());
+
+        assertNull(interestManager.filter(PLAYER, event(List.of(), List.of(), List.of())));
+
+        // clients without an avatar get everything
+        GameStateEvent all = event(List.of(), List.of(), List.of());
+        assertSame(all, interestManager.filter(OTHER, all));
+    }
+
+}
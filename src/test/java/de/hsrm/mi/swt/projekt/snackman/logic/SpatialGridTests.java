@@ -0,0 +1,71 @@
+package de.hsrm.mi.swt.projekt.snackman.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.hsrm.mi.swt.projekt.snackman.configuration.GameConfig;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.GameObject;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Ghost;
+
+class SpatialGridTests {
+
+    private SpatialGrid grid;
+    private GameConfig gameConfig;
+
+    @BeforeEach
+    void setup() {
+        grid = new SpatialGrid(20, 20);
+        gameConfig = new GameConfig();
+    }
+
+    private Ghost ghostAt(float x, float z) {
+        Ghost ghost = new Ghost("ghost", 1, 1, x, 0, z, gameConfig, null, null);
+        grid.insert(ghost);
+        return ghost;
+    }
+
+    private List<GameObject> near(float x, float z, float range) {
+        List<GameObject> result = new ArrayList<>();
+        grid.collectNear(x, z, range, result);
+        return result;
+    }
+
+    @Test
+    void testCollectNearOnlyReturnsNeighbourCells() {
+        Ghost close = ghostAt(5.5f, 5.5f);
+        Ghost far = ghostAt(15.5f, 15.5f);
+
+        List<GameObject> result = near(6.2f, 5.5f, 1f);
+
+        assertTrue(result.contains(close));
+        assertFalse(result.contains(far));
+    }
+
+    @Test
+    void testMoveChangesCell() {
+        Ghost ghost = ghostAt(2.5f, 2.5f);
+
+        grid.move(ghost, 10.5f, 2.5f);
+
+        assertFalse(near(2.5f, 2.5f, 0.5f).contains(ghost));
+        assertTrue(near(10.5f, 2.5f, 0.5f).contains(ghost));
+        assertEquals(1, grid.size());
+    }
+
+    @Test
+    void testPositionsOutsideMapAreClamped() {
+        Ghost ghost = ghostAt(-3f, 25f);
+
+        assertTrue(near(0.5f, 19.5f, 0.5f).contains(ghost));
+        grid.remove(ghost);
+        assertEquals(0, grid.size());
+    }
+
+}
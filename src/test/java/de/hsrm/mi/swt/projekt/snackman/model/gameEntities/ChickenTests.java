@@ -0,0 +1,73 @@
+package de.hsrm.mi.swt.projekt.snackman.model.gameEntities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import de.hsrm.mi.swt.projekt.snackman.configuration.GameConfig;
+import de.hsrm.mi.swt.projekt.snackman.logic.CollisionManager;
+import de.hsrm.mi.swt.projekt.snackman.logic.Game;
+import de.hsrm.mi.swt.projekt.snackman.logic.GameLoop;
+import de.hsrm.mi.swt.projekt.snackman.logic.GameManager;
+import de.hsrm.mi.swt.projekt.snackman.logic.GameState;
+
+@SpringBootTest
+class ChickenTests {
+
+    private Chicken chicken;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        GameManager gameManager = Mockito.mock(GameManager.class);
+        game = Mockito.mock(Game.class);
+        Mockito.when(game.getGameState()).thenReturn(Mockito.mock(GameState.class));
+        Mockito.when(gameManager.getGameById(999L)).thenReturn(game);
+
+        chicken = new Chicken(2L, 999L, 5.5f, 0f, 5.5f, "DumbBehavior", gameManager, new GameConfig(),
+                Mockito.mock(CollisionManager.class));
+    }
+
+    private void tick(long ticks) {
+        for (long i = 0; i < ticks; i++) {
+            chicken.tick();
+        }
+    }
+
+    /**
+     * Tests whether the behavior runs every 100 milliseconds worth of ticks
+     */
+    @Test
+    void testBehaviorCadence() {
+        long behaviorTicks = GameLoop.millisToTicks(100);
+
+        tick(behaviorTicks - 1);
+        verify(game, times(0)).generateSurroundings(anyFloat(), anyFloat());
+        tick(1);
+        verify(game, times(1)).generateSurroundings(anyFloat(), anyFloat());
+        tick(behaviorTicks * 9);
+        verify(game, times(10)).generateSurroundings(anyFloat(), anyFloat());
+    }
+
+    /**
+     * Tests whether calories are gained passively once per second worth of ticks
+     */
+    @Test
+    void testPassiveCalorieGain() {
+        long secondTicks = GameLoop.millisToTicks(1000);
+
+        tick(secondTicks - 1);
+        assertEquals(0, chicken.getGainedCalories());
+        tick(1);
+        assertEquals(100, chicken.getGainedCalories());
+        tick(secondTicks);
+        assertEquals(200, chicken.getGainedCalories());
+    }
+
+}
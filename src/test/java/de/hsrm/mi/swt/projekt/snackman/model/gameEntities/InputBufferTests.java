@@ -0,0 +1,74 @@
+package de.hsrm.mi.swt.projekt.snackman.model.gameEntities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import de.hsrm.mi.swt.projekt.snackman.communication.events.frontendToBackend.MoveEvent;
+
+class InputBufferTests {
+
+    private static MoveEvent move(float x, float y, float z, long sequence) {
+        MoveEvent moveEvent = new MoveEvent(new Vector3f(x, y, z));
+        moveEvent.setGameID(1);
+        moveEvent.setObjectID(42);
+        moveEvent.setSequence(sequence);
+        return moveEvent;
+    }
+
+    /**
+     * Tests whether the inputs of a step are combined into the latest one
+     */
+    @Test
+    void testLatestDirectionWins() {
+        InputBuffer buffer = new InputBuffer();
+        buffer.add(move(1, 0, 0, 1));
+        buffer.add(move(0, 0, 1, 2));
+        buffer.add(move(-1, 0, 0, 3));
+
+        assertEquals(3, buffer.getPendingInputs());
+        MoveEvent input = buffer.drain();
+
+        assertEquals(-1.0f, input.getMovementVector().x);
+        assertEquals(0.0f, input.getMovementVector().z);
+        assertEquals(42, input.getObjectID());
+        assertEquals(3, input.getSequence());
+        assertEquals(3, buffer.getLastProcessedSequence());
+        assertEquals(0, buffer.getPendingInputs());
+        assertNull(buffer.drain());
+    }
+
+    /**
+     * Tests whether a jump is kept, even if later inputs of the step do not jump
+     */
+    @Test
+    void testJumpIsKept() {
+        InputBuffer buffer = new InputBuffer();
+        buffer.add(move(0, 1, 0, 1));
+        buffer.add(move(1, 0, 0, 2));
+
+        MoveEvent input = buffer.drain();
+        assertEquals(1.0f, input.getMovementVector().x);
+        assertEquals(1.0f, input.getMovementVector().y);
+
+        buffer.add(move(1, 0, 0, 3));
+        assertEquals(0.0f, buffer.drain().getMovementVector().y);
+    }
+
+    /**
+     * Tests whether inputs without sequence keep the last processed sequence
+     */
+    @Test
+    void testInputsWithoutSequence() {
+        InputBuffer buffer = new InputBuffer();
+        buffer.add(move(1, 0, 0, 5));
+        buffer.drain();
+        buffer.add(move(1, 0, 0, 0));
+        buffer.drain();
+
+        assertEquals(5, buffer.getLastProcessedSequence());
+    }
+
+}
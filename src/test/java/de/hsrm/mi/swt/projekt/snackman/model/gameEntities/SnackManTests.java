@@ -1,6 +1,7 @@
 package de.hsrm.mi.swt.projekt.snackman.model.gameEntities;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
@@ -14,7 +15,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import de.hsrm.mi.swt.projekt.snackman.communication.websocket.Client;
 import de.hsrm.mi.swt.projekt.snackman.configuration.GameConfig;
 import de.hsrm.mi.swt.projekt.snackman.logic.CollisionManager;
+import de.hsrm.mi.swt.projekt.snackman.logic.Game;
+import de.hsrm.mi.swt.projekt.snackman.logic.GameLoop;
 import de.hsrm.mi.swt.projekt.snackman.logic.GameManager;
+import de.hsrm.mi.swt.projekt.snackman.logic.GameState;
 
 @SpringBootTest
 class SnackManTests {
@@ -29,6 +33,9 @@ class SnackManTests {
         gameManager = Mockito.mock(GameManager.class);
         collisionManager = Mockito.mock(CollisionManager.class);
         config = new GameConfig();
+        Game game = Mockito.mock(Game.class);
+        Mockito.when(game.getGameState()).thenReturn(Mockito.mock(GameState.class));
+        Mockito.when(gameManager.getGameById(999L)).thenReturn(game);
         List<Client> clients = new ArrayList<>();
 
         // AI Generated SnackMan
@@ -68,4 +75,52 @@ class SnackManTests {
         snackMan.reactToGhostCollision();
         assertTrue(snackMan.isStunned());
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests whether a jump reaches its height and lands on the ground again
+     * after a fixed number of ticks
+     */
+    @Test
+    void testJumpHeightAndLanding() {
+        snackMan.jump();
+
+        // a physics step every third tick, the 16th step lands
+        float highest = snackMan.getY();
+        for (int i = 0; i < 45; i++) {
+            snackMan.tick();
+            highest = Math.max(highest, snackMan.getY());
+        }
+        assertEquals(3.668f, highest, 0.01f);
+        assertTrue(snackMan.getY() > 0.8f);
+
+        snackMan.tick();
+        assertEquals(0.8f, snackMan.getY());
+
+        // landed, so the next jump is possible
+        int before = snackMan.getGainedCalories();
+        snackMan.jump();
+        assertTrue(snackMan.getGainedCalories() < before);
+    }
+
+    /**
+     * Tests whether being stunned and invincible ends after their time in ticks
+     */
+    @Test
+    void testStunExpiresAfterTicks() {
+        snackMan.reactToGhostCollision();
+
+        long stunnedTicks = GameLoop.millisToTicks(1000);
+        for (long i = 1; i < stunnedTicks; i++) {
+            snackMan.tick();
+        }
+        assertTrue(snackMan.isStunned());
+        snackMan.tick();
+        assertFalse(snackMan.isStunned());
+        assertTrue(snackMan.isInvincible());
+
+        for (long i = stunnedTicks; i < GameLoop.millisToTicks(3000); i++) {
+            snackMan.tick();
+        }
+        assertFalse(snackMan.isInvincible());
+    }
+}
@@ -0,0 +1,108 @@
+package de.hsrm.mi.swt.projekt.snackman.model.gameEntities.behavior;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.hsrm.mi.swt.projekt.snackman.model.level.Surroundings;
+import de.hsrm.mi.swt.projekt.snackman.model.level.TileContent;
+
+class ChickenBehaviorTests {
+
+    private static int environment(String... rows) {
+        TileContent[][] cells = new TileContent[3][3];
+        for (int row = 0; row < 3; row++) {
+            String[] names = rows[row].split(" ");
+            for (int col = 0; col < 3; col++) {
+                cells[row][col] = TileContent.valueOf(names[col]);
+            }
+        }
+        return Surroundings.of(cells);
+    }
+
+    /**
+     * Tests whether the Java ports are selected by the script names
+     */
+    @Test
+    void testNativeBehaviorsAreSelectedByScriptName() {
+        assertInstanceOf(DumbBehavior.class, ChickenBehaviors.forScript("DumbBehavior"));
+        assertInstanceOf(FearfulBehavior.class, ChickenBehaviors.forScript("FearfulBehavior"));
+        assertInstanceOf(GreedyBehavior.class, ChickenBehaviors.forScript("GreedyBehavior"));
+    }
+
+    /**
+     * Tests whether all behaviors fall after a jump and keep going on a free map
+     */
+    @Test
+    void testFallAndContinue() {
+        int free = environment("FREE FREE FREE", "FREE FREE FREE", "FREE FREE FREE");
+        for (ChickenBehavior behavior : List.of(new DumbBehavior(), new FearfulBehavior(), new GreedyBehavior())) {
+            assertEquals(new ChickenMove(0.0f, -0.2f, 0.0f, "N", false), behavior.run(free, "N", false, 1.2f, 1.2f, 0.2f));
+            assertEquals(new ChickenMove(0.0f, 0.0f, 0.05f, "E", false), behavior.run(free, "E", false, 1.2f, 1.2f, 0.0f));
+        }
+    }
+
+    /**
+     * Tests whether the dumb chicken runs towards a ghost and avoids food
+     */
+    @Test
+    void testDumbChasesGhostsAndAvoidsFood() {
+        DumbBehavior behavior = new DumbBehavior(new Random(1));
+
+        ChickenMove chase = behavior.run(environment("FREE FREE FREE", "FREE FREE FREE", "FREE FREE GHOST"), "N",
+                true, 1.5f, 1.5f, 0.0f);
+        assertEquals(ChickenMove.along("SE", "SE", false), chase);
+
+        ChickenMove avoid = behavior.run(environment("FREE FOOD FREE", "FOOD FREE WALL", "FREE FREE FREE"), "N",
+                false, 1.5f, 1.5f, 0.0f);
+        assertEquals(ChickenMove.along("E", "E", false), avoid);
+    }
+
+    /**
+     * Tests whether the fearful chicken turns away from entities and freezes at a SnackMan
+     */
+    @Test
+    void testFearfulTurnsAwayAndFreezes() {
+        FearfulBehavior behavior = new FearfulBehavior(new Random(1));
+
+        ChickenMove turn = behavior.run(environment("FREE SNACKMAN FREE", "WALL FREE WALL", "FREE FREE FREE"), "N",
+                false, 1.5f, 1.5f, 0.0f);
+        assertEquals(ChickenMove.along("S", "S", false), turn);
+
+        ChickenMove freeze = behavior.run(environment("FREE FREE FREE", "FREE SNACKMAN FREE", "FREE FREE FREE"), "N",
+                false, 1.5f, 1.5f, 0.0f);
+        assertEquals(ChickenMove.stay("N", false), freeze);
+    }
+
+    /**
+     * Tests whether the greedy chicken turns towards food when centered on its tile
+     */
+    @Test
+    void testGreedyTurnsToFood() {
+        GreedyBehavior behavior = new GreedyBehavior(new Random(1));
+        int foodWest = environment("FREE FREE FREE", "FOOD FREE WALL", "FREE FREE FREE");
+
+        assertEquals(ChickenMove.along("W", "W", false), behavior.run(foodWest, "N", false, 1.5f, 1.5f, 0.0f));
+        assertEquals(ChickenMove.along("N", "N", false), behavior.run(foodWest, "N", false, 1.2f, 1.5f, 0.0f));
+    }
+
+    /**
+     * Tests whether a chicken standing in a wall turns around and reports the collision
+     */
+    @Test
+    void testWallTurnsAround() {
+        int wall = environment("FREE FREE FREE", "FREE WALL FREE", "FREE FREE FREE");
+        ChickenMove move = new GreedyBehavior().run(wall, "NE", false, 1.5f, 1.5f, 0.0f);
+
+        assertEquals("SW", move.direction());
+        assertTrue(move.wallCollision());
+        assertFalse(new FearfulBehavior().run(wall, "S", true, 1.5f, 1.5f, 0.0f).direction().equals("S"));
+    }
+
+}
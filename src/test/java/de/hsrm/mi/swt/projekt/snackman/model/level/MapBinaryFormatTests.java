@@ -0,0 +1,72 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MapBinaryFormatTests {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * tests whether a map survives encoding and decoding, including a body that
+     * does not fill its last byte
+     */
+    @Test
+    void testRoundTrip() throws IOException {
+        MapTemplate template = new SnackManMap(15, 15).getTemplate();
+
+        byte[] encoded = MapBinaryFormat.encode(template);
+
+        assertEquals(18 + (15 * 15 + 3) / 4, encoded.length);
+        assertSame(template, MapBinaryFormat.decode(ByteBuffer.wrap(encoded)));
+    }
+
+    /**
+     * tests whether damaged or foreign files are rejected
+     */
+    @Test
+    void testInvalidFilesAreRejected() {
+        byte[] encoded = MapBinaryFormat.encode(new SnackManMap(15, 15).getTemplate());
+
+        byte[] damaged = encoded.clone();
+        damaged[damaged.length - 1] ^= 1;
+        assertThrows(IOException.class, () -> MapBinaryFormat.decode(ByteBuffer.wrap(damaged)));
+
+        byte[] otherVersion = encoded.clone();
+        otherVersion[5] = 2;
+        assertThrows(IOException.class, () -> MapBinaryFormat.decode(ByteBuffer.wrap(otherVersion)));
+
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 1);
+        assertThrows(IOException.class, () -> MapBinaryFormat.decode(ByteBuffer.wrap(truncated)));
+        assertThrows(IOException.class, () -> MapBinaryFormat.decode(ByteBuffer.wrap("█,█\n".getBytes())));
+    }
+
+    /**
+     * tests whether the converter turns a csv map into a binary map and back
+     */
+    @Test
+    void testConvertCsvFile() throws IOException {
+        String csv = new SnackManMap(21, 15).toString();
+        Path csvFile = Files.writeString(directory.resolve("map.csv"), csv);
+
+        Path binaryFile = MapConverter.toBinary(csvFile);
+        Files.delete(csvFile);
+        Path converted = MapConverter.toCsv(binaryFile);
+
+        assertEquals(directory.resolve("map.smap"), binaryFile);
+        assertEquals(csv, Files.readString(converted));
+        assertSame(MapTemplate.parse(csv), MapBinaryFormat.read(binaryFile));
+    }
+
+}
@@ -0,0 +1,64 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+class MapCsvParserTests {
+
+    private static final String SMALL = "█,█,█,█\n█,░,●,█\n█,█,█,█\n";
+
+    /**
+     * tests whether the string and the reader variant read the same layout
+     */
+    @Test
+    void testParseLayout() throws IOException {
+        MapTemplate template = MapCsvParser.parse(SMALL);
+
+        assertEquals(4, template.getW());
+        assertEquals(3, template.getH());
+        assertEquals(SMALL, template.toString());
+        assertSame(template, MapCsvParser.parse(new StringReader(SMALL)));
+        assertEquals(OccupationType.ITEM, template.newMap().getTileAt(2, 1).getOccupationType());
+    }
+
+    /**
+     * tests whether windows line breaks, a byte order mark, a missing last line
+     * break and empty lines at the end are accepted
+     */
+    @Test
+    void testLenientFormatting() throws IOException {
+        MapTemplate template = MapCsvParser.parse(SMALL);
+
+        assertSame(template, MapCsvParser.parse(SMALL.replace("\n", "\r\n")));
+        assertSame(template, MapCsvParser.parse("﻿" + SMALL));
+        assertSame(template, MapCsvParser.parse(SMALL.substring(0, SMALL.length() - 1)));
+        assertSame(template, MapCsvParser.parse(SMALL + "\n\r\n"));
+    }
+
+    /**
+     * tests whether errors are reported with line and column
+     */
+    @Test
+    void testErrorPosition() {
+        assertPosition("█,█\n█,x\n", 2, 3);
+        assertPosition("█,█\n█,█,█\n", 2, 5);
+        assertPosition("█,█\n█\n", 2, 2);
+        assertPosition("█,█\n█,\n", 2, 3);
+        assertPosition("█,█\n\n█,█\n", 2, 1);
+        assertPosition("██\n", 1, 2);
+        assertPosition("", 1, 1);
+    }
+
+    private static void assertPosition(String csv, int line, int column) {
+        MapFormatException e = assertThrows(MapFormatException.class, () -> MapCsvParser.parse(csv));
+        assertEquals(line, e.getLine());
+        assertEquals(column, e.getColumn());
+    }
+
+}
@@ -0,0 +1,92 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+class MapNavigationTests {
+
+    private static final String LOOP = """
+            █,█,█,█,█
+            █,░,░,░,█
+            █,░,█,░,█
+            █,░,░,░,█
+            █,█,█,█,█
+            """;
+
+    private static final String FORK = """
+            █,█,█,█,█
+            █,░,░,░,█
+            █,█,░,█,█
+            █,█,●,█,█
+            █,█,█,█,█
+            """;
+
+    /**
+     * tests whether distances and paths go around walls and walls are unreachable
+     */
+    @Test
+    void testDistancesAndPath() {
+        MapNavigation navigation = new SnackManMap(LOOP, false).getNavigation();
+
+        assertEquals(4, navigation.distance(1, 1, 3, 3));
+        assertEquals(0, navigation.distance(3, 3, 3, 3));
+        assertEquals(MapNavigation.UNREACHABLE, navigation.distance(1, 1, 2, 2));
+        assertEquals(MapNavigation.UNREACHABLE, navigation.distance(0, 0, 3, 3));
+        assertEquals(navigation.index(2, 1), navigation.nextStep(1, 1, 3, 1));
+        assertArrayEquals(new int[] { navigation.index(2, 1), navigation.index(3, 1), navigation.index(3, 2) },
+                navigation.findPath(1, 1, 3, 2));
+    }
+
+    /**
+     * tests whether all games on the same layout share the navigation and its fields
+     */
+    @Test
+    void testNavigationIsShared() {
+        SnackManMap first = new SnackManMap(LOOP, false);
+        SnackManMap second = new SnackManMap(LOOP, false);
+
+        assertSame(first.getNavigation(), second.getNavigation());
+        assertSame(first.getNavigation().getDistanceField(1, 1), second.getNavigation().getDistanceField(1, 1));
+    }
+
+    /**
+     * tests whether the distance to the nearest of several targets is computed
+     */
+    @Test
+    void testNearestDistanceField() {
+        MapNavigation navigation = new SnackManMap(FORK, false).getNavigation();
+
+        short[] field = navigation.computeNearestDistanceField(new int[] { 1, 3 }, new int[] { 1, 1 });
+
+        assertEquals(1, field[navigation.index(2, 1)]);
+        assertEquals(3, field[navigation.index(2, 3)]);
+        assertEquals(MapNavigation.UNREACHABLE, field[navigation.index(0, 0)]);
+    }
+
+    /**
+     * tests whether forks and dead ends become nodes connected by their corridors and
+     * a loop without forks gets a single node
+     */
+    @Test
+    void testCorridorGraph() {
+        CorridorGraph fork = new SnackManMap(FORK, false).getNavigation().getCorridorGraph();
+
+        assertEquals(4, fork.getNodeCount());
+        assertEquals(6, fork.getEdgeCount());
+        int center = fork.getNodeAt(2, 1);
+        assertEquals(3, fork.getFirstEdge(center + 1) - fork.getFirstEdge(center));
+        assertEquals(-1, fork.getNodeAt(2, 2));
+        int edge = fork.getFirstEdge(fork.getNodeAt(2, 3));
+        assertEquals(center, fork.getEdgeTarget(edge));
+        assertEquals(2, fork.getEdgeLength(edge));
+
+        CorridorGraph loop = new SnackManMap(LOOP, false).getNavigation().getCorridorGraph();
+        assertEquals(1, loop.getNodeCount());
+        assertEquals(0, loop.getEdgeTarget(0));
+        assertEquals(8, loop.getEdgeLength(0));
+    }
+
+}
@@ -0,0 +1,55 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class MapPoolTests {
+
+    private static void awaitReady(MapPool pool, int w, int h, int count) throws InterruptedException {
+        for (int i = 0; i < 500 && pool.getReadyCount(w, h) < count; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * tests whether prepared maps are taken from the pool and replaced
+     */
+    @Test
+    void testTakePreparedMap() throws InterruptedException {
+        MapPool pool = new MapPool(2, 4, 1);
+
+        assertTrue(pool.prepare(20, 15));
+        awaitReady(pool, 21, 15, 2);
+        assertEquals(2, pool.getReadyCount(20, 15));
+
+        SnackManMap map = pool.take(21, 15);
+        assertEquals(21, map.getW());
+        assertEquals(15, map.getH());
+        assertEquals(1, pool.getHits());
+        assertEquals(0, pool.getMisses());
+
+        awaitReady(pool, 21, 15, 2);
+        assertEquals(2, pool.getReadyCount(21, 15));
+    }
+
+    /**
+     * tests whether unprepared sizes are generated right away and further sizes
+     * are not kept ready once the pool is full
+     */
+    @Test
+    void testUnpreparedSizes() {
+        MapPool pool = new MapPool(1, 1, 1);
+
+        SnackManMap map = pool.take(11, 11);
+        assertEquals(11, map.getW());
+        assertEquals(1, pool.getMisses());
+
+        assertFalse(pool.prepare(13, 13));
+        assertEquals(13, pool.take(13, 13).getW());
+        assertEquals(0, pool.getReadyCount(13, 13));
+    }
+
+}
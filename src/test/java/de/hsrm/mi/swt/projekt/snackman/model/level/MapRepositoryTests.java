@@ -0,0 +1,83 @@
+package de.hsrm.mi.swt.projekt.snackman.model.level;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+class MapRepositoryTests {
+
+    private static final String SMALL = "█,█,█\n█,░,█\n█,█,█\n";
+    private static final String OTHER = "█,█,█\n█,●,█\n█,█,█\n";
+    private static final String THIRD = "█,█\n█,█\n";
+
+    /**
+     * tests whether the same content is parsed only once
+     */
+    @Test
+    void testSameContentIsParsedOnce() throws IOException {
+        MapRepository repository = new MapRepository(2);
+
+        MapTemplate first = repository.fromCsv(SMALL);
+        MapTemplate second = repository.fromCsv(SMALL);
+
+        assertSame(first, second);
+        assertEquals(1, repository.getMisses());
+        assertEquals(1, repository.getHits());
+        assertEquals(SMALL, first.toString());
+    }
+
+    /**
+     * tests whether the least recently used template is evicted from a full cache
+     */
+    @Test
+    void testLeastRecentlyUsedIsEvicted() throws IOException {
+        MapRepository repository = new MapRepository(2);
+
+        repository.fromCsv(SMALL);
+        repository.fromCsv(OTHER);
+        repository.fromCsv(SMALL);
+        repository.fromCsv(THIRD);
+
+        assertEquals(2, repository.size());
+        assertEquals(1, repository.getEvictions());
+
+        repository.fromCsv(SMALL);
+        assertEquals(2, repository.getHits());
+        repository.fromCsv(OTHER);
+        assertEquals(4, repository.getMisses());
+    }
+
+    /**
+     * tests whether invalid maps are rejected and not cached
+     */
+    @Test
+    void testInvalidContentIsRejected() {
+        MapRepository repository = new MapRepository(2);
+
+        assertThrows(IOException.class, () -> repository.fromCsv(""));
+        assertThrows(IOException.class, () -> repository.fromCsv("█,█\n█\n"));
+        assertThrows(IOException.class, () -> repository.fromCsv("█,x\n"));
+        assertEquals(0, repository.size());
+    }
+
+    /**
+     * tests whether a saved map is read from disk only once
+     */
+    @Test
+    void testSavedMapIsReadOnce() throws IOException {
+        MapRepository repository = new MapRepository(2);
+
+        MapTemplate first = repository.fromSavedMap("testFile.csv");
+        MapTemplate second = repository.fromSavedMap("testFile.csv");
+
+        assertSame(first, second);
+        assertEquals(1, repository.getMisses());
+        assertEquals(1, repository.getHits());
+        assertEquals(new SnackManMap("testFile.csv", true), first.newMap());
+    }
+
+}
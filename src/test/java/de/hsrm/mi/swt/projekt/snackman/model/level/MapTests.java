@@ -4,6 +4,11 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import de.hsrm.mi.swt.projekt.snackman.configuration.GameConfig;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Food;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.FoodType;
+import de.hsrm.mi.swt.projekt.snackman.model.gameEntities.Ghost;
+
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.*;
@@ -187,4 +192,118 @@ public class MapTests {
         }
     }
 
+    /**
+     * tests whether the encoded surroundings show walls, the highest priority
+     * occupation and positions outside the map
+     */
+    @Test
+    void testEncodeSurroundings() {
+        GameConfig config = new GameConfig();
+        SnackManMap small = new SnackManMap("\u2588,\u2591,\u2591\n\u2591,\u2591,\u2591\n\u2591,\u2591,\u2588\n", false);
+        small.getTileAt(1, 2).addToOccupation(new Food(0, 1.5f, 2.5f, FoodType.OKAY, config));
+        small.getTileAt(2, 1).addToOccupation(new Food(0, 2.5f, 1.5f, FoodType.OKAY, config));
+        small.getTileAt(2, 1).addToOccupation(new Ghost("ghost", 1, 0, 2.5f, 0, 1.5f, config, null, null));
+
+        int surroundings = small.encodeSurroundings(1.5f, 1.5f);
+
+        // row 0 is x + 1, column 0 is z - 1
+        Assertions.assertEquals(TileContent.FREE, Surroundings.get(surroundings, 0, 0));
+        Assertions.assertEquals(TileContent.GHOST, Surroundings.get(surroundings, 0, 1));
+        Assertions.assertEquals(TileContent.WALL, Surroundings.get(surroundings, 0, 2));
+        Assertions.assertEquals(TileContent.FOOD, Surroundings.get(surroundings, 1, 2));
+        Assertions.assertEquals(TileContent.WALL, Surroundings.get(surroundings, 2, 0));
+        Assertions.assertEquals(TileContent.OUT, Surroundings.get(small.encodeSurroundings(0.5f, 0.5f), 2, 1));
+    }
+
+    /**
+     * tests whether a tile keeps its summary up to date when objects come and go
+     */
+    @Test
+    void testTileCountsOccupations() {
+        GameConfig config = new GameConfig();
+        Tile tile = new Tile(1, 1, OccupationType.FREE);
+        Food egg = new Food(0, 1.5f, 1.5f, FoodType.EGG, config);
+        Ghost ghost = new Ghost("ghost", 1, 0, 1.5f, 0, 1.5f, config, null, null);
+
+        tile.addToOccupation(egg);
+        tile.addToOccupation(egg);
+        tile.addToOccupation(ghost);
+        Assertions.assertEquals(1, tile.getFoodCount());
+        Assertions.assertEquals(1, tile.getEggCount());
+        Assertions.assertTrue(tile.hasGhost());
+        Assertions.assertTrue(tile.contains(egg));
+        Assertions.assertEquals(OccupationType.ITEM, tile.getOccupationType());
+
+        tile.removeFromOccupation(egg);
+        tile.removeFromOccupation(egg);
+        Assertions.assertEquals(0, tile.getEggCount());
+        Assertions.assertFalse(tile.hasFood());
+        Assertions.assertEquals(OccupationType.FREE, tile.getOccupationType());
+        Assertions.assertEquals(TileContent.GHOST, tile.getContent());
+
+        tile.removeFromOccupation(ghost);
+        Assertions.assertFalse(tile.hasOccupations());
+        Assertions.assertEquals(0, tile.toRecord().foods().length);
+    }
+
+    /**
+     * tests whether tiles are views on the map and clones keep only the
+     * occupation types
+     */
+    @Test
+    void testTileViewsAndClone() {
+        GameConfig config = new GameConfig();
+        Tile tile = map.getTileAt(1, 1);
+        tile.addToOccupation(new Food(0, 1.5f, 1.5f, FoodType.OKAY, config));
+
+        Assertions.assertEquals(tile, map.getTileAt(1, 1));
+        Assertions.assertEquals(1, map.getTileAt(1, 1).getFoodCount());
+        Assertions.assertEquals(OccupationType.ITEM, map.getTileAt(1, 1).getOccupationType());
+
+        SnackManMap clone = map.clone();
+        Assertions.assertEquals(map, clone);
+        Assertions.assertEquals(map.hashCode(), clone.hashCode());
+        Assertions.assertNotEquals(tile, clone.getTileAt(1, 1));
+        Assertions.assertFalse(clone.getTileAt(1, 1).hasOccupations());
+
+        clone.getTileAt(1, 1).setOccupationType(OccupationType.WALL);
+        Assertions.assertEquals(OccupationType.ITEM, tile.getOccupationType());
+        Assertions.assertNotEquals(map, clone);
+    }
+
+    /**
+     * tests whether maps with the same layout share one template that does not
+     * change while a game is played on one of them
+     */
+    @Test
+    void testSameLayoutSharesTemplate() {
+        SnackManMap first = new SnackManMap(map.toString(), false);
+        SnackManMap second = map.getTemplate().newMap();
+
+        Assertions.assertSame(map.getTemplate(), first.getTemplate());
+        Assertions.assertSame(map.getTemplate(), second.getTemplate());
+        Assertions.assertEquals(map.toString(), map.getTemplate().toString());
+
+        first.getTileAt(1, 1).setOccupationType(OccupationType.ITEM);
+        second.getTileAt(1, 1).addToOccupation(new Food(0, 1.5f, 1.5f, FoodType.EGG, new GameConfig()));
+
+        Assertions.assertEquals(OccupationType.FREE, map.getTileAt(1, 1).getOccupationType());
+        Assertions.assertEquals(map, map.original());
+        Assertions.assertNotEquals(first, map.original());
+        Assertions.assertFalse(map.original().getTileAt(1, 1).hasOccupations());
+    }
+
+    /**
+     * tests whether the same seed always generates the same map
+     */
+    @Test
+    void testSeededGenerationIsReproducible() {
+        SnackManMap first = new SnackManMap(41, 41, 42L);
+        SnackManMap second = new SnackManMap(41, 41, 42L);
+
+        Assertions.assertEquals(first.toString(), second.toString());
+        Assertions.assertSame(first.getTemplate(), second.getTemplate());
+        Assertions.assertNotEquals(first.toString(), new SnackManMap(41, 41, 43L).toString());
+    }
+
 }